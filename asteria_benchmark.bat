@@ -0,0 +1,4 @@
+@echo off
+title asteria_benchmark
+"C:/Program Files/Java/jdk1.8.0_11/bin/java.exe" -Xmx1024m -cp bin;deps/gson-2.2.4.jar;deps/guava-18.0.jar; com.asteria.benchmark.BenchmarkRunner %*
+pause
\ No newline at end of file
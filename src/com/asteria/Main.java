@@ -3,7 +3,10 @@ package com.asteria;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.asteria.engine.DataReloader;
 import com.asteria.engine.GameEngine;
+import com.asteria.engine.StartupLoader;
+import com.asteria.engine.metrics.Metrics;
 import com.asteria.engine.net.HostGateway;
 import com.asteria.engine.net.ServerEngine;
 import com.asteria.engine.net.packet.PacketDecoder;
@@ -14,6 +17,7 @@ import com.asteria.world.entity.npc.Npc;
 import com.asteria.world.entity.npc.NpcAggression;
 import com.asteria.world.entity.npc.NpcDefinition;
 import com.asteria.world.entity.npc.NpcDropTable;
+import com.asteria.world.entity.player.PlayerPersistence;
 import com.asteria.world.entity.player.content.RestoreStatTask;
 import com.asteria.world.entity.player.content.SkillRequirements;
 import com.asteria.world.entity.player.content.WeaponAnimations;
@@ -62,23 +66,27 @@ public final class Main {
             // The stopwatch for timing how long all this takes.
             Stopwatch timer = new Stopwatch().reset();
 
-            // Load all utilities.
-            NpcDropTable.parseDrops().load();
-            ItemDefinition.parseItems().load();
-            WorldObjectManager.parseObjects().load();
-            NpcDefinition.parseNpcs().load();
-            Shop.parseShops().load();
-            GroundItemManager.parseItems().load();
-            Npc.parseNpcs().load();
-            SkillRequirements.parseRequirements().load();
-            WeaponAnimations.parseAnimations().load();
-            WeaponInterfaces.parseInterfaces().load();
-            HostGateway.loadBannedHosts();
-            Skills.loadSkills();
-            PacketDecoder.loadDecoders();
-            Minigames.loadMinigames();
-            CombatPoisonData.loadPoisonData();
-            NpcAggression.loadPolicies();
+            // Load all utilities, running the ones that don't depend on each
+            // other at the same time.
+            new StartupLoader()
+                .submit("item definitions", () -> ItemDefinition.cacheItems().load())
+                .submit("npc definitions", () -> NpcDefinition.cacheNpcs().load())
+                .submit("npc drops", () -> NpcDropTable.parseDrops().load())
+                .submit("npc aggression", NpcAggression::loadPolicies)
+                .submit("world objects", () -> WorldObjectManager.parseObjects().load())
+                .submit("shops", () -> Shop.parseShops().load(), "item definitions")
+                .submit("ground items", () -> GroundItemManager.parseItems().load(), "item definitions")
+                .submit("npcs", () -> Npc.parseNpcs().load(), "npc definitions", "npc drops", "npc aggression", "world objects")
+                .submit("skill requirements", () -> SkillRequirements.parseRequirements().load())
+                .submit("weapon animations", () -> WeaponAnimations.parseAnimations().load())
+                .submit("weapon interfaces", () -> WeaponInterfaces.parseInterfaces().load())
+                .submit("banned hosts", HostGateway::loadBannedHosts)
+                .submit("skills", Skills::loadSkills)
+                .submit("packet decoders", PacketDecoder::loadDecoders)
+                .submit("minigames", Minigames::loadMinigames)
+                .submit("poison data", CombatPoisonData::loadPoisonData)
+                .submit("player repository", PlayerPersistence::init)
+                .await();
             logger.info("Sucessfully loaded all utilities!");
 
             // Initialize and start the reactor.
@@ -89,6 +97,13 @@ public final class Main {
             GameEngine.init();
             logger.info("The engine is now running!");
 
+            // Start exposing metrics.
+            Metrics.init();
+
+            // Start reloading data whenever its file changes.
+            DataReloader.init(NpcDefinition.reloadNpcs(),
+                NpcDropTable.reloadDrops(), Shop.reloadShops());
+
             // Asteria is now online!
             logger.info(NAME + " is now online! [took " + timer.elapsed() + "ms]");
 
@@ -0,0 +1,88 @@
+package com.asteria.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * The result of running a {@link Microbenchmark}, which holds the average
+ * time a single operation took in each measurement iteration.
+ * 
+ * @author lare96
+ */
+public final class BenchmarkResult {
+
+    /** The name of the benchmark. */
+    private final String name;
+
+    /** The average time per operation of each iteration, in nanoseconds. */
+    private final double[] samples;
+
+    /**
+     * Create a new {@link BenchmarkResult}.
+     * 
+     * @param name
+     *            the name of the benchmark.
+     * @param samples
+     *            the average time per operation of each iteration, in
+     *            nanoseconds.
+     */
+    public BenchmarkResult(String name, double[] samples) {
+        this.name = name;
+        this.samples = samples.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-48s %14.1f ns/op  +- %10.1f  (min %.1f, max %.1f)",
+            name, getScore(), getError(), getMin(), getMax());
+    }
+
+    /**
+     * Gets the name of the benchmark.
+     * 
+     * @return the name of the benchmark.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the mean time per operation across all iterations.
+     * 
+     * @return the mean time per operation, in nanoseconds.
+     */
+    public double getScore() {
+        return Arrays.stream(samples).average().orElse(0);
+    }
+
+    /**
+     * Gets the standard deviation of the time per operation across all
+     * iterations.
+     * 
+     * @return the standard deviation, in nanoseconds.
+     */
+    public double getError() {
+        double mean = getScore();
+        double variance = Arrays.stream(samples).map(
+            s -> (s - mean) * (s - mean)).sum() / Math.max(1,
+            samples.length - 1);
+        return Math.sqrt(variance);
+    }
+
+    /**
+     * Gets the fastest time per operation of any iteration.
+     * 
+     * @return the fastest time per operation, in nanoseconds.
+     */
+    public double getMin() {
+        return Arrays.stream(samples).min().orElse(0);
+    }
+
+    /**
+     * Gets the slowest time per operation of any iteration.
+     * 
+     * @return the slowest time per operation, in nanoseconds.
+     */
+    public double getMax() {
+        return Arrays.stream(samples).max().orElse(0);
+    }
+}
@@ -0,0 +1,325 @@
+package com.asteria.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Logger;
+
+import com.asteria.world.entity.npc.NpcDefinition;
+import com.asteria.world.item.ItemDefinition;
+
+/**
+ * Runs the microbenchmarks that cover the hot paths of this server. Each
+ * benchmark is warmed up before being measured, and is always run against data
+ * generated from the same seed so results are reproducible between runs.
+ * Results are appended to <code>./benchmarks/microbenchmarks.txt</code> and
+ * compared against <code>./benchmarks/baseline.txt</code>, if it exists, so
+ * regressions can be caught before deploying.<br>
+ * <br>
+ * This should be run from the same directory as the server, with the
+ * following arguments:
+ * 
+ * <pre>
+ * java com.asteria.benchmark.BenchmarkRunner [--baseline] [filter]
+ * </pre>
+ * 
+ * Where <code>--baseline</code> saves the results as the new baseline, and
+ * <code>filter</code> only runs benchmarks whose names contain it. The process
+ * exits with status <tt>1</tt> if any benchmark regressed.
+ * 
+ * @author lare96
+ */
+public final class BenchmarkRunner {
+
+    /** A logger for printing information. */
+    private static Logger logger = Logger.getLogger(BenchmarkRunner.class.getSimpleName());
+
+    /** The seed every benchmark's random generator is created with. */
+    private static final long SEED = 0x5EED_2014L;
+
+    /** The amount of iterations executed before measuring. */
+    private static final int WARMUP_ITERATIONS = 5;
+
+    /** The amount of iterations that are measured. */
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    /** The minimum amount of time a single iteration runs for, in nanoseconds. */
+    private static final long ITERATION_TIME = 1_000_000_000L;
+
+    /** The minimum amount of time a single batch of operations runs for. */
+    private static final long BATCH_TIME = 1_000_000L;
+
+    /**
+     * How much slower than the baseline a benchmark can get before it is
+     * considered a regression.
+     */
+    private static final double REGRESSION_THRESHOLD = 0.10;
+
+    /** The sizes of the synthetic worlds updating is benchmarked against. */
+    private static final int[] WORLD_SIZES = { 100, 500, 2000 };
+
+    /** The percentages of taken slots entity iteration is benchmarked at. */
+    private static final int[] ENTITY_OCCUPANCIES = { 10, 50, 100 };
+
+    /** The file the results are appended to. */
+    private static final Path RESULTS_FILE = Paths.get("./benchmarks/microbenchmarks.txt");
+
+    /** The file the baseline results are read from and saved to. */
+    private static final Path BASELINE_FILE = Paths.get("./benchmarks/baseline.txt");
+
+    /**
+     * The default constructor, will throw an
+     * {@link UnsupportedOperationException} if instantiated.
+     */
+    private BenchmarkRunner() {
+        throw new UnsupportedOperationException(
+            "This class cannot be instantiated!");
+    }
+
+    /**
+     * The main method of the benchmark runner.
+     * 
+     * @param args
+     *            the array of runtime arguments.
+     */
+    public static void main(String[] args) throws Exception {
+        boolean saveBaseline = false;
+        String filter = "";
+
+        for (String arg : args) {
+            if (arg.equals("--baseline")) {
+                saveBaseline = true;
+            } else {
+                filter = arg;
+            }
+        }
+
+        // Load the definitions the benchmarks depend on.
+        ItemDefinition.parseItems().load();
+        NpcDefinition.parseNpcs().load();
+
+        // Run every benchmark that matches the filter.
+        Blackhole blackhole = new Blackhole();
+        List<BenchmarkResult> results = new ArrayList<>();
+
+        for (Microbenchmark benchmark : benchmarks()) {
+            if (benchmark.getName().contains(filter)) {
+                BenchmarkResult result = run(benchmark, blackhole);
+                logger.info(result.toString());
+                results.add(result);
+            }
+        }
+
+        // Write the results, and compare them against the baseline.
+        StringBuilder sb = new StringBuilder();
+        Map<String, Double> baseline = loadBaseline();
+        boolean regressed = false;
+
+        sb.append("[microbenchmarks] ").append(new Date()).append("\n");
+        sb.append("[microbenchmarks] Java ").append(
+            System.getProperty("java.version")).append(", ").append(
+            Runtime.getRuntime().availableProcessors()).append(
+            " processors\n");
+
+        for (BenchmarkResult result : results) {
+            sb.append(result);
+            Double previous = baseline.get(result.getName());
+
+            if (previous != null) {
+                double change = (result.getScore() - previous) / previous;
+                sb.append(String.format("  %+.1f%%", change * 100));
+
+                if (change > REGRESSION_THRESHOLD) {
+                    sb.append("  REGRESSION");
+                    regressed = true;
+                }
+            }
+            sb.append("\n");
+        }
+        sb.append("[microbenchmarks] Blackhole: ").append(blackhole.getSink()).append(
+            "\n\n\n");
+        Files.createDirectories(RESULTS_FILE.getParent());
+        Files.write(RESULTS_FILE, sb.toString().getBytes(
+            StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND);
+        System.out.print(sb);
+
+        if (saveBaseline) {
+            saveBaseline(results);
+            logger.info("Saved " + results.size() + " results as the new baseline.");
+        }
+        if (regressed) {
+            logger.warning("One or more benchmarks regressed by more than " + (int) (REGRESSION_THRESHOLD * 100) + "%!");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Creates all of the benchmarks that can be run.
+     * 
+     * @return the benchmarks that can be run.
+     */
+    private static List<Microbenchmark> benchmarks() {
+        List<Microbenchmark> benchmarks = new ArrayList<>();
+
+        for (ProtocolBufferBenchmark.Mode mode : ProtocolBufferBenchmark.Mode.values()) {
+            benchmarks.add(new ProtocolBufferBenchmark(mode));
+        }
+        benchmarks.add(new CipherBenchmark());
+
+        for (int size : WORLD_SIZES) {
+            benchmarks.add(new UpdatingBenchmark(size, false));
+            benchmarks.add(new UpdatingBenchmark(size, true));
+        }
+        for (ItemContainerBenchmark.Operation operation : ItemContainerBenchmark.Operation.values()) {
+            benchmarks.add(new ItemContainerBenchmark(operation));
+        }
+        benchmarks.add(new EntityContainerBenchmark(
+            EntityContainerBenchmark.Operation.ADD, 100));
+        benchmarks.add(new EntityContainerBenchmark(
+            EntityContainerBenchmark.Operation.REMOVE, 100));
+
+        for (int occupancy : ENTITY_OCCUPANCIES) {
+            benchmarks.add(new EntityContainerBenchmark(
+                EntityContainerBenchmark.Operation.ITERATE, occupancy));
+        }
+        benchmarks.add(new PositionBenchmark());
+
+        for (ProfileCodecBenchmark.Mode mode : ProfileCodecBenchmark.Mode.values()) {
+            benchmarks.add(new ProfileCodecBenchmark(mode));
+        }
+        return benchmarks;
+    }
+
+    /**
+     * Warms up and then measures the argued benchmark.
+     * 
+     * @param benchmark
+     *            the benchmark to run.
+     * @param blackhole
+     *            the blackhole that consumes results.
+     * @return the result of the benchmark.
+     * @throws Exception
+     *             if any errors occur while running the benchmark.
+     */
+    private static BenchmarkResult run(Microbenchmark benchmark,
+        Blackhole blackhole) throws Exception {
+        System.gc();
+        benchmark.setup(new Random(SEED));
+
+        try {
+
+            // Find a batch size large enough for timing to be accurate.
+            int batch = 1;
+
+            while (batch < (1 << 30)) {
+                long start = System.nanoTime();
+
+                for (int i = 0; i < batch; i++) {
+                    benchmark.run(blackhole);
+                }
+                if (System.nanoTime() - start >= BATCH_TIME) {
+                    break;
+                }
+                batch <<= 1;
+            }
+
+            // Warm up and then measure.
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                iteration(benchmark, blackhole, batch);
+            }
+
+            double[] samples = new double[MEASUREMENT_ITERATIONS];
+
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = iteration(benchmark, blackhole, batch);
+            }
+            return new BenchmarkResult(benchmark.getName(), samples);
+        } finally {
+            benchmark.teardown();
+        }
+    }
+
+    /**
+     * Executes a single iteration of the argued benchmark.
+     * 
+     * @param benchmark
+     *            the benchmark to execute.
+     * @param blackhole
+     *            the blackhole that consumes results.
+     * @param batch
+     *            the amount of operations executed between checking the time.
+     * @return the average time a single operation took, in nanoseconds.
+     * @throws Exception
+     *             if any errors occur while executing the benchmark.
+     */
+    private static double iteration(Microbenchmark benchmark,
+        Blackhole blackhole, int batch) throws Exception {
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+
+        do {
+            for (int i = 0; i < batch; i++) {
+                benchmark.run(blackhole);
+            }
+            operations += batch;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < ITERATION_TIME);
+        return (double) elapsed / operations;
+    }
+
+    /**
+     * Loads the baseline results, if they exist.
+     * 
+     * @return the baseline scores, by benchmark name.
+     * @throws IOException
+     *             if any errors occur while reading the baseline.
+     */
+    private static Map<String, Double> loadBaseline() throws IOException {
+        Map<String, Double> baseline = new HashMap<>();
+
+        if (!Files.exists(BASELINE_FILE)) {
+            return baseline;
+        }
+
+        for (String line : Files.readAllLines(BASELINE_FILE,
+            StandardCharsets.UTF_8)) {
+            String[] parts = line.trim().split("\\s+");
+
+            if (parts.length == 2) {
+                baseline.put(parts[0], Double.parseDouble(parts[1]));
+            }
+        }
+        return baseline;
+    }
+
+    /**
+     * Saves the argued results as the new baseline.
+     * 
+     * @param results
+     *            the results to save.
+     * @throws IOException
+     *             if any errors occur while writing the baseline.
+     */
+    private static void saveBaseline(List<BenchmarkResult> results)
+        throws IOException {
+        Map<String, Double> baseline = loadBaseline();
+        results.forEach(r -> baseline.put(r.getName(), r.getScore()));
+        List<String> lines = new ArrayList<>();
+        baseline.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(
+            e -> lines.add(e.getKey() + " " + String.format(Locale.ROOT, "%.1f",
+                e.getValue())));
+        Files.write(BASELINE_FILE, lines, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,63 @@
+package com.asteria.benchmark;
+
+/**
+ * Consumes the results of benchmarked operations so that the compiler cannot
+ * treat them as dead code and eliminate them. Every value consumed is folded
+ * into a sink that is printed once the benchmarks have finished.
+ * 
+ * @author lare96
+ */
+public final class Blackhole {
+
+    /** The sink every consumed value is folded into. */
+    private volatile int sink;
+
+    /**
+     * Consumes an integer value.
+     * 
+     * @param value
+     *            the value to consume.
+     */
+    public void consume(int value) {
+        sink ^= value;
+    }
+
+    /**
+     * Consumes a long value.
+     * 
+     * @param value
+     *            the value to consume.
+     */
+    public void consume(long value) {
+        sink ^= (int) (value ^ (value >>> 32));
+    }
+
+    /**
+     * Consumes a boolean value.
+     * 
+     * @param value
+     *            the value to consume.
+     */
+    public void consume(boolean value) {
+        sink ^= value ? 1 : 0;
+    }
+
+    /**
+     * Consumes an object.
+     * 
+     * @param value
+     *            the object to consume.
+     */
+    public void consume(Object value) {
+        sink ^= value == null ? 0 : 1;
+    }
+
+    /**
+     * Gets the sink every consumed value has been folded into.
+     * 
+     * @return the sink.
+     */
+    public int getSink() {
+        return sink;
+    }
+}
@@ -0,0 +1,369 @@
+package com.asteria.benchmark;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.asteria.engine.net.ISAACCipher;
+import com.asteria.engine.net.ProtocolBuffer;
+import com.asteria.engine.net.ProtocolBuffer.ByteOrder;
+import com.asteria.engine.net.ProtocolBuffer.ValueType;
+import com.asteria.engine.net.Session;
+import com.asteria.util.Utility;
+import com.asteria.world.entity.player.Player;
+
+/**
+ * A headless client that logs in using the same handshake as a real client,
+ * and then walks around and chats every cycle. Bots never decode the data the
+ * server sends them, they only count it.
+ * 
+ * @author lare96
+ */
+public final class BotClient {
+
+    /**
+     * The stages a bot goes through while connecting.
+     * 
+     * @author lare96
+     */
+    public enum Stage {
+        CONNECTING,
+        HANDSHAKING,
+        LOGGING_IN,
+        LOGGED_IN,
+        DISCONNECTED
+    }
+
+    /** The public RSA exponent that pairs with the server's private key. */
+    private static final BigInteger RSA_PUBLIC_EXPONENT = BigInteger.valueOf(65537);
+
+    /** The chance of walking every cycle, out of one hundred. */
+    private static final int WALK_CHANCE = 25;
+
+    /** The chance of chatting every cycle, out of one hundred. */
+    private static final int CHAT_CHANCE = 5;
+
+    /** The distance from the starting position bots walk within. */
+    private static final int WALK_RADIUS = 10;
+
+    /** The messages bots chat. */
+    private static final String[] MESSAGES = { "hello world", "selling lobsters",
+            "anyone want to duel?", "buying rune essence", "lol",
+            "what level are you?", "nice armour!" };
+
+    /** The username of this bot. */
+    private final String username;
+
+    /** The random generator this bot makes decisions with. */
+    private final Random random;
+
+    /** The channel this bot is connected through. */
+    private final SocketChannel channel;
+
+    /** The buffer used to read the handshake and login response. */
+    private final ByteBuffer handshake = ByteBuffer.allocate(17);
+
+    /** The buffer packets are written to before being sent. */
+    private final ByteBuffer outData = ByteBuffer.allocate(256);
+
+    /** The stage this bot is currently in. */
+    private Stage stage = Stage.CONNECTING;
+
+    /** The response code the server sent for the login. */
+    private int loginResponse = -1;
+
+    /** The cipher used to encrypt packet opcodes. */
+    private ISAACCipher encryptor;
+
+    /** The amount of bytes received since this bot logged in. */
+    private long bytesReceived;
+
+    /** The time this bot will next perform its actions, in milliseconds. */
+    private long nextCycle;
+
+    /**
+     * Create a new {@link BotClient}.
+     * 
+     * @param username
+     *            the username of this bot.
+     * @param random
+     *            the random generator this bot makes decisions with.
+     * @param channel
+     *            the channel this bot is connected through.
+     */
+    public BotClient(String username, Random random, SocketChannel channel) {
+        this.username = username;
+        this.random = random;
+        this.channel = channel;
+    }
+
+    /**
+     * Called once the channel has finished connecting, starts the handshake.
+     * 
+     * @param key
+     *            the selection key for the channel.
+     * @throws IOException
+     *             if any errors occur while connecting.
+     */
+    public void connected(SelectionKey key) throws IOException {
+        channel.finishConnect();
+        key.interestOps(SelectionKey.OP_READ);
+
+        // Send the login request, and the name hash.
+        outData.put((byte) 14);
+        outData.put((byte) (Utility.nameToHash(username) >> 16 & 31));
+        flush();
+        stage = Stage.HANDSHAKING;
+    }
+
+    /**
+     * Called when the argued data has been read from the channel.
+     * 
+     * @param data
+     *            the data that was read.
+     * @throws IOException
+     *             if any errors occur while handling the data.
+     */
+    public void read(ByteBuffer data) throws IOException {
+        switch (stage) {
+        case HANDSHAKING:
+            fill(data);
+
+            if (handshake.hasRemaining()) {
+                return;
+            }
+
+            // Read the response, and the server's half of the key.
+            handshake.flip();
+            handshake.position(8);
+
+            if (handshake.get() != 0) {
+                disconnect();
+                return;
+            }
+
+            login(handshake.getLong());
+            handshake.clear().limit(3);
+            stage = Stage.LOGGING_IN;
+            break;
+        case LOGGING_IN:
+            fill(data);
+
+            if (handshake.hasRemaining()) {
+                return;
+            }
+
+            loginResponse = handshake.get(0);
+
+            if (loginResponse != Utility.LOGIN_RESPONSE_OK) {
+                disconnect();
+                return;
+            }
+
+            stage = Stage.LOGGED_IN;
+            bytesReceived += data.remaining();
+            break;
+        case LOGGED_IN:
+            bytesReceived += data.remaining();
+            break;
+        default:
+            break;
+        }
+        data.position(data.limit());
+    }
+
+    /**
+     * Performs this bot's actions for a single cycle, which is to walk, chat,
+     * or let the server know we're still here.
+     * 
+     * @throws IOException
+     *             if any errors occur while sending packets.
+     */
+    public void cycle() throws IOException {
+        if (stage != Stage.LOGGED_IN) {
+            return;
+        }
+
+        ProtocolBuffer out = new ProtocolBuffer(outData);
+        int roll = random.nextInt(100);
+
+        if (roll < WALK_CHANCE) {
+
+            // Walk to a random position near the starting position.
+            int x = Player.STARTING_POSITION.getX() + random.nextInt(
+                WALK_RADIUS * 2 + 1) - WALK_RADIUS;
+            int y = Player.STARTING_POSITION.getY() + random.nextInt(
+                WALK_RADIUS * 2 + 1) - WALK_RADIUS;
+
+            out.writeByte(164 + encryptor.getKey());
+            out.writeByte(5);
+            out.writeShort(x, ValueType.A, ByteOrder.LITTLE);
+            out.writeShort(y, ByteOrder.LITTLE);
+            out.writeByte(random.nextBoolean() ? 1 : 0, ValueType.C);
+        } else if (roll < WALK_CHANCE + CHAT_CHANCE) {
+
+            // Say a random message.
+            byte[] text = Utility.textPack(MESSAGES[random.nextInt(MESSAGES.length)]);
+
+            out.writeByte(4 + encryptor.getKey());
+            out.writeByte(text.length + 2);
+            out.writeByte(0, ValueType.S);
+            out.writeByte(0, ValueType.S);
+
+            for (int i = text.length - 1; i >= 0; i--) {
+                out.writeByte(text[i], ValueType.A);
+            }
+        } else {
+
+            // Nothing to do, so stop ourselves from timing out.
+            out.writeByte(0 + encryptor.getKey());
+        }
+        flush();
+    }
+
+    /**
+     * Disconnects this bot from the server.
+     */
+    public void disconnect() {
+        stage = Stage.DISCONNECTED;
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Sends the login block, which is made up of the client information and
+     * the RSA block containing the ISAAC seed and the credentials.
+     * 
+     * @param serverHalf
+     *            the server's half of the ISAAC seed.
+     * @throws IOException
+     *             if any errors occur while sending the login block.
+     */
+    private void login(long serverHalf) throws IOException {
+        long clientHalf = random.nextLong();
+
+        // Create the RSA block, and encrypt it.
+        ProtocolBuffer rsa = new ProtocolBuffer(ByteBuffer.allocate(128));
+        rsa.writeByte(10);
+        rsa.writeLong(clientHalf);
+        rsa.writeLong(serverHalf);
+        rsa.writeInt(random.nextInt());
+        rsa.writeString(username);
+        rsa.writeString("password");
+        byte[] plain = Arrays.copyOf(rsa.getBuffer().array(),
+            rsa.getBuffer().position());
+        byte[] encrypted = new BigInteger(plain).modPow(RSA_PUBLIC_EXPONENT,
+            Session.RSA_MODULUS).toByteArray();
+
+        // Write the rest of the login block around it.
+        ProtocolBuffer out = new ProtocolBuffer(outData);
+        out.writeByte(16);
+        out.writeByte(40 + encrypted.length + 1);
+        out.writeByte(255);
+        out.writeShort(317);
+        out.writeByte(0);
+
+        for (int i = 0; i < 9; i++) {
+            out.writeInt(0);
+        }
+        out.writeByte(encrypted.length);
+        out.writeBytes(encrypted, encrypted.length);
+        flush();
+
+        // Set up the cipher the same way the server does.
+        int[] seed = { (int) (clientHalf >> 32), (int) clientHalf,
+                (int) (serverHalf >> 32), (int) serverHalf };
+        encryptor = new ISAACCipher(seed);
+    }
+
+    /**
+     * Copies as much of the argued data as possible into the handshake buffer.
+     * 
+     * @param data
+     *            the data to copy.
+     */
+    private void fill(ByteBuffer data) {
+        while (data.hasRemaining() && handshake.hasRemaining()) {
+            handshake.put(data.get());
+        }
+    }
+
+    /**
+     * Writes the pending outgoing data to the channel. Bots send so little
+     * data that anything which can't be written straight away is dropped.
+     * 
+     * @throws IOException
+     *             if any errors occur while writing.
+     */
+    private void flush() throws IOException {
+        outData.flip();
+        channel.write(outData);
+        outData.clear();
+    }
+
+    /**
+     * Gets the username of this bot.
+     * 
+     * @return the username.
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Gets the stage this bot is currently in.
+     * 
+     * @return the stage.
+     */
+    public Stage getStage() {
+        return stage;
+    }
+
+    /**
+     * Gets the time this bot will next perform its actions.
+     * 
+     * @return the time, in milliseconds.
+     */
+    public long getNextCycle() {
+        return nextCycle;
+    }
+
+    /**
+     * Sets the time this bot will next perform its actions.
+     * 
+     * @param nextCycle
+     *            the time, in milliseconds.
+     */
+    public void setNextCycle(long nextCycle) {
+        this.nextCycle = nextCycle;
+    }
+
+    /**
+     * Gets the response code the server sent for the login.
+     * 
+     * @return the response code, or <tt>-1</tt> if it hasn't been received.
+     */
+    public int getLoginResponse() {
+        return loginResponse;
+    }
+
+    /**
+     * Gets and resets the amount of bytes received since the last call to this
+     * method.
+     * 
+     * @return the amount of bytes received.
+     */
+    public long drainBytesReceived() {
+        long bytes = bytesReceived;
+        bytesReceived = 0;
+        return bytes;
+    }
+}
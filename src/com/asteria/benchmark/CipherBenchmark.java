@@ -0,0 +1,37 @@
+package com.asteria.benchmark;
+
+import java.util.Random;
+
+import com.asteria.engine.net.ISAACCipher;
+
+/**
+ * Benchmarks generating keys with the {@link ISAACCipher}, which is done for
+ * the opcode of every packet sent and received.
+ * 
+ * @author lare96
+ */
+public final class CipherBenchmark extends Microbenchmark {
+
+    /** The cipher keys are generated with. */
+    private ISAACCipher cipher;
+
+    /** Create a new {@link CipherBenchmark}. */
+    public CipherBenchmark() {
+        super("isaac.get_key");
+    }
+
+    @Override
+    public void setup(Random random) throws Exception {
+        int[] seed = new int[4];
+
+        for (int i = 0; i < seed.length; i++) {
+            seed[i] = random.nextInt();
+        }
+        cipher = new ISAACCipher(seed);
+    }
+
+    @Override
+    public void run(Blackhole blackhole) throws Exception {
+        blackhole.consume(cipher.getKey());
+    }
+}
@@ -0,0 +1,46 @@
+package com.asteria.benchmark;
+
+import java.nio.ByteBuffer;
+
+import com.asteria.engine.net.ProtocolBuffer;
+import com.asteria.engine.net.Session;
+
+/**
+ * A {@link Session} that is not attached to a socket. Detached sessions are
+ * logged in straight away and discard any data sent to them, which allows
+ * players to be created and updated by the benchmarks without a client.
+ * 
+ * @author lare96
+ */
+public final class DetachedSession extends Session {
+
+    /**
+     * Create a new {@link DetachedSession}.
+     * 
+     * @param host
+     *            the host address for this session.
+     */
+    public DetachedSession(String host) {
+        super(host);
+    }
+
+    @Override
+    public void send(ByteBuffer buffer) {
+        buffer.clear();
+    }
+
+    @Override
+    public void send(ProtocolBuffer buffer) {
+        buffer.release();
+    }
+
+    @Override
+    protected void closeConnection() {
+
+    }
+
+    @Override
+    protected void suspendReading() {
+
+    }
+}
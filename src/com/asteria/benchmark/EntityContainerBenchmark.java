@@ -0,0 +1,127 @@
+package com.asteria.benchmark;
+
+import java.util.Random;
+
+import com.asteria.world.entity.EntityContainer;
+import com.asteria.world.entity.player.Player;
+import com.asteria.world.map.Position;
+
+/**
+ * Benchmarks an {@link EntityContainer} the size of the player list. Either
+ * fills the container, which includes finding a free slot and registering each
+ * entity to its region, fills and then empties it in a random order, or
+ * iterates over it while only some of the slots are taken.
+ * 
+ * @author lare96
+ */
+public final class EntityContainerBenchmark extends Microbenchmark {
+
+    /**
+     * The different operations that are benchmarked.
+     * 
+     * @author lare96
+     */
+    public enum Operation {
+        ADD,
+        REMOVE,
+        ITERATE
+    }
+
+    /** The amount of players added in a single operation. */
+    private static final int SIZE = 1000;
+
+    /** The operation that is benchmarked. */
+    private final Operation operation;
+
+    /** The percentage of slots that are taken while iterating. */
+    private final int occupancy;
+
+    /** The container players are added to. */
+    private EntityContainer<Player> container;
+
+    /** The players that are added. */
+    private final Player[] players = new Player[SIZE];
+
+    /** The players in the order they are removed. */
+    private final Player[] removals = new Player[SIZE];
+
+    /**
+     * Create a new {@link EntityContainerBenchmark}.
+     * 
+     * @param operation
+     *            the operation that is benchmarked.
+     * @param occupancy
+     *            the percentage of slots that are taken while iterating.
+     */
+    public EntityContainerBenchmark(Operation operation, int occupancy) {
+        super(operation == Operation.ITERATE ? "entitycontainer.iterate_" + occupancy
+            : "entitycontainer." + operation.name().toLowerCase());
+        this.operation = operation;
+        this.occupancy = occupancy;
+    }
+
+    @Override
+    public void setup(Random random) throws Exception {
+        container = new EntityContainer<>(SIZE);
+
+        for (int i = 0; i < SIZE; i++) {
+            players[i] = createPlayer("Bot " + i, new Position(
+                3136 + random.nextInt(128), 3136 + random.nextInt(128)));
+        }
+
+        // Shuffle the order the players are removed in.
+        System.arraycopy(players, 0, removals, 0, SIZE);
+
+        for (int i = SIZE - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Player player = removals[i];
+            removals[i] = removals[j];
+            removals[j] = player;
+        }
+
+        if (operation == Operation.ITERATE) {
+
+            // Fill the container, then free random slots until only the
+            // occupied percentage is left.
+            for (Player player : players) {
+                container.add(player);
+            }
+
+            while (container.size() > (SIZE * occupancy) / 100) {
+                container.remove(players[random.nextInt(SIZE)]);
+            }
+        }
+    }
+
+    @Override
+    public void run(Blackhole blackhole) throws Exception {
+        if (operation == Operation.ITERATE) {
+            container.forEach(blackhole::consume);
+
+            for (Player player : container) {
+                if (player != null) {
+                    blackhole.consume(player.getSlot());
+                }
+            }
+            return;
+        }
+
+        for (Player player : players) {
+            container.add(player);
+        }
+        blackhole.consume(container.size());
+
+        if (operation == Operation.REMOVE) {
+            for (Player player : removals) {
+                container.remove(player);
+            }
+            return;
+        }
+        container.clear();
+    }
+
+    @Override
+    public void teardown() throws Exception {
+        container.clear();
+    }
+}
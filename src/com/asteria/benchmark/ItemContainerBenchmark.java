@@ -0,0 +1,110 @@
+package com.asteria.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.asteria.world.item.Item;
+import com.asteria.world.item.ItemContainer;
+import com.asteria.world.item.ItemContainer.Policy;
+import com.asteria.world.item.ItemDefinition;
+
+/**
+ * Benchmarks adding, removing and shifting items in {@link ItemContainer}s
+ * the size of an inventory and a bank.
+ * 
+ * @author lare96
+ */
+public final class ItemContainerBenchmark extends Microbenchmark {
+
+    /**
+     * The different operations that are benchmarked.
+     * 
+     * @author lare96
+     */
+    public enum Operation {
+        ADD_REMOVE_STACKABLE,
+        ADD_REMOVE_SINGLE,
+        SHIFT
+    }
+
+    /** The identifier of the stackable item that is added and removed. */
+    private static final int STACKABLE_ITEM = 995;
+
+    /** The capacity of an inventory. */
+    private static final int INVENTORY_SIZE = 28;
+
+    /** The capacity of a bank. */
+    private static final int BANK_SIZE = 250;
+
+    /** The operation that is benchmarked. */
+    private final Operation operation;
+
+    /** The container the operation is performed on. */
+    private ItemContainer container;
+
+    /** The items the container is reset to before shifting. */
+    private Item[] template;
+
+    /** The single item that is added and removed. */
+    private Item single;
+
+    /**
+     * Create a new {@link ItemContainerBenchmark}.
+     * 
+     * @param operation
+     *            the operation that is benchmarked.
+     */
+    public ItemContainerBenchmark(Operation operation) {
+        super("itemcontainer." + operation.name().toLowerCase());
+        this.operation = operation;
+    }
+
+    @Override
+    public void setup(Random random) throws Exception {
+        int[] ids = Arrays.stream(ItemDefinition.getDefinitions()).filter(
+            d -> d != null && !d.isStackable() && !d.isNoted()).mapToInt(
+            ItemDefinition::getItemId).toArray();
+
+        if (operation == Operation.SHIFT) {
+
+            // A bank with gaps between most of the items.
+            container = new ItemContainer(Policy.STACK_ALWAYS, BANK_SIZE);
+            template = new Item[BANK_SIZE];
+
+            for (int i = 0; i < template.length; i++) {
+                if (random.nextInt(10) < 6) {
+                    template[i] = new Item(ids[random.nextInt(ids.length)],
+                        1 + random.nextInt(1000));
+                }
+            }
+            return;
+        }
+
+        // An inventory with a few free slots left.
+        container = new ItemContainer(Policy.NORMAL, INVENTORY_SIZE);
+
+        for (int i = 0; i < INVENTORY_SIZE - 4; i++) {
+            container.add(new Item(ids[random.nextInt(ids.length)]));
+        }
+        single = new Item(ids[random.nextInt(ids.length)]);
+    }
+
+    @Override
+    public void run(Blackhole blackhole) throws Exception {
+        switch (operation) {
+        case ADD_REMOVE_STACKABLE:
+            blackhole.consume(container.add(new Item(STACKABLE_ITEM, 100)));
+            blackhole.consume(container.remove(new Item(STACKABLE_ITEM, 100)));
+            break;
+        case ADD_REMOVE_SINGLE:
+            blackhole.consume(container.add(single));
+            blackhole.consume(container.remove(single));
+            break;
+        case SHIFT:
+            container.setItems(template);
+            container.shift();
+            blackhole.consume(container.get(0));
+            break;
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.asteria.benchmark;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import com.asteria.Main;
+import com.asteria.benchmark.BotClient.Stage;
+import com.asteria.engine.GameEngine;
+
+/**
+ * Starts the server in this process and then logs in an increasing amount of
+ * {@link BotClient}s over loopback, measuring how long each game cycle takes
+ * and how much data each player is sent at every population. This is used to
+ * find the population at which the server can no longer keep up with the
+ * <tt>600</tt>ms cycle rate.<br>
+ * <br>
+ * This should be run from the same directory as the server, with the
+ * following arguments:
+ * 
+ * <pre>
+ * java com.asteria.benchmark.LoadTester [max bots] [bots per step] [cycles per step]
+ * </pre>
+ * 
+ * Bots log in with the usernames <code>bot0</code>, <code>bot1</code>, and so
+ * on, so character files will be created for them.
+ * 
+ * @author lare96
+ */
+public final class LoadTester {
+
+    /** A logger for printing information. */
+    private static Logger logger = Logger.getLogger(LoadTester.class.getSimpleName());
+
+    /** The address bots connect to. */
+    private static final InetSocketAddress ADDRESS = new InetSocketAddress(
+        "127.0.0.1", 43594);
+
+    /** The seed the random generator for the bots is created with. */
+    private static final long SEED = 0x5EED_2014L;
+
+    /** The default maximum amount of bots. */
+    private static final int DEFAULT_MAX_BOTS = 1000;
+
+    /** The default amount of bots added every step. */
+    private static final int DEFAULT_STEP = 50;
+
+    /** The default amount of cycles measured every step. */
+    private static final int DEFAULT_CYCLES = 50;
+
+    /** The time the server has to start up, in milliseconds. */
+    private static final long STARTUP_TIMEOUT = 60_000;
+
+    /** The time bots have to log in every step, in milliseconds. */
+    private static final long LOGIN_TIMEOUT = 30_000;
+
+    /** The file the results are appended to. */
+    private static final Path RESULTS_FILE = Paths.get("./benchmarks/loadtest.txt");
+
+    /** The durations of cycles executed since the last step, in nanoseconds. */
+    private final Queue<Long> cycleTimes = new ConcurrentLinkedQueue<>();
+
+    /** The bots that have been created. */
+    private final List<BotClient> bots = new ArrayList<>();
+
+    /** The results of every step. */
+    private final List<Step> steps = new ArrayList<>();
+
+    /** The random generator for the bots. */
+    private final Random random = new Random(SEED);
+
+    /** The buffer data is read into. */
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(65536);
+
+    /** The selector for the bots. */
+    private final Selector selector;
+
+    /** The maximum amount of bots. */
+    private final int maxBots;
+
+    /** The amount of bots added every step. */
+    private final int step;
+
+    /** The amount of cycles measured every step. */
+    private final int cycles;
+
+    /**
+     * Create a new {@link LoadTester}.
+     * 
+     * @param maxBots
+     *            the maximum amount of bots.
+     * @param step
+     *            the amount of bots added every step.
+     * @param cycles
+     *            the amount of cycles measured every step.
+     * @throws IOException
+     *             if the selector cannot be opened.
+     */
+    private LoadTester(int maxBots, int step, int cycles) throws IOException {
+        this.maxBots = maxBots;
+        this.step = step;
+        this.cycles = cycles;
+        this.selector = Selector.open();
+    }
+
+    /**
+     * The main method of the load tester.
+     * 
+     * @param args
+     *            the array of runtime arguments.
+     */
+    public static void main(String[] args) throws Exception {
+        int maxBots = args.length > 0 ? Integer.parseInt(args[0])
+            : DEFAULT_MAX_BOTS;
+        int step = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_STEP;
+        int cycles = args.length > 2 ? Integer.parseInt(args[2])
+            : DEFAULT_CYCLES;
+
+        // Start the server and wait for the first cycle.
+        Main.main(new String[0]);
+        long start = System.currentTimeMillis();
+
+        while (GameEngine.getCycles() == 0) {
+            if (System.currentTimeMillis() - start > STARTUP_TIMEOUT) {
+                throw new IllegalStateException("The server did not start!");
+            }
+            Thread.sleep(100);
+        }
+
+        LoadTester tester = new LoadTester(maxBots, step, cycles);
+        GameEngine.addCycleListener(tester.cycleTimes::add);
+        tester.run();
+        System.exit(0);
+    }
+
+    /**
+     * Adds bots step by step until the maximum amount has been reached or the
+     * server can't keep up, and then writes the results.
+     * 
+     * @throws IOException
+     *             if any errors occur while running.
+     */
+    private void run() throws IOException {
+        while (bots.size() < maxBots) {
+            spawn(Math.min(step, maxBots - bots.size()));
+
+            // Wait for every bot to finish logging in.
+            long start = System.currentTimeMillis();
+
+            while (bots.stream().anyMatch(
+                b -> b.getStage() != Stage.LOGGED_IN && b.getStage() != Stage.DISCONNECTED)) {
+                if (System.currentTimeMillis() - start > LOGIN_TIMEOUT) {
+                    logger.warning("Bots are taking too long to log in!");
+                    break;
+                }
+                pump();
+            }
+
+            // Then measure the cycles at this population.
+            cycleTimes.clear();
+            bots.forEach(BotClient::drainBytesReceived);
+            List<Long> samples = new ArrayList<>(cycles);
+
+            while (samples.size() < cycles) {
+                pump();
+
+                for (Long time = cycleTimes.poll(); time != null; time = cycleTimes.poll()) {
+                    samples.add(time);
+                }
+            }
+
+            long bytes = bots.stream().mapToLong(
+                BotClient::drainBytesReceived).sum();
+            Step result = new Step(bots, samples, bytes);
+            logger.info(result.toString());
+            steps.add(result);
+
+            // No point in adding any more if we're already too slow.
+            if (result.percentile(0.5) > GameEngine.CYCLE_RATE) {
+                logger.warning("The server can no longer keep up, stopping.");
+                break;
+            }
+        }
+        report();
+    }
+
+    /**
+     * Creates and connects the argued amount of bots.
+     * 
+     * @param amount
+     *            the amount of bots to create.
+     * @throws IOException
+     *             if any errors occur while connecting.
+     */
+    private void spawn(int amount) throws IOException {
+        for (int i = 0; i < amount; i++) {
+            SocketChannel channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.connect(ADDRESS);
+            BotClient bot = new BotClient("bot" + bots.size(), new Random(
+                random.nextLong()), channel);
+            bot.setNextCycle(System.currentTimeMillis() + random.nextInt(GameEngine.CYCLE_RATE));
+            channel.register(selector, SelectionKey.OP_CONNECT, bot);
+            bots.add(bot);
+        }
+    }
+
+    /**
+     * Handles network events for the bots, and performs the actions of every
+     * bot that is due for a cycle.
+     * 
+     * @throws IOException
+     *             if any errors occur while selecting.
+     */
+    private void pump() throws IOException {
+        selector.select(10);
+
+        for (Iterator<SelectionKey> it = selector.selectedKeys().iterator(); it.hasNext();) {
+            SelectionKey key = it.next();
+            it.remove();
+            BotClient bot = (BotClient) key.attachment();
+
+            try {
+                if (key.isConnectable()) {
+                    bot.connected(key);
+                } else if (key.isReadable()) {
+                    readBuffer.clear();
+
+                    if (((SocketChannel) key.channel()).read(readBuffer) == -1) {
+                        bot.disconnect();
+                        continue;
+                    }
+                    readBuffer.flip();
+                    bot.read(readBuffer);
+                }
+            } catch (IOException e) {
+                logger.warning(bot.getUsername() + " was disconnected: " + e.getMessage());
+                bot.disconnect();
+            }
+        }
+
+        long now = System.currentTimeMillis();
+
+        for (BotClient bot : bots) {
+            if (bot.getStage() == Stage.LOGGED_IN && now >= bot.getNextCycle()) {
+                bot.setNextCycle(bot.getNextCycle() + GameEngine.CYCLE_RATE);
+
+                try {
+                    bot.cycle();
+                } catch (IOException e) {
+                    bot.disconnect();
+                }
+            }
+        }
+    }
+
+    /**
+     * Prints the results of every step, and appends them to the results file.
+     * 
+     * @throws IOException
+     *             if any errors occur while writing the results.
+     */
+    private void report() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[loadtest] ").append(new Date()).append("\n");
+        sb.append("[loadtest] Java ").append(System.getProperty("java.version")).append(
+            ", ").append(Runtime.getRuntime().availableProcessors()).append(
+            " processors\n");
+        sb.append(String.format("%8s %8s %8s %8s %8s %8s %8s %14s%n",
+            "online", "failed", "p50", "p95", "p99", "max", "overran",
+            "bytes/player"));
+
+        for (Step step : steps) {
+            sb.append(step.toRow()).append("\n");
+        }
+
+        // The first population a cycle overran at.
+        String overrun = steps.stream().filter(s -> s.overruns > 0).findFirst().map(
+            s -> s.online + " players").orElse("never");
+        sb.append("[loadtest] Cycle first overran " + GameEngine.CYCLE_RATE + "ms at: ").append(
+            overrun).append("\n\n\n");
+
+        Files.createDirectories(RESULTS_FILE.getParent());
+        Files.write(RESULTS_FILE, sb.toString().getBytes(
+            StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND);
+        System.out.print(sb);
+    }
+
+    /**
+     * The results of measuring the cycles at a single population.
+     * 
+     * @author lare96
+     */
+    private static final class Step {
+
+        /** The amount of bots logged in. */
+        private final int online;
+
+        /** The amount of bots that failed to log in or were disconnected. */
+        private final int failed;
+
+        /** The sorted durations of every cycle measured, in milliseconds. */
+        private final double[] times;
+
+        /** The amount of cycles that took longer than the cycle rate. */
+        private final int overruns;
+
+        /** The average amount of bytes each player was sent per cycle. */
+        private final double bytesPerPlayer;
+
+        /**
+         * Create a new {@link Step}.
+         * 
+         * @param bots
+         *            the bots that have been created.
+         * @param samples
+         *            the durations of every cycle measured, in nanoseconds.
+         * @param bytes
+         *            the amount of bytes received by every bot.
+         */
+        public Step(List<BotClient> bots, List<Long> samples, long bytes) {
+            this.online = (int) bots.stream().filter(
+                b -> b.getStage() == Stage.LOGGED_IN).count();
+            this.failed = bots.size() - online;
+            this.times = samples.stream().mapToDouble(
+                t -> t / (double) TimeUnit.MILLISECONDS.toNanos(1)).sorted().toArray();
+            this.overruns = (int) Arrays.stream(times).filter(
+                t -> t > GameEngine.CYCLE_RATE).count();
+            this.bytesPerPlayer = online == 0 ? 0
+                : bytes / (double) online / times.length;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "STEP[online= %d, failed= %d, p50= %.1fms, p99= %.1fms, max= %.1fms, bytes/player= %.1f]",
+                online, failed, percentile(0.5), percentile(0.99),
+                percentile(1), bytesPerPlayer);
+        }
+
+        /**
+         * Gets the argued percentile of the cycle durations.
+         * 
+         * @param percentile
+         *            the percentile, between <tt>0</tt> and <tt>1</tt>.
+         * @return the cycle duration, in milliseconds.
+         */
+        public double percentile(double percentile) {
+            int index = (int) Math.ceil(percentile * times.length) - 1;
+            return times[Math.max(0, Math.min(times.length - 1, index))];
+        }
+
+        /**
+         * Formats this step as a row of the results table.
+         * 
+         * @return the row.
+         */
+        public String toRow() {
+            return String.format("%8d %8d %8.1f %8.1f %8.1f %8.1f %8d %14.1f",
+                online, failed, percentile(0.5), percentile(0.95),
+                percentile(0.99), percentile(1), overruns, bytesPerPlayer);
+        }
+    }
+}
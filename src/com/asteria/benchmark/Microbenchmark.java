@@ -0,0 +1,97 @@
+package com.asteria.benchmark;
+
+import java.util.Random;
+
+import com.asteria.util.Utility;
+import com.asteria.world.entity.player.Player;
+import com.asteria.world.entity.player.skill.Skills;
+import com.asteria.world.map.Position;
+
+/**
+ * A single benchmarked operation that is run repeatedly by the
+ * {@link BenchmarkRunner}. The state an operation works on is prepared in
+ * {@link #setup(Random)} using the argued random generator, which is always
+ * seeded with the same value so that every run benchmarks exactly the same
+ * data.
+ * 
+ * @author lare96
+ */
+public abstract class Microbenchmark {
+
+    /** The name of this benchmark. */
+    private final String name;
+
+    /**
+     * Create a new {@link Microbenchmark}.
+     * 
+     * @param name
+     *            the name of this benchmark.
+     */
+    public Microbenchmark(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Prepares the state this benchmark works on. This is called once before
+     * any warmup iterations are executed.
+     * 
+     * @param random
+     *            the seeded random generator to prepare the state with.
+     * @throws Exception
+     *             if any errors occur while preparing.
+     */
+    public void setup(Random random) throws Exception {
+
+    }
+
+    /**
+     * Executes a single operation of this benchmark. The result of the
+     * operation should be consumed by the argued blackhole.
+     * 
+     * @param blackhole
+     *            the blackhole that consumes results.
+     * @throws Exception
+     *             if any errors occur while executing.
+     */
+    public abstract void run(Blackhole blackhole) throws Exception;
+
+    /**
+     * Discards the state this benchmark worked on. This is called once after
+     * all measurement iterations have been executed.
+     * 
+     * @throws Exception
+     *             if any errors occur while discarding.
+     */
+    public void teardown() throws Exception {
+
+    }
+
+    /**
+     * Creates a new player on a detached session, as if they had just logged
+     * in for the first time.
+     * 
+     * @param username
+     *            the username of the player.
+     * @param position
+     *            the position of the player.
+     * @return the created player.
+     */
+    protected static Player createPlayer(String username, Position position) {
+        Player player = new DetachedSession("benchmark").getPlayer();
+        player.setUsername(username);
+        player.setUsernameHash(Utility.nameToHash(username));
+        player.getPosition().setAs(position);
+        Skills.create(player);
+        player.getPacketBuilder().sendMapRegion();
+        return player;
+    }
+
+    /**
+     * Gets the name of this benchmark.
+     * 
+     * @return the name of this benchmark.
+     */
+    public String getName() {
+        return name;
+    }
+}
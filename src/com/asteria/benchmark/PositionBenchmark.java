@@ -0,0 +1,50 @@
+package com.asteria.benchmark;
+
+import java.util.Random;
+
+import com.asteria.world.map.Position;
+
+/**
+ * Benchmarks {@link Position#isViewableFrom(Position)}, which is checked
+ * between every player and every entity around them each cycle.
+ * 
+ * @author lare96
+ */
+public final class PositionBenchmark extends Microbenchmark {
+
+    /** The amount of position pairs checked in a single operation. */
+    private static final int PAIRS = 1024;
+
+    /** The positions being viewed. */
+    private final Position[] positions = new Position[PAIRS];
+
+    /** The positions being viewed from. */
+    private final Position[] viewers = new Position[PAIRS];
+
+    /** Create a new {@link PositionBenchmark}. */
+    public PositionBenchmark() {
+        super("position.is_viewable_from");
+    }
+
+    @Override
+    public void setup(Random random) throws Exception {
+        for (int i = 0; i < PAIRS; i++) {
+            positions[i] = new Position(3200 + random.nextInt(64),
+                3200 + random.nextInt(64), random.nextInt(10) == 0 ? 1 : 0);
+            viewers[i] = new Position(3200 + random.nextInt(64),
+                3200 + random.nextInt(64));
+        }
+    }
+
+    @Override
+    public void run(Blackhole blackhole) throws Exception {
+        int viewable = 0;
+
+        for (int i = 0; i < PAIRS; i++) {
+            if (positions[i].isViewableFrom(viewers[i])) {
+                viewable++;
+            }
+        }
+        blackhole.consume(viewable);
+    }
+}
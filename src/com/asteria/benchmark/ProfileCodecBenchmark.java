@@ -0,0 +1,117 @@
+package com.asteria.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.asteria.world.entity.player.FlatFileRepository;
+import com.asteria.world.entity.player.Player;
+import com.asteria.world.entity.player.PlayerProfileCodec;
+import com.asteria.world.entity.player.PlayerSnapshot;
+import com.asteria.world.item.Item;
+import com.asteria.world.item.ItemDefinition;
+import com.asteria.world.map.Position;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Benchmarks encoding and decoding a character file with a mostly full bank
+ * in both the json and binary formats, excluding any disk access.
+ * 
+ * @author lare96
+ */
+public final class ProfileCodecBenchmark extends Microbenchmark {
+
+    /**
+     * The different ways character files are benchmarked.
+     * 
+     * @author lare96
+     */
+    public enum Mode {
+        JSON_ENCODE,
+        JSON_DECODE,
+        BINARY_ENCODE,
+        BINARY_DECODE
+    }
+
+    /** The builder used for json character files, like the persistence workers. */
+    private static final Gson BUILDER = new GsonBuilder().setPrettyPrinting().create();
+
+    /** The amount of friends the player has. */
+    private static final int FRIENDS = 100;
+
+    /** The way character files are benchmarked. */
+    private final Mode mode;
+
+    /** The snapshot that is encoded. */
+    private PlayerSnapshot snapshot;
+
+    /** The player that character files are decoded into. */
+    private Player target;
+
+    /** The encoded json character file. */
+    private String json;
+
+    /** The encoded binary character file. */
+    private ByteBuffer binary;
+
+    /**
+     * Create a new {@link ProfileCodecBenchmark}.
+     * 
+     * @param mode
+     *            the way character files are benchmarked.
+     */
+    public ProfileCodecBenchmark(Mode mode) {
+        super("profile." + mode.name().toLowerCase());
+        this.mode = mode;
+    }
+
+    @Override
+    public void setup(Random random) throws Exception {
+        int[] ids = Arrays.stream(ItemDefinition.getDefinitions()).filter(
+            d -> d != null).mapToInt(ItemDefinition::getItemId).toArray();
+        Player player = createPlayer("profile", new Position(3222, 3222));
+        player.setPassword("password");
+
+        for (int i = 0; i < player.getBank().capacity(); i++) {
+            if (random.nextInt(10) < 8) {
+                player.getBank().set(i, new Item(ids[random.nextInt(ids.length)], 1 + random.nextInt(100000)));
+            }
+        }
+        for (int i = 0; i < player.getInventory().capacity(); i++) {
+            player.getInventory().set(i, new Item(ids[random.nextInt(ids.length)], 1 + random.nextInt(1000)));
+        }
+        for (int i = 0; i < FRIENDS; i++) {
+            player.getFriends().add(random.nextLong() & Long.MAX_VALUE);
+        }
+        snapshot = new PlayerSnapshot(player);
+        target = createPlayer("profile", new Position(3222, 3222));
+        json = BUILDER.toJson(snapshot.toJson(BUILDER));
+        binary = PlayerProfileCodec.encode(snapshot);
+    }
+
+    @Override
+    public void run(Blackhole blackhole) throws Exception {
+        switch (mode) {
+        case JSON_ENCODE:
+            blackhole.consume(StandardCharsets.UTF_8.encode(BUILDER.toJson(snapshot.toJson(BUILDER))));
+            break;
+        case JSON_DECODE:
+            target.getFriends().clear();
+            FlatFileRepository.decode((JsonObject) new JsonParser().parse(json), target);
+            blackhole.consume(target.getBank().get(0));
+            break;
+        case BINARY_ENCODE:
+            blackhole.consume(PlayerProfileCodec.encode(snapshot));
+            break;
+        case BINARY_DECODE:
+            target.getFriends().clear();
+            PlayerProfileCodec.decode(binary.duplicate(), target);
+            blackhole.consume(target.getBank().get(0));
+            break;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.asteria.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+import com.asteria.engine.net.ProtocolBuffer;
+import com.asteria.engine.net.ProtocolBuffer.ByteOrder;
+import com.asteria.engine.net.ProtocolBuffer.ValueType;
+
+/**
+ * Benchmarks reading and writing the different value types, byte orders and
+ * bit access of the {@link ProtocolBuffer}.
+ * 
+ * @author lare96
+ */
+public final class ProtocolBufferBenchmark extends Microbenchmark {
+
+    /**
+     * The different ways the protocol buffer is benchmarked.
+     * 
+     * @author lare96
+     */
+    public enum Mode {
+        WRITE_STANDARD,
+        WRITE_VARIANTS,
+        WRITE_BITS,
+        WRITE_STRING,
+        READ_STANDARD,
+        READ_VARIANTS
+    }
+
+    /** The amount of values written or read in a single operation. */
+    private static final int VALUES = 64;
+
+    /** The way the protocol buffer is benchmarked. */
+    private final Mode mode;
+
+    /** The random values that are written. */
+    private final int[] values = new int[VALUES];
+
+    /** The data that values are read from. */
+    private ByteBuffer data;
+
+    /**
+     * Create a new {@link ProtocolBufferBenchmark}.
+     * 
+     * @param mode
+     *            the way the protocol buffer is benchmarked.
+     */
+    public ProtocolBufferBenchmark(Mode mode) {
+        super("protocol." + mode.name().toLowerCase());
+        this.mode = mode;
+    }
+
+    @Override
+    public void setup(Random random) throws Exception {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt();
+        }
+
+        // Fill a buffer with more than enough data for reading.
+        data = ByteBuffer.allocate(VALUES * 16);
+        while (data.hasRemaining()) {
+            data.put((byte) random.nextInt());
+        }
+    }
+
+    @Override
+    public void run(Blackhole blackhole) throws Exception {
+        switch (mode) {
+        case WRITE_STANDARD:
+            write(blackhole, out -> {
+                for (int value : values) {
+                    out.writeByte(value);
+                    out.writeShort(value);
+                    out.writeInt(value);
+                }
+            });
+            break;
+        case WRITE_VARIANTS:
+            write(blackhole, out -> {
+                for (int value : values) {
+                    out.writeByte(value, ValueType.A);
+                    out.writeByte(value, ValueType.C);
+                    out.writeShort(value, ValueType.A, ByteOrder.LITTLE);
+                    out.writeInt(value, ByteOrder.MIDDLE);
+                    out.writeInt(value, ByteOrder.INVERSE_MIDDLE);
+                }
+            });
+            break;
+        case WRITE_BITS:
+            write(blackhole, out -> {
+                out.startBitAccess();
+                for (int value : values) {
+                    out.writeBit(value < 0);
+                    out.writeBits(2, value);
+                    out.writeBits(5, value);
+                    out.writeBits(11, value);
+                }
+                out.finishBitAccess();
+            });
+            break;
+        case WRITE_STRING:
+            write(blackhole, out -> {
+                for (int i = 0; i < 4; i++) {
+                    out.writeString("Welcome to Asteria 2.0!");
+                }
+            });
+            break;
+        case READ_STANDARD:
+            read(blackhole, in -> {
+                int result = 0;
+                for (int i = 0; i < VALUES; i++) {
+                    result += in.readByte();
+                    result += in.readShort();
+                    result += in.readInt();
+                }
+                return result;
+            });
+            break;
+        case READ_VARIANTS:
+            read(blackhole, in -> {
+                int result = 0;
+                for (int i = 0; i < VALUES; i++) {
+                    result += in.readByte(ValueType.A);
+                    result += in.readByte(ValueType.C);
+                    result += in.readShort(ValueType.A, ByteOrder.LITTLE);
+                    result += in.readInt(ByteOrder.MIDDLE);
+                    result += in.readInt(ByteOrder.INVERSE_MIDDLE);
+                }
+                return result;
+            });
+            break;
+        }
+    }
+
+    /**
+     * Leases a protocol buffer, writes to it and then releases it.
+     * 
+     * @param blackhole
+     *            the blackhole that consumes results.
+     * @param writer
+     *            the writes to perform.
+     */
+    private void write(Blackhole blackhole, Consumer<ProtocolBuffer> writer) {
+        ProtocolBuffer out = new ProtocolBuffer(VALUES * 16);
+
+        try {
+            writer.accept(out);
+            blackhole.consume(out.getBuffer().position());
+        } finally {
+            out.release();
+        }
+    }
+
+    /**
+     * Wraps the data in a protocol buffer and reads from it.
+     * 
+     * @param blackhole
+     *            the blackhole that consumes results.
+     * @param reader
+     *            the reads to perform.
+     */
+    private void read(Blackhole blackhole,
+        ToIntFunction<ProtocolBuffer> reader) {
+        data.clear();
+        blackhole.consume(reader.applyAsInt(new ProtocolBuffer(data)));
+    }
+}
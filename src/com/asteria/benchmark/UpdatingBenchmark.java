@@ -0,0 +1,175 @@
+package com.asteria.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import com.asteria.util.Utility;
+import com.asteria.world.entity.Animation;
+import com.asteria.world.entity.Entity;
+import com.asteria.world.entity.EntityContainer;
+import com.asteria.world.entity.UpdateFlags.Flag;
+import com.asteria.world.entity.npc.Npc;
+import com.asteria.world.entity.npc.NpcDefinition;
+import com.asteria.world.entity.npc.NpcUpdating;
+import com.asteria.world.entity.player.Player;
+import com.asteria.world.entity.player.PlayerUpdating;
+import com.asteria.world.map.Position;
+import com.asteria.world.map.RegionManager;
+
+/**
+ * Benchmarks {@link PlayerUpdating} or {@link NpcUpdating} against a synthetic
+ * world of players on detached sessions. A single operation is a full update
+ * cycle: some entities take a step or flag an update, every player is updated
+ * on the calling thread, and then every entity is reset.
+ * 
+ * @author lare96
+ */
+public final class UpdatingBenchmark extends Microbenchmark {
+
+    /** The size of the square area entities are spread across. */
+    private static final int AREA_SIZE = 128;
+
+    /** The position of the south-west corner of the area. */
+    private static final Position AREA = new Position(3136, 3136);
+
+    /** The chance of an entity taking a step each cycle, out of ten. */
+    private static final int STEP_CHANCE = 3;
+
+    /** The chance of an entity flagging an update each cycle, out of ten. */
+    private static final int FLAG_CHANCE = 1;
+
+    /** The amount of players in the synthetic world. */
+    private final int size;
+
+    /** If npcs are updated rather than players. */
+    private final boolean npcUpdating;
+
+    /** The random generator used while running the benchmark. */
+    private Random random;
+
+    /** The players in the synthetic world. */
+    private EntityContainer<Player> players;
+
+    /** The players in the synthetic world, in the order they were added. */
+    private final List<Player> playerList = new ArrayList<>();
+
+    /** The npcs in the synthetic world. */
+    private EntityContainer<Npc> npcs;
+
+    /**
+     * Create a new {@link UpdatingBenchmark}.
+     * 
+     * @param size
+     *            the amount of players in the synthetic world.
+     * @param npcUpdating
+     *            if npcs are updated rather than players.
+     */
+    public UpdatingBenchmark(int size, boolean npcUpdating) {
+        super((npcUpdating ? "updating.npc." : "updating.player.") + size);
+        this.size = size;
+        this.npcUpdating = npcUpdating;
+    }
+
+    @Override
+    public void setup(Random random) throws Exception {
+        this.random = random;
+        players = new EntityContainer<>(size);
+        npcs = new EntityContainer<>(size);
+
+        for (int i = 0; i < size; i++) {
+            Player player = createPlayer("Bot " + i, randomPosition());
+            players.add(player);
+            playerList.add(player);
+        }
+
+        if (npcUpdating) {
+            int[] ids = npcIds();
+
+            for (int i = 0; i < size / 2; i++) {
+                npcs.add(new Npc(ids[random.nextInt(ids.length)],
+                    randomPosition()));
+            }
+        }
+    }
+
+    @Override
+    public void run(Blackhole blackhole) throws Exception {
+        if (npcUpdating) {
+            npcs.forEach(this::preUpdate);
+
+            for (Player player : playerList) {
+                NpcUpdating.update(player);
+                blackhole.consume(player.getNpcUpdateSize());
+            }
+        } else {
+            players.forEach(this::preUpdate);
+
+            for (Player player : playerList) {
+                PlayerUpdating.update(player);
+                blackhole.consume(player.getPlayerUpdateSize());
+            }
+        }
+
+        // Reset everything for the next cycle.
+        for (Player player : playerList) {
+            player.reset();
+            player.getUpdateBlockCache().clear();
+        }
+        npcs.forEach(Npc::reset);
+    }
+
+    @Override
+    public void teardown() throws Exception {
+        players.clear();
+        playerList.clear();
+        npcs.clear();
+    }
+
+    /**
+     * Randomly moves the argued entity a single step, and randomly flags an
+     * update for it.
+     * 
+     * @param entity
+     *            the entity to prepare for updating.
+     */
+    private void preUpdate(Entity entity) {
+        if (random.nextInt(10) < STEP_CHANCE) {
+            int direction = random.nextInt(Utility.DIRECTION_DELTA_X.length);
+            entity.getPosition().move(Utility.DIRECTION_DELTA_X[direction],
+                Utility.DIRECTION_DELTA_Y[direction]);
+            entity.setPrimaryDirection(direction);
+            RegionManager.update(entity);
+        }
+        if (random.nextInt(10) < FLAG_CHANCE) {
+            if (npcUpdating) {
+                entity.animation(new Animation(random.nextInt(1000)));
+            } else {
+                entity.getFlags().flag(Flag.APPEARANCE);
+            }
+        }
+    }
+
+    /**
+     * Generates a random position within the area.
+     * 
+     * @return the random position.
+     */
+    private Position randomPosition() {
+        return new Position(AREA.getX() + random.nextInt(AREA_SIZE),
+            AREA.getY() + random.nextInt(AREA_SIZE));
+    }
+
+    /**
+     * Gets the identifiers of all npcs that can be spawned without becoming
+     * aggressive.
+     * 
+     * @return the identifiers of the npcs.
+     */
+    private static int[] npcIds() {
+        return Arrays.stream(NpcDefinition.getDefinitions()).filter(
+            d -> d != null && !d.isAggressive()).mapToInt(
+            NpcDefinition::getId).toArray();
+    }
+}
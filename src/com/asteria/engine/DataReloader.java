@@ -0,0 +1,225 @@
+package com.asteria.engine;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.asteria.engine.metrics.Metrics;
+import com.asteria.util.ReloadableData;
+import com.asteria.util.Stopwatch;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Watches the files that {@link ReloadableData} is loaded from and reloads
+ * the data whenever one of them changes, without having to restart the
+ * server. <br>
+ * <br>
+ * 
+ * Changes are picked up by a single thread using a {@link WatchService}, which
+ * waits until nothing has changed for {@link #QUIET_PERIOD} milliseconds so a
+ * file that is saved in several writes is only reloaded once. The new data is
+ * then parsed and validated on that same thread, and if both succeed it is
+ * queued up to be swapped in by {@link #process()} at the start of the next
+ * cycle, so nothing on the game thread ever sees a mix of the old and new
+ * data. Every reload is logged whether it succeeded or not.
+ * 
+ * @author lare96
+ */
+public final class DataReloader {
+
+    /** The logger for printing information. */
+    private static Logger logger = Logger.getLogger(DataReloader.class.getSimpleName());
+
+    /** The time nothing has to change for before reloading, in milliseconds. */
+    public static final int QUIET_PERIOD = 500;
+
+    /** The data that can be reloaded, by the absolute path of its file. */
+    private static final Map<Path, ReloadableData<?>> files = new HashMap<>();
+
+    /** The reloaded data waiting to be swapped in on the game thread. */
+    private static final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+    /** The amount of reloads that have been swapped in. */
+    private static final LongAdder SWAPPED = Metrics.counter("data_reloads_total{result=\"swapped\"}");
+
+    /** The amount of reloads that failed to parse or validate. */
+    private static final LongAdder REJECTED = Metrics.counter("data_reloads_total{result=\"rejected\"}");
+
+    /** The service that watches the directories the files are in. */
+    private static WatchService service;
+
+    /**
+     * The default constructor, will throw an
+     * {@link UnsupportedOperationException} if instantiated.
+     */
+    private DataReloader() {
+        throw new UnsupportedOperationException(
+            "This class cannot be instantiated!");
+    }
+
+    /**
+     * Starts watching the files the argued data is loaded from. This method
+     * should only be called <b>once</b> when the server is launched, after
+     * the data has been loaded for the first time.
+     * 
+     * @param data
+     *            the data that can be reloaded.
+     * @throws IOException
+     *             if any errors occur while watching the files.
+     */
+    public static void init(ReloadableData<?>... data) throws IOException {
+        if (service != null) {
+            throw new IllegalStateException("The reloader is already running!");
+        }
+
+        service = FileSystems.getDefault().newWatchService();
+        Set<Path> directories = new LinkedHashSet<>();
+
+        for (ReloadableData<?> reloadable : data) {
+            Path path = Paths.get(reloadable.filePath()).toAbsolutePath().normalize();
+            files.put(path, reloadable);
+
+            if (directories.add(path.getParent())) {
+                path.getParent().register(service,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
+
+        new ThreadFactoryBuilder().setNameFormat("ReloadThread").setDaemon(
+            true).setPriority(Thread.MIN_PRIORITY).build().newThread(
+            DataReloader::watch).start();
+        logger.info("Watching " + files.size() + " files for changes!");
+    }
+
+    /**
+     * Swaps in all of the data that has been reloaded since the last cycle.
+     * This should be called once every cycle on the game thread, before
+     * anything else is processed.
+     */
+    public static void process() {
+        Runnable swap;
+
+        while ((swap = pending.poll()) != null) {
+            swap.run();
+        }
+    }
+
+    /**
+     * Waits for the watched files to change and reloads them, until the
+     * watch service is closed. Anything that goes wrong while handling a
+     * single change is logged, and the files carry on being watched.
+     */
+    private static void watch() {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Set<ReloadableData<?>> changed = new LinkedHashSet<>();
+
+                // Keep collecting changes until the files stop changing.
+                do {
+                    try {
+                        collect(key, changed);
+                    } catch (RuntimeException | Error e) {
+                        logger.log(Level.SEVERE, "Unable to handle changes in " + key.watchable() + "!", e);
+                    } finally {
+                        key.reset();
+                    }
+                } while ((key = service.poll(QUIET_PERIOD,
+                    TimeUnit.MILLISECONDS)) != null);
+
+                for (ReloadableData<?> data : changed) {
+                    try {
+                        reload(data);
+                    } catch (RuntimeException | Error e) {
+                        REJECTED.increment();
+                        logger.log(Level.SEVERE, "Unable to reload " + data.filePath() + ", keeping the data already in use!", e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.info("No longer watching files for changes!");
+        }
+    }
+
+    /**
+     * Adds the data of every file that changed according to the argued key to
+     * the argued set.
+     * 
+     * @param key
+     *            the key of the directory the files changed in.
+     * @param changed
+     *            the set to add the data of the changed files to.
+     */
+    private static void collect(WatchKey key, Set<ReloadableData<?>> changed) {
+        Path directory = (Path) key.watchable();
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                files.forEach((path, data) -> {
+                    if (path.getParent().equals(directory)) {
+                        changed.add(data);
+                    }
+                });
+                continue;
+            }
+
+            ReloadableData<?> data = files.get(directory.resolve(
+                (Path) event.context()));
+
+            if (data != null) {
+                changed.add(data);
+            }
+        }
+    }
+
+    /**
+     * Parses and validates the argued data, and queues it up to be swapped in
+     * if both succeed.
+     * 
+     * @param data
+     *            the data to reload.
+     */
+    private static <T> void reload(ReloadableData<T> data) {
+        Stopwatch timer = new Stopwatch().reset();
+        T table;
+
+        try {
+            table = data.parse();
+            data.validate(table);
+        } catch (Exception e) {
+            REJECTED.increment();
+            logger.log(Level.WARNING, "Rejected reload of " + data.filePath() + ", keeping the data already in use!", e);
+            return;
+        }
+
+        long parsed = timer.elapsed();
+        pending.add(() -> {
+            try {
+                data.swap(table);
+            } catch (Exception e) {
+                REJECTED.increment();
+                logger.log(Level.SEVERE, "Unable to swap in " + data.filePath() + "!", e);
+                return;
+            }
+            SWAPPED.increment();
+            logger.info("Reloaded " + data.filePath() + " [took " + parsed + "ms]");
+        });
+    }
+}
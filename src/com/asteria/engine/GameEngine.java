@@ -1,11 +1,19 @@
 package com.asteria.engine;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.logging.Logger;
 
+import com.asteria.engine.metrics.Histogram;
+import com.asteria.engine.metrics.Metrics;
 import com.asteria.engine.net.ServerEngine;
 import com.asteria.engine.task.TaskManager;
 import com.asteria.world.World;
@@ -20,6 +28,12 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
  */
 public final class GameEngine implements Runnable {
 
+    /** A logger for printing information. */
+    private static Logger logger = Logger.getLogger(GameEngine.class.getSimpleName());
+
+    /** The amount of time a single cycle is supposed to take, in milliseconds. */
+    public static final int CYCLE_RATE = 600;
+
     /** A sequential executor that acts as the main game thread. */
     private static ScheduledExecutorService gameExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat(
         "GameThread").setPriority(Thread.MAX_PRIORITY).build());
@@ -33,6 +47,45 @@ public final class GameEngine implements Runnable {
         1, 1, TimeUnit.MINUTES, new ThreadFactoryBuilder().setNameFormat(
             "ServiceThread").setPriority(Thread.MIN_PRIORITY));
 
+    /** The amount of cycles that have been executed. */
+    private static final AtomicLong cycles = new AtomicLong();
+
+    /** The time the last cycle took, in nanoseconds. */
+    private static volatile long cycleTime;
+
+    /** The listeners notified with the duration of every cycle. */
+    private static final List<LongConsumer> cycleListeners = new CopyOnWriteArrayList<>();
+
+    /** The time the last cycle started, in nanoseconds. */
+    private static long lastStart;
+
+    /** The durations of the task phase of every cycle. */
+    private static final Histogram TASKS_PHASE = Metrics.histogram("cycle_seconds{phase=\"tasks\"}");
+
+    /** The durations of the network phase of every cycle. */
+    private static final Histogram NETWORK_PHASE = Metrics.histogram("cycle_seconds{phase=\"network\"}");
+
+    /** The durations of the world phase of every cycle. */
+    private static final Histogram WORLD_PHASE = Metrics.histogram("cycle_seconds{phase=\"world\"}");
+
+    /** The durations of the flush phase of every cycle. */
+    private static final Histogram FLUSH_PHASE = Metrics.histogram("cycle_seconds{phase=\"flush\"}");
+
+    /** The durations of every cycle. */
+    private static final Histogram TOTAL = Metrics.histogram("cycle_seconds{phase=\"total\"}");
+
+    /** The time between the start of every cycle. */
+    private static final Histogram INTERVAL = Metrics.histogram("cycle_interval_seconds");
+
+    /** The amount of cycles that took longer than the cycle rate. */
+    private static final LongAdder OVERRUNS = Metrics.counter("cycle_overruns_total");
+
+    /**
+     * The amount of cycles that started less than half a cycle after the last
+     * one, because the executor was catching up after an overrun.
+     */
+    private static final LongAdder BUNCHED = Metrics.counter("cycle_bunched_total");
+
     /** The default constructor, can only be instantiated in this class. */
     private GameEngine() {}
 
@@ -41,31 +94,98 @@ public final class GameEngine implements Runnable {
      * method should only be called <b>once</b> when the server is launched.
      */
     public static void init() {
-        gameExecutor.scheduleAtFixedRate(new GameEngine(), 0, 600,
+        gameExecutor.scheduleAtFixedRate(new GameEngine(), 0, CYCLE_RATE,
             TimeUnit.MILLISECONDS);
     }
 
     @Override
     public void run() {
+        long start = System.nanoTime();
+
+        // Keep track of cycles being bunched together after an overrun.
+        if (lastStart != 0) {
+            INTERVAL.record(start - lastStart);
+
+            if (start - lastStart < TimeUnit.MILLISECONDS.toNanos(CYCLE_RATE / 2)) {
+                BUNCHED.increment();
+            }
+        }
+        lastStart = start;
+
         try {
+            long time = start;
+
+            // Swap in any data that was reloaded since the last cycle.
+            DataReloader.process();
 
             // Handle all cycle-based tasks.
             TaskManager.tick();
+            time = TASKS_PHASE.recordSince(time);
 
             // Handle all networking events.
             ServerEngine.tick();
+            time = NETWORK_PHASE.recordSince(time);
 
             // Handle processing for entities.
             World.tick();
+            time = WORLD_PHASE.recordSince(time);
+
+            // Write everything sent during this cycle to the clients.
+            ServerEngine.flush();
+            FLUSH_PHASE.recordSince(time);
         } catch (Exception e) {
 
             // Exceptions should never be thrown this far up, but if somehow
             // they are then we print the error and save all online players.
             e.printStackTrace();
             World.savePlayers();
+        } finally {
+
+            // Record how long the cycle took, and let us know if it took too
+            // long.
+            cycleTime = System.nanoTime() - start;
+            cycles.incrementAndGet();
+            cycleListeners.forEach(l -> l.accept(cycleTime));
+            TOTAL.record(cycleTime);
+
+            if (cycleTime > TimeUnit.MILLISECONDS.toNanos(CYCLE_RATE)) {
+                OVERRUNS.increment();
+                logger.warning("Game cycle overran by " + (TimeUnit.NANOSECONDS.toMillis(cycleTime) - CYCLE_RATE) + "ms! " + World.getTimings());
+            }
         }
     }
 
+    /**
+     * Adds a listener that will be notified on the game thread with the
+     * duration of every cycle, in nanoseconds.
+     * 
+     * @param listener
+     *            the listener to add.
+     */
+    public static void addCycleListener(LongConsumer listener) {
+        cycleListeners.add(listener);
+    }
+
+    /**
+     * Gets the amount of cycles that have been executed.
+     * 
+     * @return the amount of cycles.
+     */
+    public static long getCycles() {
+        return cycles.get();
+    }
+
+    /**
+     * Gets the time the last cycle took.
+     * 
+     * @param unit
+     *            the unit to get the time in.
+     * @return the time the last cycle took.
+     */
+    public static long getCycleTime(TimeUnit unit) {
+        return unit.convert(cycleTime, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * Creates a new {@link ThreadPoolExecutor} with the specified
      * {@link ThreadFactoryBuilder} and timeout values. All thread pools created
@@ -0,0 +1,154 @@
+package com.asteria.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import com.asteria.util.Stopwatch;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Runs the tasks that load everything the server needs before it can come
+ * online. Every task is given a name and the names of the tasks it depends
+ * on, and is started as soon as all of those have finished, so tasks that
+ * don't depend on each other are run concurrently. A task has to be submitted
+ * after every task it depends on, which means there can never be a cycle. <br>
+ * <br>
+ * 
+ * Tasks are run on a pool of {@link #THREAD_COUNT} threads, and the time each
+ * one took is printed as it finishes. Everything a task does is visible to the
+ * thread that called {@link #await()} once it returns.
+ * 
+ * @author lare96
+ */
+public final class StartupLoader {
+
+    /** The logger for printing information. */
+    private static Logger logger = Logger.getLogger(StartupLoader.class.getSimpleName());
+
+    /** The amount of threads the tasks are run on. */
+    public static final int THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+
+    /** The thread pool the tasks are run on. */
+    private final ThreadPoolExecutor executor = GameEngine.createThreadPool(
+        THREAD_COUNT, 1, TimeUnit.MINUTES, new ThreadFactoryBuilder().setNameFormat("StartupThread-%d"));
+
+    /** The tasks that have been submitted, by name. */
+    private final Map<String, CompletableFuture<Void>> tasks = new LinkedHashMap<>();
+
+    /** The stopwatch for timing how long all of the tasks take. */
+    private final Stopwatch timer = new Stopwatch().reset();
+
+    /**
+     * Submits a task that will be run once every task it depends on has
+     * finished. If any of those fail, this task won't be run at all.
+     * 
+     * @param name
+     *            the name of the task, used for printing and dependencies.
+     * @param task
+     *            the task to run.
+     * @param dependencies
+     *            the names of the tasks that have to finish first.
+     * @return this loader, for chaining.
+     * @throws IllegalArgumentException
+     *             if a task with the same name was already submitted, or one
+     *             of the dependencies hasn't been submitted yet.
+     */
+    public StartupLoader submit(String name, StartupTask task,
+        String... dependencies) {
+        if (tasks.containsKey(name)) {
+            throw new IllegalArgumentException(
+                "Duplicate startup task: " + name);
+        }
+
+        CompletableFuture<?>[] waitFor = new CompletableFuture<?>[dependencies.length];
+
+        for (int i = 0; i < dependencies.length; i++) {
+            waitFor[i] = tasks.get(dependencies[i]);
+
+            if (waitFor[i] == null) {
+                throw new IllegalArgumentException(
+                    "Startup task " + name + " depends on " + dependencies[i] + ", which hasn't been submitted!");
+            }
+        }
+
+        tasks.put(name, CompletableFuture.allOf(waitFor).thenRunAsync(
+            () -> run(name, task), executor));
+        return this;
+    }
+
+    /**
+     * Waits for every submitted task to finish, then shuts down the threads
+     * they were run on. No more tasks can be submitted afterwards.
+     * 
+     * @throws Exception
+     *             the exception thrown by the first task that failed, in the
+     *             order the tasks were submitted.
+     */
+    public void await() throws Exception {
+        try {
+            CompletableFuture.allOf(tasks.values().toArray(
+                new CompletableFuture<?>[tasks.size()])).get();
+        } catch (ExecutionException e) {
+            for (CompletableFuture<Void> task : tasks.values()) {
+                if (task.isCompletedExceptionally()) {
+                    try {
+                        task.join();
+                    } catch (CompletionException failure) {
+                        if (failure.getCause() instanceof Error) {
+                            throw (Error) failure.getCause();
+                        }
+                        throw (Exception) failure.getCause();
+                    }
+                }
+            }
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+        logger.info("Ran " + tasks.size() + " startup tasks on " + THREAD_COUNT + " threads [took " + timer.elapsed() + "ms]");
+    }
+
+    /**
+     * Runs a single task and prints how long it took.
+     * 
+     * @param name
+     *            the name of the task.
+     * @param task
+     *            the task to run.
+     * @throws CompletionException
+     *             if the task threw an exception, which is the cause.
+     */
+    private static void run(String name, StartupTask task) {
+        Stopwatch watch = new Stopwatch().reset();
+
+        try {
+            task.run();
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+        logger.info("Loaded " + name + " [took " + watch.elapsed() + "ms]");
+    }
+
+    /**
+     * A single task run by the {@link StartupLoader}.
+     * 
+     * @author lare96
+     */
+    @FunctionalInterface
+    public interface StartupTask {
+
+        /**
+         * Runs this task.
+         * 
+         * @throws Exception
+         *             if any errors occur while running this task.
+         */
+        public void run() throws Exception;
+    }
+}
@@ -0,0 +1,146 @@
+package com.asteria.engine.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations, which counts how many recorded durations fall
+ * into each of a fixed set of buckets. Recording is lock-free and can be done
+ * from any thread, so histograms are cheap enough to record every cycle.
+ * Percentiles are estimated from the buckets, so they are only as precise as
+ * the bucket bounds.
+ * 
+ * @author lare96
+ */
+public final class Histogram {
+
+    /** The upper bounds of every bucket, in milliseconds. */
+    public static final long[] BOUNDS = { 1, 2, 5, 10, 20, 50, 100, 200, 300,
+            400, 500, 600, 800, 1000, 2000, 5000 };
+
+    /**
+     * The amount of durations within each bucket. The last bucket holds every
+     * duration larger than the largest bound.
+     */
+    private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+
+    /** The sum of every duration recorded, in nanoseconds. */
+    private final LongAdder sum = new LongAdder();
+
+    /** The largest duration recorded, in nanoseconds. */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /** Create a new {@link Histogram}. */
+    public Histogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a duration.
+     * 
+     * @param nanos
+     *            the duration to record, in nanoseconds.
+     */
+    public void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+
+        while (bucket < BOUNDS.length && millis >= BOUNDS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /**
+     * Records the duration from the argued start time until now.
+     * 
+     * @param start
+     *            the value of {@link System#nanoTime()} when timing started.
+     * @return the value of {@link System#nanoTime()} now.
+     */
+    public long recordSince(long start) {
+        long now = System.nanoTime();
+        record(now - start);
+        return now;
+    }
+
+    /**
+     * Gets the amount of durations within the argued bucket.
+     * 
+     * @param bucket
+     *            the index of the bucket.
+     * @return the amount of durations within the bucket.
+     */
+    public long getBucket(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    /**
+     * Gets the amount of durations recorded.
+     * 
+     * @return the amount of durations recorded.
+     */
+    public long getCount() {
+        long count = 0;
+
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the sum of every duration recorded.
+     * 
+     * @param unit
+     *            the unit to get the sum in.
+     * @return the sum of every duration.
+     */
+    public long getSum(TimeUnit unit) {
+        return unit.convert(sum.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the largest duration recorded.
+     * 
+     * @param unit
+     *            the unit to get the duration in.
+     * @return the largest duration.
+     */
+    public long getMax(TimeUnit unit) {
+        return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Estimates the argued percentile of every duration recorded, using the
+     * upper bound of the bucket the percentile falls into.
+     * 
+     * @param percentile
+     *            the percentile, between <tt>0</tt> and <tt>1</tt>.
+     * @return the estimated duration, in milliseconds.
+     */
+    public long getPercentile(double percentile) {
+        long count = getCount();
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long target = (long) Math.ceil(percentile * count);
+        long seen = 0;
+
+        for (int i = 0; i < BOUNDS.length; i++) {
+            seen += buckets[i].sum();
+
+            if (seen >= target) {
+                return BOUNDS[i];
+            }
+        }
+        return getMax(TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,266 @@
+package com.asteria.engine.metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.ObjectName;
+
+import com.asteria.engine.GameEngine;
+import com.asteria.engine.net.BufferPool;
+import com.asteria.engine.task.TaskManager;
+import com.asteria.world.World;
+
+/**
+ * The registry of every counter, gauge and histogram this server keeps track
+ * of. Metrics are identified by their name, which may include labels in the
+ * form <code>name{label="value"}</code>, and can be read by ops through JMX or
+ * scraped in the Prometheus text format from the {@link MetricsServer}.<br>
+ * <br>
+ * Looking a metric up by name is not free, so metrics that are updated often
+ * should be looked up once and kept in a field.
+ * 
+ * @author lare96
+ */
+public final class Metrics {
+
+    /** A logger for printing information. */
+    private static Logger logger = Logger.getLogger(Metrics.class.getSimpleName());
+
+    /** The prefix added to the name of every metric when scraped. */
+    private static final String PREFIX = "asteria_";
+
+    /** The port the metrics server listens on, or <tt>-1</tt> to disable it. */
+    private static final int PORT = 43595;
+
+    /** The name the metrics are registered to JMX under. */
+    private static final String OBJECT_NAME = "com.asteria:type=Metrics";
+
+    /** All of the counters, by their names. */
+    private static final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+
+    /** All of the gauges, by their names. */
+    private static final Map<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+
+    /** All of the histograms, by their names. */
+    private static final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+
+    /**
+     * The default constructor, will throw an
+     * {@link UnsupportedOperationException} if instantiated.
+     */
+    private Metrics() {
+        throw new UnsupportedOperationException(
+            "This class cannot be instantiated!");
+    }
+
+    /**
+     * Registers the metrics to JMX and starts the metrics server. This method
+     * should only be called <b>once</b> when the server is launched.
+     */
+    public static void init() {
+
+        // Keep track of the garbage collector.
+        gauge("gc_collections_total", () -> ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(
+            GarbageCollectorMXBean::getCollectionCount).sum());
+        gauge("gc_time_milliseconds_total", () -> ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(
+            GarbageCollectorMXBean::getCollectionTime).sum());
+        gauge("heap_used_bytes", () -> ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+
+        // Keep track of the state of the server.
+        gauge("cycles_total", GameEngine::getCycles);
+        gauge("players_online", () -> World.getPlayers().size());
+        gauge("npcs_registered", () -> World.getNpcs().size());
+        gauge("tasks_active", TaskManager::getActiveCount);
+        gauge("tasks_pending", () -> TaskManager.retrievePendingtasks().size());
+        gauge("buffers_idle", BufferPool::getIdleBuffers);
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                new MetricsBean(), new ObjectName(OBJECT_NAME));
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Unable to register metrics to JMX!", e);
+        }
+
+        if (PORT != -1) {
+            try {
+                MetricsServer.start(PORT);
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Unable to start the metrics server!", e);
+            }
+        }
+    }
+
+    /**
+     * Gets the counter with the argued name, creating it if it doesn't exist
+     * yet.
+     * 
+     * @param name
+     *            the name of the counter.
+     * @return the counter.
+     */
+    public static LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, n -> new LongAdder());
+    }
+
+    /**
+     * Gets the histogram with the argued name, creating it if it doesn't
+     * exist yet.
+     * 
+     * @param name
+     *            the name of the histogram.
+     * @return the histogram.
+     */
+    public static Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    /**
+     * Registers a gauge, whose value is read from the argued supplier every
+     * time it is scraped. The supplier may be called from any thread.
+     * 
+     * @param name
+     *            the name of the gauge.
+     * @param supplier
+     *            the supplier of the gauge's value.
+     */
+    public static void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Writes every metric in the Prometheus text format.
+     * 
+     * @return the metrics as text.
+     */
+    public static String scrape() {
+        StringBuilder sb = new StringBuilder();
+        String lastType = null;
+
+        for (Map.Entry<String, LongAdder> e : counters.entrySet()) {
+            lastType = type(sb, lastType, e.getKey(), "counter");
+            sb.append(PREFIX).append(e.getKey()).append(' ').append(
+                e.getValue().sum()).append('\n');
+        }
+        for (Map.Entry<String, LongSupplier> e : gauges.entrySet()) {
+            lastType = type(sb, lastType, e.getKey(), "gauge");
+            sb.append(PREFIX).append(e.getKey()).append(' ').append(
+                e.getValue().getAsLong()).append('\n');
+        }
+        for (Map.Entry<String, Histogram> e : histograms.entrySet()) {
+            lastType = type(sb, lastType, e.getKey(), "histogram");
+            Histogram histogram = e.getValue();
+            long cumulative = 0;
+
+            for (int i = 0; i <= Histogram.BOUNDS.length; i++) {
+                cumulative += histogram.getBucket(i);
+                String le = i == Histogram.BOUNDS.length ? "+Inf"
+                    : Double.toString(Histogram.BOUNDS[i] / 1000D);
+                sb.append(PREFIX).append(name(e.getKey(), "_bucket",
+                    "le=\"" + le + "\"")).append(' ').append(cumulative).append(
+                    '\n');
+            }
+            sb.append(PREFIX).append(name(e.getKey(), "_sum", null)).append(
+                ' ').append(String.format(Locale.ROOT, "%.6f",
+                histogram.getSum(TimeUnit.MICROSECONDS) / 1_000_000D)).append(
+                '\n');
+            sb.append(PREFIX).append(name(e.getKey(), "_count", null)).append(
+                ' ').append(histogram.getCount()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Gets all of the counters, by their names.
+     * 
+     * @return the counters.
+     */
+    static Map<String, LongAdder> getCounters() {
+        return counters;
+    }
+
+    /**
+     * Gets all of the gauges, by their names.
+     * 
+     * @return the gauges.
+     */
+    static Map<String, LongSupplier> getGauges() {
+        return gauges;
+    }
+
+    /**
+     * Gets all of the histograms, by their names.
+     * 
+     * @return the histograms.
+     */
+    static Map<String, Histogram> getHistograms() {
+        return histograms;
+    }
+
+    /**
+     * Writes the type line for a metric, if it's the first metric with its
+     * base name.
+     * 
+     * @param sb
+     *            the builder to write the type line to.
+     * @param lastType
+     *            the base name of the last metric written.
+     * @param name
+     *            the name of the metric.
+     * @param type
+     *            the type of the metric.
+     * @return the base name of the metric.
+     */
+    private static String type(StringBuilder sb, String lastType, String name,
+        String type) {
+        String base = baseName(name);
+
+        if (!base.equals(lastType)) {
+            sb.append("# TYPE ").append(PREFIX).append(base).append(' ').append(
+                type).append('\n');
+        }
+        return base;
+    }
+
+    /**
+     * Gets the name of a metric without its labels.
+     * 
+     * @param name
+     *            the name of the metric.
+     * @return the name without labels.
+     */
+    static String baseName(String name) {
+        int labels = name.indexOf('{');
+        return labels == -1 ? name : name.substring(0, labels);
+    }
+
+    /**
+     * Adds a suffix and an extra label to the name of a metric.
+     * 
+     * @param name
+     *            the name of the metric.
+     * @param suffix
+     *            the suffix to add to the base name.
+     * @param label
+     *            the extra label to add, or <code>null</code> for none.
+     * @return the new name.
+     */
+    private static String name(String name, String suffix, String label) {
+        int labels = name.indexOf('{');
+        String base = labels == -1 ? name : name.substring(0, labels);
+        String existing = labels == -1 ? "" : name.substring(labels + 1,
+            name.length() - 1);
+
+        if (label != null) {
+            existing = existing.isEmpty() ? label : existing + "," + label;
+        }
+        return base + suffix + (existing.isEmpty() ? "" : "{" + existing + "}");
+    }
+}
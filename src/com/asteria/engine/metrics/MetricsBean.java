@@ -0,0 +1,140 @@
+package com.asteria.engine.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+
+/**
+ * A {@link DynamicMBean} that exposes every metric in the {@link Metrics}
+ * registry as a read-only JMX attribute. Histograms are exposed as several
+ * attributes: their count, mean, estimated percentiles and maximum.
+ * 
+ * @author lare96
+ */
+public final class MetricsBean implements DynamicMBean {
+
+    @Override
+    public Object getAttribute(String attribute)
+        throws AttributeNotFoundException {
+        for (String name : Metrics.getCounters().keySet()) {
+            if (attribute.equals(sanitize(name))) {
+                return Metrics.getCounters().get(name).sum();
+            }
+        }
+        for (String name : Metrics.getGauges().keySet()) {
+            if (attribute.equals(sanitize(name))) {
+                return Metrics.getGauges().get(name).getAsLong();
+            }
+        }
+        for (String name : Metrics.getHistograms().keySet()) {
+            String prefix = sanitize(name) + ".";
+
+            if (!attribute.startsWith(prefix)) {
+                continue;
+            }
+
+            Histogram histogram = Metrics.getHistograms().get(name);
+
+            switch (attribute.substring(prefix.length())) {
+            case "count":
+                return histogram.getCount();
+            case "mean_ms":
+                return histogram.getCount() == 0 ? 0L
+                    : histogram.getSum(TimeUnit.MILLISECONDS) / histogram.getCount();
+            case "p50_ms":
+                return histogram.getPercentile(0.5);
+            case "p99_ms":
+                return histogram.getPercentile(0.99);
+            case "max_ms":
+                return histogram.getMax(TimeUnit.MILLISECONDS);
+            }
+        }
+        throw new AttributeNotFoundException(attribute);
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) {
+        throw new UnsupportedOperationException("Metrics are read-only!");
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList list = new AttributeList();
+
+        for (String attribute : attributes) {
+            try {
+                list.add(new Attribute(attribute, getAttribute(attribute)));
+            } catch (AttributeNotFoundException e) {
+                // Leave out attributes that no longer exist.
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException("Metrics have no operations!");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+
+        for (String name : Metrics.getCounters().keySet()) {
+            attributes.add(attribute(sanitize(name), "The counter " + name));
+        }
+        for (String name : Metrics.getGauges().keySet()) {
+            attributes.add(attribute(sanitize(name), "The gauge " + name));
+        }
+        for (String name : Metrics.getHistograms().keySet()) {
+            for (String suffix : new String[] { "count", "mean_ms", "p50_ms",
+                    "p99_ms", "max_ms" }) {
+                attributes.add(attribute(sanitize(name) + "." + suffix,
+                    "The " + suffix + " of the histogram " + name));
+            }
+        }
+        return new MBeanInfo(getClass().getName(), "Asteria server metrics",
+            attributes.toArray(new MBeanAttributeInfo[attributes.size()]),
+            null, new MBeanOperationInfo[0], null);
+    }
+
+    /**
+     * Creates the information for a read-only attribute.
+     * 
+     * @param name
+     *            the name of the attribute.
+     * @param description
+     *            the description of the attribute.
+     * @return the attribute information.
+     */
+    private static MBeanAttributeInfo attribute(String name, String description) {
+        return new MBeanAttributeInfo(name, "java.lang.Long", description,
+            true, false, false);
+    }
+
+    /**
+     * Turns the name of a metric into a JMX attribute name by replacing the
+     * label syntax, so <code>name{label="value"}</code> becomes
+     * <code>name.label.value</code>.
+     * 
+     * @param name
+     *            the name of the metric.
+     * @return the attribute name.
+     */
+    private static String sanitize(String name) {
+        return name.replaceAll("[{,=]", ".").replaceAll("[\"}]", "");
+    }
+}
@@ -0,0 +1,120 @@
+package com.asteria.engine.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import com.asteria.engine.GameEngine;
+import com.asteria.engine.net.Session;
+import com.asteria.world.World;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A lightweight HTTP server that only listens on the loopback address and
+ * serves the following pages as plain text:
+ * <ul>
+ * <li><code>/metrics</code>: every metric, in the Prometheus text format.</li>
+ * <li><code>/sessions</code>: the traffic of every online player's session.</li>
+ * </ul>
+ * The player list can't be touched off the game thread, so the sessions that
+ * are online are copied on the game thread at the end of every cycle and the
+ * <code>/sessions</code> page is written from that copy.
+ * 
+ * @author lare96
+ */
+public final class MetricsServer {
+
+    /** A logger for printing information. */
+    private static Logger logger = Logger.getLogger(MetricsServer.class.getSimpleName());
+
+    /** The sessions that were online at the end of the last cycle. */
+    private static volatile List<Session> sessions = Collections.emptyList();
+
+    /**
+     * The default constructor, will throw an
+     * {@link UnsupportedOperationException} if instantiated.
+     */
+    private MetricsServer() {
+        throw new UnsupportedOperationException(
+            "This class cannot be instantiated!");
+    }
+
+    /**
+     * Starts the metrics server on the argued port.
+     * 
+     * @param port
+     *            the port to listen on.
+     * @throws IOException
+     *             if the server cannot be started.
+     */
+    static void start(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(
+            InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", e -> respond(e, Metrics::scrape));
+        server.createContext("/sessions", e -> respond(e,
+            MetricsServer::sessions));
+        server.setExecutor(Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(
+            "MetricsThread").setPriority(Thread.MIN_PRIORITY).setDaemon(true).build()));
+        server.start();
+        GameEngine.addCycleListener(t -> snapshot());
+        logger.info("Serving metrics on http://localhost:" + port + "/metrics");
+    }
+
+    /**
+     * Copies the sessions of every online player. This is called on the game
+     * thread at the end of every cycle.
+     */
+    private static void snapshot() {
+        List<Session> online = new ArrayList<>(World.getPlayers().size());
+        World.getPlayers().forEach(p -> online.add(p.getSession()));
+        sessions = Collections.unmodifiableList(online);
+    }
+
+    /**
+     * Writes the traffic of every session that was online at the end of the
+     * last cycle.
+     * 
+     * @return the traffic as text.
+     */
+    private static String sessions() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-14s %-16s %14s %14s%n", "player", "host",
+            "bytes_in", "bytes_out"));
+        sessions.forEach(s -> sb.append(String.format(
+            "%-14s %-16s %14d %14d%n", s.getPlayer().getUsername(),
+            s.getHost(), s.getBytesIn(), s.getBytesOut())));
+        return sb.toString();
+    }
+
+    /**
+     * Responds to an exchange with the argued text.
+     * 
+     * @param exchange
+     *            the exchange to respond to.
+     * @param text
+     *            the supplier of the text to respond with.
+     * @throws IOException
+     *             if any errors occur while responding.
+     */
+    private static void respond(HttpExchange exchange, Supplier<String> text)
+        throws IOException {
+        byte[] body = text.get().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type",
+            "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
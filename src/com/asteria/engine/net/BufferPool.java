@@ -0,0 +1,137 @@
+package com.asteria.engine.net;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A bounded pool of reusable direct byte buffers that back
+ * {@link ProtocolBuffer}s. Buffers are grouped into power-of-two size classes,
+ * and each size class holds at most {@link #BUFFERS_PER_CLASS} idle buffers.
+ * The pool is shared by all threads rather than being thread local because
+ * buffers are routinely leased on one thread (the update threads) and released
+ * on another.
+ * 
+ * @author lare96
+ */
+public final class BufferPool {
+
+    /** The smallest size class, buffers smaller than this are rounded up. */
+    private static final int MIN_SIZE_CLASS = 6;
+
+    /**
+     * The largest size class, buffers larger than this are allocated on the
+     * heap and never pooled.
+     */
+    private static final int MAX_SIZE_CLASS = 16;
+
+    /** The maximum amount of idle buffers held in a single size class. */
+    private static final int BUFFERS_PER_CLASS = 512;
+
+    /** The idle buffers for every size class. */
+    private static final Queue<ByteBuffer>[] pool = createPool();
+
+    /**
+     * The default constructor, will throw an
+     * {@link UnsupportedOperationException} if instantiated.
+     */
+    private BufferPool() {
+        throw new UnsupportedOperationException(
+            "This class cannot be instantiated!");
+    }
+
+    /**
+     * Leases a cleared buffer with at least the argued capacity from the pool,
+     * allocating a new one if none are idle. The buffer should be handed back
+     * with {@link #release(ByteBuffer)} once it is no longer needed.
+     * 
+     * @param capacity
+     *            the minimum capacity of the buffer.
+     * @return the leased buffer.
+     */
+    public static ByteBuffer lease(int capacity) {
+        int sizeClass = sizeClass(capacity);
+
+        if (sizeClass > MAX_SIZE_CLASS) {
+            return ByteBuffer.allocate(capacity);
+        }
+
+        ByteBuffer buffer = pool[sizeClass].poll();
+
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(1 << sizeClass);
+        }
+
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Hands a leased buffer back to the pool. Buffers that were not leased from
+     * this pool, or that do not fit into a full size class, are left for the
+     * garbage collector. The buffer must not be used again once it has been
+     * released.
+     * 
+     * @param buffer
+     *            the buffer to release.
+     */
+    public static void release(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+
+        if (!buffer.isDirect() || Integer.bitCount(capacity) != 1) {
+            return;
+        }
+
+        int sizeClass = Integer.numberOfTrailingZeros(capacity);
+
+        if (sizeClass < MIN_SIZE_CLASS || sizeClass > MAX_SIZE_CLASS) {
+            return;
+        }
+        pool[sizeClass].offer(buffer);
+    }
+
+    /**
+     * Gets the amount of idle buffers currently held by the pool.
+     * 
+     * @return the amount of idle buffers.
+     */
+    public static int getIdleBuffers() {
+        int idle = 0;
+
+        for (int i = MIN_SIZE_CLASS; i <= MAX_SIZE_CLASS; i++) {
+            idle += pool[i].size();
+        }
+        return idle;
+    }
+
+    /**
+     * Determines the size class that a buffer of the argued capacity belongs
+     * to.
+     * 
+     * @param capacity
+     *            the capacity of the buffer.
+     * @return the size class, which is the exponent of the smallest power of
+     *         two that can hold the capacity.
+     */
+    private static int sizeClass(int capacity) {
+        if (capacity <= (1 << MIN_SIZE_CLASS)) {
+            return MIN_SIZE_CLASS;
+        }
+        return 32 - Integer.numberOfLeadingZeros(capacity - 1);
+    }
+
+    /**
+     * Creates the idle buffer queues for every size class.
+     * 
+     * @return the idle buffer queues.
+     */
+    @SuppressWarnings("unchecked")
+    private static Queue<ByteBuffer>[] createPool() {
+        Queue<ByteBuffer>[] pool = (Queue<ByteBuffer>[]) new Queue<?>[MAX_SIZE_CLASS + 1];
+
+        for (int i = MIN_SIZE_CLASS; i <= MAX_SIZE_CLASS; i++) {
+            pool[i] = new ArrayBlockingQueue<>(BUFFERS_PER_CLASS);
+        }
+        return pool;
+    }
+}
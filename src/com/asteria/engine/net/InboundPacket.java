@@ -0,0 +1,66 @@
+package com.asteria.engine.net;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A packet that has been framed by the networking threads and is waiting in a
+ * {@link Session}'s inbound queue to be decoded on the game thread.
+ * 
+ * @author lare96
+ */
+public final class InboundPacket {
+
+    /** The decrypted opcode of this packet. */
+    private final int opcode;
+
+    /** The length of this packet's payload. */
+    private final int length;
+
+    /** A slice of the data read from the socket containing the payload. */
+    private final ByteBuffer payload;
+
+    /**
+     * Create a new {@link InboundPacket}.
+     * 
+     * @param opcode
+     *            the decrypted opcode of this packet.
+     * @param length
+     *            the length of this packet's payload.
+     * @param payload
+     *            a slice of the data read from the socket containing the
+     *            payload.
+     */
+    public InboundPacket(int opcode, int length, ByteBuffer payload) {
+        this.opcode = opcode;
+        this.length = length;
+        this.payload = payload;
+    }
+
+    /**
+     * Gets the decrypted opcode of this packet.
+     * 
+     * @return the opcode.
+     */
+    public int getOpcode() {
+        return opcode;
+    }
+
+    /**
+     * Gets the length of this packet's payload.
+     * 
+     * @return the length.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the slice of the data read from the socket containing this packet's
+     * payload.
+     * 
+     * @return the payload.
+     */
+    public ByteBuffer getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,172 @@
+package com.asteria.engine.net;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.asteria.engine.GameEngine;
+import com.asteria.engine.net.Session.Stage;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * An asynchronous login pipeline that decodes login blocks and loads character
+ * files on a dedicated pool of worker threads. Once a login has been decoded
+ * the session is handed back to the game thread through a bounded queue, which
+ * is drained once every cycle by {@link ServerEngine}. This keeps the
+ * expensive RSA decoding and blocking file reads off of the game thread, so a
+ * large amount of players logging in at once cannot stall the game cycle.
+ * 
+ * @author lare96
+ */
+public final class LoginService {
+
+    /** A logger for printing information. */
+    private static Logger logger = Logger.getLogger(LoginService.class.getSimpleName());
+
+    /** The amount of worker threads that will decode logins. */
+    private static final int LOGIN_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    /** The maximum amount of logins that will be admitted every cycle. */
+    private static final int LOGINS_PER_CYCLE = 50;
+
+    /**
+     * The maximum amount of decoded logins that can be waiting for the game
+     * thread. Login workers will block once this limit has been reached.
+     */
+    private static final int LOGIN_QUEUE_CAPACITY = 500;
+
+    /** The thread pool that will decode logins and load character files. */
+    private static ExecutorService loginExecutor = GameEngine.createThreadPool(
+        LOGIN_THREADS, 1, TimeUnit.MINUTES, new ThreadFactoryBuilder().setNameFormat(
+            "LoginThread").setPriority(Thread.NORM_PRIORITY));
+
+    /** The decoded logins waiting to be admitted by the game thread. */
+    private static BlockingQueue<LoginRequest> decodedLogins = new LinkedBlockingQueue<>(
+        LOGIN_QUEUE_CAPACITY);
+
+    /**
+     * The default constructor, will throw an
+     * {@link UnsupportedOperationException} if instantiated.
+     */
+    private LoginService() {
+        throw new UnsupportedOperationException(
+            "This class cannot be instantiated!");
+    }
+
+    /**
+     * Submits the argued login block to be decoded asynchronously by the login
+     * workers. The session must be in the {@link Stage#AUTHENTICATING} stage
+     * before being submitted.
+     * 
+     * @param session
+     *            the session that is logging in.
+     * @param block
+     *            the login block read from the session.
+     */
+    public static void submit(Session session, byte[] block) {
+        loginExecutor.execute(() -> {
+            int response;
+
+            try {
+                response = session.decodeLogin(block);
+            } catch (Exception e) {
+                logger.log(Level.WARNING,
+                    "Error while decoding login for " + session, e);
+                response = Session.LOGIN_RESPONSE_DROP;
+            }
+
+            try {
+                decodedLogins.put(new LoginRequest(session, response));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Admits up to {@link #LOGINS_PER_CYCLE} decoded logins into the game. Any
+     * logins left over will be admitted on the next cycle. This method should
+     * only ever be called on the game thread.
+     */
+    public static void drain() {
+        LoginRequest request;
+        int admitted = 0;
+
+        while (admitted < LOGINS_PER_CYCLE && (request = decodedLogins.poll()) != null) {
+            try {
+                request.getSession().finishLogin(request.getResponse());
+            } catch (Exception e) {
+                e.printStackTrace();
+                request.getSession().disconnect();
+            }
+            admitted++;
+        }
+    }
+
+    /**
+     * Gets the amount of decoded logins waiting to be admitted.
+     * 
+     * @return the amount of decoded logins.
+     */
+    public static int getPendingLogins() {
+        return decodedLogins.size();
+    }
+
+    /**
+     * Gets the thread pool that decodes logins.
+     * 
+     * @return the thread pool that decodes logins.
+     */
+    public static ExecutorService getLoginExecutor() {
+        return loginExecutor;
+    }
+
+    /**
+     * A login that has been decoded by a login worker and is waiting to be
+     * admitted by the game thread.
+     * 
+     * @author lare96
+     */
+    private static final class LoginRequest {
+
+        /** The session that is logging in. */
+        private final Session session;
+
+        /** The response code determined by the login worker. */
+        private final int response;
+
+        /**
+         * Create a new {@link LoginRequest}.
+         * 
+         * @param session
+         *            the session that is logging in.
+         * @param response
+         *            the response code determined by the login worker.
+         */
+        public LoginRequest(Session session, int response) {
+            this.session = session;
+            this.response = response;
+        }
+
+        /**
+         * Gets the session that is logging in.
+         * 
+         * @return the session.
+         */
+        public Session getSession() {
+            return session;
+        }
+
+        /**
+         * Gets the response code determined by the login worker.
+         * 
+         * @return the response code.
+         */
+        public int getResponse() {
+            return response;
+        }
+    }
+}
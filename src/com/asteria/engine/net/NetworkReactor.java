@@ -0,0 +1,145 @@
+package com.asteria.engine.net;
+
+import java.io.IOException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A dedicated networking thread that blocks on its own {@link Selector} and
+ * handles network events as soon as they are received, completely independent
+ * of the game cycle. Incoming data is framed into each {@link Session}'s
+ * inbound queue so it can be decoded on the game thread, and queued outgoing
+ * data is flushed as soon as the socket becomes writable.
+ * 
+ * @author lare96
+ */
+public final class NetworkReactor implements Runnable {
+
+    /** A logger for printing information. */
+    private static Logger logger = Logger.getLogger(NetworkReactor.class.getSimpleName());
+
+    /** The selector that selects keys ready to receive network events. */
+    private final Selector selector;
+
+    /** The connections waiting to be registered with the selector. */
+    private final Queue<SocketChannel> pendingConnections = new ConcurrentLinkedQueue<>();
+
+    /** If this reactor should keep running. */
+    private volatile boolean running = true;
+
+    /**
+     * Create a new {@link NetworkReactor}.
+     * 
+     * @throws IOException
+     *             if the selector could not be opened.
+     */
+    public NetworkReactor() throws IOException {
+        this.selector = Selector.open();
+    }
+
+    /**
+     * Registers the server socket with this reactor so that it will accept
+     * incoming connections. The server socket must be in non-blocking mode.
+     * 
+     * @param server
+     *            the server socket to accept connections from.
+     * @throws IOException
+     *             if the server socket could not be registered.
+     */
+    public void acceptFrom(ServerSocketChannel server) throws IOException {
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Queues a newly accepted connection to be registered with this reactor.
+     * This method is safe to call from any thread.
+     * 
+     * @param socket
+     *            the connection to register.
+     */
+    public void register(SocketChannel socket) {
+        pendingConnections.add(socket);
+        selector.wakeup();
+    }
+
+    /** Stops this reactor and closes its selector. */
+    public void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+
+                // Block until there are network events to handle.
+                selector.select();
+
+                // Register any newly accepted connections.
+                SocketChannel socket;
+                while ((socket = pendingConnections.poll()) != null) {
+                    try {
+                        SelectionKey key = socket.register(selector,
+                            SelectionKey.OP_READ);
+                        key.attach(new Session(key));
+                    } catch (IOException e) {
+                        logger.log(Level.WARNING,
+                            "Unable to register connection!", e);
+                        socket.close();
+                    }
+                }
+
+                // Handle all of the selected events.
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+
+                    if (!key.isValid()) {
+                        continue;
+                    }
+
+                    if (key.isAcceptable()) {
+                        ServerEngine.acceptClients((ServerSocketChannel) key.channel());
+                        continue;
+                    }
+
+                    Session session = (Session) key.attachment();
+
+                    if (session == null) {
+                        continue;
+                    }
+
+                    if (key.isReadable() && !ServerEngine.decodePackets(session)) {
+                        session.requestDisconnect();
+                        continue;
+                    }
+
+                    if (key.isValid() && key.isWritable() && !ServerEngine.sendQueuedData(session)) {
+                        session.requestDisconnect();
+                    }
+                }
+            } catch (ClosedSelectorException e) {
+                break;
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Error in the network reactor!", e);
+            }
+        }
+
+        try {
+            selector.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -4,7 +4,9 @@ import java.nio.ByteBuffer;
 
 /**
  * A resizable buffer implementation backed by a byte buffer, that is used for
- * reading and writing data.
+ * reading and writing data. Buffers created with a capacity are leased from
+ * the {@link BufferPool} and are handed back once the packet has been sent or
+ * {@link #release()} is called.
  * 
  * @author blakeman8192
  * @author lare96
@@ -24,9 +26,15 @@ public final class ProtocolBuffer {
     /** The backing byte buffer. */
     private ByteBuffer buf;
 
+    /** If the backing byte buffer was leased from the {@link BufferPool}. */
+    private boolean pooled;
+
     /** The current session attached to this buffer. */
     private Session session;
 
+    /** The opcode of the packet in this buffer, or -1 if it isn't a packet. */
+    private int opcode = -1;
+
     /** The position of the buffer when a variable length packet is created. */
     private int variableLengthPos = 0;
 
@@ -79,7 +87,8 @@ public final class ProtocolBuffer {
      *            the capacity of this buffer.
      */
     public ProtocolBuffer(int cap) {
-        this(ByteBuffer.allocate(cap));
+        this(BufferPool.lease(cap));
+        this.pooled = true;
     }
 
     /** Creates a new {@link ProtocolBuffer} with the default capacity. */
@@ -99,22 +108,94 @@ public final class ProtocolBuffer {
 
     /**
      * Checks if the buffer can hold the amount of requested bytes. If the
-     * buffer cannot hold the specified amount, it will double in size until it
-     * is able to.
+     * buffer cannot hold the specified amount, it will grow so that it is
+     * able to.
      * 
      * @param requested
      *            the amount of requested bytes.
      */
     private void requestSpace(int requested) {
         if ((buf.position() + requested + 1) >= buf.capacity()) {
-            int oldPosition = buf.position();
-            byte[] oldBuffer = buf.array();
-            int newLength = (buf.capacity() * 2);
-            buf = ByteBuffer.allocate(newLength);
-            buf.position(oldPosition);
-            System.arraycopy(oldBuffer, 0, buf.array(), 0, oldBuffer.length);
-            requestSpace(requested);
+            grow(buf.position() + requested + 1);
+        }
+    }
+
+    /**
+     * Replaces the backing byte buffer with one leased from the
+     * {@link BufferPool} that is at least twice the size of the required
+     * capacity, so that a buffer will rarely need to be copied more than once.
+     * All of the data written so far is copied over and the old buffer is
+     * released.
+     * 
+     * @param required
+     *            the capacity that is required.
+     */
+    private void grow(int required) {
+        ByteBuffer old = buf;
+        int position = old.position();
+        buf = BufferPool.lease(Math.max(old.capacity(), required) * 2);
+
+        // Copy over everything written so far, including partial bit data.
+        old.position(0);
+        old.limit(Math.min(old.capacity(), Math.max(position,
+            (bitPosition + 7) / 8)));
+        buf.put(old);
+        buf.position(position);
+
+        if (pooled) {
+            BufferPool.release(old);
+        }
+        pooled = true;
+    }
+
+    /**
+     * Hands the backing byte buffer back to the {@link BufferPool} if it was
+     * leased from it. This buffer must not be used again once it has been
+     * released.
+     */
+    public void release() {
+        if (pooled) {
+            BufferPool.release(buf);
+            pooled = false;
         }
+        buf = null;
+    }
+
+    /**
+     * Replaces the backing byte buffer with the argued one, so that a single
+     * buffer can be reused to read many packets. The old backing byte buffer
+     * is released if it was leased from the {@link BufferPool}.
+     * 
+     * @param buf
+     *            the new backing byte buffer.
+     * @return this protocol buffer.
+     */
+    public ProtocolBuffer wrap(ByteBuffer buf) {
+        release();
+        this.buf = buf;
+        this.bitPosition = 0;
+        return this;
+    }
+
+    /**
+     * Detaches the backing byte buffer so that it can be queued, and released
+     * once it has been written. If the backing byte buffer wasn't leased from
+     * the {@link BufferPool} the data is copied into one that was. This buffer
+     * must not be used again once it has been detached.
+     * 
+     * @return the detached byte buffer, which has not been flipped.
+     */
+    ByteBuffer detach() {
+        ByteBuffer detached = buf;
+
+        if (!pooled) {
+            buf.flip();
+            detached = BufferPool.lease(buf.remaining());
+            detached.put(buf);
+        }
+        pooled = false;
+        buf = null;
+        return detached;
     }
 
     /**
@@ -129,6 +210,7 @@ public final class ProtocolBuffer {
     public ProtocolBuffer build(int opcode, Session session) {
         writeByte(opcode + session.getEncryptor().getKey());
         this.session = session;
+        this.opcode = opcode;
         return this;
     }
 
@@ -207,9 +289,10 @@ public final class ProtocolBuffer {
      * @return this protocol buffer.
      */
     public ProtocolBuffer writeBytes(ByteBuffer from) {
-        for (int i = 0; i < from.position(); i++) {
-            writeByte(from.get(i));
-        }
+        ByteBuffer data = from.duplicate();
+        data.flip();
+        requestSpace(data.remaining());
+        buf.put(data);
         return this;
     }
 
@@ -226,6 +309,19 @@ public final class ProtocolBuffer {
         return this;
     }
 
+    /**
+     * Writes the remaining bytes of the argued slice into this buffer, without
+     * changing the position of the slice.
+     * 
+     * @param slice
+     *            the slice that bytes will be written from.
+     */
+    public ProtocolBuffer writeSlice(ByteBuffer slice) {
+        requestSpace(slice.remaining());
+        buf.put(slice.duplicate());
+        return this;
+    }
+
     /**
      * Writes the bytes from the argued byte array into this buffer, in reverse.
      * 
@@ -266,27 +362,25 @@ public final class ProtocolBuffer {
         int requiredSpace = bytePos - buf.position() + 1;
         requiredSpace += (amount + 7) / 8;
         if (buf.remaining() < requiredSpace) {
-            ByteBuffer old = buf;
-            buf = ByteBuffer.allocate(old.capacity() + requiredSpace);
-            old.flip();
-            buf.put(old);
+            grow(buf.position() + requiredSpace);
         }
 
-        // Write the bits.
+        // Write the bits, pooled buffers are not zeroed so bytes we have not
+        // written to yet must not be read.
         for (; amount > bitOffset; bitOffset = 8) {
-            byte tmp = buf.get(bytePos);
+            byte tmp = bitOffset == 8 ? 0 : buf.get(bytePos);
             tmp &= ~BIT_MASK[bitOffset];
             tmp |= (value >> (amount - bitOffset)) & BIT_MASK[bitOffset];
             buf.put(bytePos++, tmp);
             amount -= bitOffset;
         }
         if (amount == bitOffset) {
-            byte tmp = buf.get(bytePos);
+            byte tmp = bitOffset == 8 ? 0 : buf.get(bytePos);
             tmp &= ~BIT_MASK[bitOffset];
             tmp |= value & BIT_MASK[bitOffset];
             buf.put(bytePos, tmp);
         } else {
-            byte tmp = buf.get(bytePos);
+            byte tmp = bitOffset == 8 ? 0 : buf.get(bytePos);
             tmp &= ~(BIT_MASK[amount] << (bitOffset - amount));
             tmp |= (value & BIT_MASK[amount]) << (bitOffset - amount);
             buf.put(bytePos, tmp);
@@ -1001,12 +1095,31 @@ public final class ProtocolBuffer {
      */
     public byte[] readBytes(int amount, ValueType type) {
         byte[] data = new byte[amount];
+        if (type == ValueType.STANDARD) {
+            buf.get(data);
+            return data;
+        }
         for (int i = 0; i < amount; i++) {
             data[i] = (byte) readByte(type);
         }
         return data;
     }
 
+    /**
+     * Reads the amount of bytes as a slice of this buffer, which shares its
+     * data with this buffer rather than copying it.
+     * 
+     * @param amount
+     *            the amount of bytes.
+     * @return the slice containing the data.
+     */
+    public ByteBuffer readSlice(int amount) {
+        ByteBuffer slice = buf.slice();
+        slice.limit(amount);
+        buf.position(buf.position() + amount);
+        return slice;
+    }
+
     /**
      * Reads the amount of bytes from the buffer in reverse, starting at current
      * position + amount and reading in reverse until the current position.
@@ -1050,7 +1163,8 @@ public final class ProtocolBuffer {
     }
 
     /**
-     * Sends the packet to the session that was used to encrypt the header.
+     * Sends the packet to the session that was used to encrypt the header. The
+     * backing byte buffer is released once the packet has been sent.
      * 
      * @return this protocol buffer.
      */
@@ -1064,6 +1178,15 @@ public final class ProtocolBuffer {
         return this;
     }
 
+    /**
+     * Gets the opcode of the packet in this buffer.
+     * 
+     * @return the opcode, or <code>-1</code> if this buffer isn't a packet.
+     */
+    public int getOpcode() {
+        return opcode;
+    }
+
     /**
      * Gets the backing byte buffer.
      * 
@@ -2,26 +2,39 @@ package com.asteria.engine.net;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.asteria.Main;
 import com.asteria.engine.GameEngine;
+import com.asteria.engine.metrics.Metrics;
 import com.asteria.engine.net.Session.Stage;
 import com.asteria.engine.net.packet.PacketDecoder;
 import com.asteria.util.Utility;
 import com.asteria.world.World;
 import com.asteria.world.entity.player.Player;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
- * A reactor that runs on the main game thread. The reactor's job is to select
- * and handle various network events for all clients.
+ * A reactor that selects and handles various network events for all clients.
+ * Depending on {@link #NETWORK_THREADS} network events are either handled by
+ * dedicated {@link NetworkReactor} threads as soon as they are received, or
+ * selected once every cycle on the main game thread. Either way, incoming
+ * packets are framed into each session's inbound queue and decoded on the game
+ * thread at the start of the cycle.
  * 
  * @author lare96
  * @author blakeman8192
@@ -37,8 +50,54 @@ public final class ServerEngine {
     /** The server socket channel that will accept incoming connections. */
     private static ServerSocketChannel server;
 
-    /** The maximum amount of packets to decode for a single player. */
-    private static final int PACKET_LIMIT = 15;
+    /**
+     * The packet budget every session is given each cycle. Each packet uses up
+     * the cost of its decoder, where an ordinary packet costs <tt>2</tt>.
+     */
+    private static final int PACKET_BUDGET = 30;
+
+    /**
+     * The most packet budget a session can save up, which lets it send bursts
+     * of packets as long as it doesn't keep doing so.
+     */
+    private static final int PACKET_BURST = 60;
+
+    /** The most packet cost that will be decoded for every session combined. */
+    private static final int CYCLE_PACKET_BUDGET = 60000;
+
+    /**
+     * The amount of consecutive cycles a session can run out of budget before
+     * it's disconnected for flooding.
+     */
+    private static final int FLOOD_CYCLES = 50;
+
+    /** The most packets a session can have waiting before it's disconnected. */
+    private static final int INBOUND_LIMIT = 250;
+
+    /**
+     * The amount of dedicated networking threads. If this value is <tt>0</tt>
+     * network events will instead be selected on the game thread once every
+     * cycle.
+     */
+    private static final int NETWORK_THREADS = 1;
+
+    /** The dedicated networking threads, if any. */
+    private static NetworkReactor[] reactors;
+
+    /** The index of the networking thread that will receive the next client. */
+    private static int nextReactor;
+
+    /** The counters for the amount of packets decoded, by opcode. */
+    private static final LongAdder[] decodedPackets = new LongAdder[256];
+
+    /** The amount of times sessions have had packets left for next cycle. */
+    private static final LongAdder DEFERRED = Metrics.counter("packets_deferred_total");
+
+    /** The sessions with packets left to decode this cycle. */
+    private static final List<Session> decoding = new ArrayList<>();
+
+    /** The sessions with outbound data waiting to be flushed. */
+    private static final Queue<Session> flushQueue = new ConcurrentLinkedQueue<>();
 
     /**
      * The default constructor, will throw an
@@ -70,7 +129,26 @@ public final class ServerEngine {
         // ... and configure them!
         server.configureBlocking(false);
         server.socket().bind(new InetSocketAddress(43594));
-        server.register(selector, SelectionKey.OP_ACCEPT);
+
+        // Accept connections on the game thread if we have no networking
+        // threads, otherwise start the networking threads.
+        if (NETWORK_THREADS <= 0) {
+            server.register(selector, SelectionKey.OP_ACCEPT);
+            return;
+        }
+
+        reactors = new NetworkReactor[NETWORK_THREADS];
+        ThreadFactory factory = new ThreadFactoryBuilder().setNameFormat(
+            "NetworkThread").setPriority(Thread.MAX_PRIORITY).build();
+
+        for (int i = 0; i < reactors.length; i++) {
+            reactors[i] = new NetworkReactor();
+        }
+        reactors[0].acceptFrom(server);
+
+        for (NetworkReactor reactor : reactors) {
+            factory.newThread(reactor).start();
+        }
     }
 
     /**
@@ -89,6 +167,12 @@ public final class ServerEngine {
             }
 
             // Discard the networking objects.
+            if (reactors != null) {
+                for (NetworkReactor reactor : reactors) {
+                    reactor.shutdown();
+                }
+                reactors = null;
+            }
             selector.close();
             server.close();
             selector = null;
@@ -145,6 +229,7 @@ public final class ServerEngine {
 
                         // Otherwise create a new session.
                         socket.configureBlocking(false);
+                        socket.socket().setTcpNoDelay(true);
                         SelectionKey newKey = socket.register(selector,
                             SelectionKey.OP_READ);
                         newKey.attach(new Session(newKey));
@@ -158,150 +243,331 @@ public final class ServerEngine {
     }
 
     /**
-     * Decodes and handles all incoming packets sent from the client for this
-     * cycle.
+     * Accepts all pending connections on the argued server socket and hands
+     * them out to the networking threads in a round-robin fashion. This method
+     * is only ever called by a {@link NetworkReactor}.
      * 
-     * @param key
-     *            the selection key that holds the session instance.
+     * @param server
+     *            the server socket to accept connections from.
      */
-    private static void decodePackets(SelectionKey key) {
+    static void acceptClients(ServerSocketChannel server) {
+        SocketChannel socket;
 
-        // Grab the session attachment from the key.
-        Session session = (Session) key.attachment();
+        try {
+            while ((socket = server.accept()) != null) {
 
-        if (session == null) {
-            return;
+                // Block if we fail the security check.
+                if (!HostGateway.enter(socket.socket().getInetAddress().getHostAddress())) {
+                    socket.close();
+                    continue;
+                }
+
+                // Otherwise register the connection with the next reactor.
+                socket.configureBlocking(false);
+                socket.socket().setTcpNoDelay(true);
+                reactors[nextReactor].register(socket);
+                nextReactor = (nextReactor + 1) % reactors.length;
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING,
+                "Error while accepting incoming clients!", e);
         }
+    }
+
+    /**
+     * Reads all incoming data for the argued session and frames it into
+     * packets, which are added to the session's inbound queue to be decoded on
+     * the game thread. Login data is handled straight away.
+     * 
+     * @param session
+     *            the session to read incoming data for.
+     * @return <code>true</code> if the data was read successfully,
+     *         <code>false</code> if the session should be disconnected.
+     */
+    static boolean decodePackets(Session session) {
+        ByteBuffer in = session.getInData();
 
         try {
 
-            // Decode packets for the key, and handle login if needed.
-            if (session.getSocketChannel().read(session.getInData()) == -1) {
-                session.disconnect();
-                return;
+            // Read the incoming data for the session.
+            int read = session.getSocketChannel().read(in);
+
+            if (read == -1) {
+                return false;
             }
+            session.recordBytesIn(read);
+
+            in.flip();
 
-            session.getInData().flip();
+            // The payloads framed from this read, which each packet is given a
+            // slice of rather than its own copy.
+            ByteBuffer chunk = null;
 
-            while (session.getInData().hasRemaining()) {
+            while (in.hasRemaining()) {
 
-                // There's data to be read, reset the timeout.
-                session.getTimeout().reset();
+                // Keep the data until the login workers are finished with the
+                // session.
+                if (session.getStage() == Stage.AUTHENTICATING) {
+                    break;
+                }
 
-                // Handle login here if needed.
+                // Handle login here if needed, until it needs more data.
                 if (session.getStage() != Stage.LOGGED_IN) {
+                    int position = in.position();
                     session.handleLogin();
-                    break;
+
+                    if (in.position() == position) {
+                        break;
+                    }
+                    continue;
                 }
 
                 // Decode the packet opcode and packet length.
-                if (session.getPacketOpcode() == -1) {
-                    session.setPacketOpcode(session.getInData().get() & 0xff);
-                    session.setPacketOpcode(session.getPacketOpcode() - session.getDecryptor().getKey() & 0xff);
+                if (session.getFrameOpcode() == -1) {
+                    session.setFrameOpcode(in.get() - session.getDecryptor().getKey() & 0xff);
                 }
 
-                if (session.getPacketLength() == -1) {
-                    session.setPacketLength(Utility.PACKET_LENGTHS[session.getPacketOpcode()]);
+                if (session.getFrameLength() == -1) {
+                    int length = Utility.PACKET_LENGTHS[session.getFrameOpcode()];
 
-                    if (session.getPacketLength() == -1) {
-                        if (!session.getInData().hasRemaining()) {
-                            session.getInData().flip();
-                            session.getInData().compact();
+                    if (length == -1) {
+                        if (!in.hasRemaining()) {
                             break;
                         }
-
-                        session.setPacketLength(session.getInData().get() & 0xff);
+                        length = in.get() & 0xff;
                     }
+                    session.setFrameLength(length);
                 }
 
-                // Handle the decoded packet and make sure all of the
-                // data is read
-                if (session.getInData().remaining() >= session.getPacketLength()) {
-                    int positionBefore = session.getInData().position();
-
-                    try {
-                        if (PacketDecoder.getPackets()[session.getPacketOpcode()] != null) {
-
-                            if (session.getPacketCount() >= ServerEngine.PACKET_LIMIT) {
-                                logger.warning(session.getPlayer() + " has decoded too many packets for this cycle!");
-                                session.disconnect();
-                                break;
-                            }
-
-                            PacketDecoder.getPackets()[session.getPacketOpcode()].decode(
-                                session.getPlayer(), new ProtocolBuffer(
-                                    session.getInData()));
-                            session.incrementPacketCount();
-                        } else {
-                            if (Main.DEBUG)
-                                logger.info(session.getPlayer() + " unhandled packet " + session.getPacketOpcode());
-                        }
-                    } catch (Exception ex) {
-                        ex.printStackTrace();
-                    } finally {
-                        int read = session.getInData().position() - positionBefore;
+                // Wait for the rest of the packet if it hasn't all arrived.
+                int length = session.getFrameLength();
 
-                        for (int i = read; i < session.getPacketLength(); i++) {
-                            session.getInData().get();
-                        }
-                    }
-                    session.setPacketOpcode(-1);
-                    session.setPacketLength(-1);
-                } else {
-                    session.getInData().flip();
-                    session.getInData().compact();
+                if (in.remaining() < length) {
                     break;
                 }
+
+                if (chunk == null) {
+                    chunk = ByteBuffer.allocate(in.remaining());
+                }
+
+                // Copy the payload into the chunk and queue a slice of it.
+                ByteBuffer payload = chunk.slice();
+                int limit = in.limit();
+                in.limit(in.position() + length);
+                chunk.put(in);
+                in.limit(limit);
+                payload.limit(length);
+                InboundPacket packet = new InboundPacket(
+                    session.getFrameOpcode(), length, payload);
+                session.setFrameOpcode(-1);
+                session.setFrameLength(-1);
+
+                if (session.queueInbound(packet) > INBOUND_LIMIT) {
+                    logger.warning(session + " has sent too many packets!");
+                    return false;
+                }
             }
 
-            // Clear the buffer for the next cycle.
-            session.getInData().clear();
+            // Keep any partial packet for the next read.
+            in.compact();
+            return true;
         } catch (Exception e) {
             e.printStackTrace();
-            session.disconnect();
+            return false;
         }
     }
 
     /**
-     * Sends any previously queued data in the session's <code>outData</code>
-     * buffer to its socket channel.
+     * Decodes and handles the packets waiting in the inbound queues of the
+     * players that are online. Every session is topped up with
+     * {@link #PACKET_BUDGET} every cycle, and packets are decoded one at a time
+     * from each session in turn until they run out of packets or budget. Any
+     * packets left over are decoded next cycle. This method should only ever
+     * be called on the game thread.
+     */
+    private static void dispatchPackets() {
+        for (Player player : World.getPlayers()) {
+            if (player == null) {
+                continue;
+            }
+
+            Session session = player.getSession();
+
+            // Disconnect the session if a networking thread asked us to.
+            if (session.isDisconnectRequested()) {
+                session.disconnect();
+                continue;
+            }
+
+            session.setPacketTokens(Math.min(PACKET_BURST,
+                session.getPacketTokens() + PACKET_BUDGET));
+
+            if (session.getInboundCount() > 0) {
+                decoding.add(session);
+            }
+        }
+
+        int budget = CYCLE_PACKET_BUDGET;
+
+        // Go round the sessions decoding a single packet from each, so no one
+        // session can hold up everyone else.
+        while (!decoding.isEmpty() && budget > 0) {
+            for (int i = 0; i < decoding.size() && budget > 0;) {
+                Session session = decoding.get(i);
+                InboundPacket packet = session.peekInbound();
+
+                if (packet == null || session.getStage() != Stage.LOGGED_IN) {
+                    session.setFloodCycles(0);
+                    decoding.set(i, decoding.get(decoding.size() - 1));
+                    decoding.remove(decoding.size() - 1);
+                    continue;
+                }
+
+                PacketDecoder decoder = PacketDecoder.getPackets()[packet.getOpcode()];
+                int cost = decoder == null ? 1 : decoder.getCost();
+
+                // Out of budget, leave the rest of the packets for next cycle
+                // unless this has been going on for too long.
+                if (cost > session.getPacketTokens()) {
+                    DEFERRED.increment();
+                    session.setFloodCycles(session.getFloodCycles() + 1);
+
+                    if (session.getFloodCycles() > FLOOD_CYCLES) {
+                        logger.warning(session.getPlayer() + " has been flooding packets!");
+                        session.disconnect();
+                    }
+                    decoding.set(i, decoding.get(decoding.size() - 1));
+                    decoding.remove(decoding.size() - 1);
+                    continue;
+                }
+
+                session.pollInbound();
+                session.setPacketTokens(session.getPacketTokens() - cost);
+                budget -= cost;
+                decode(session, decoder, packet);
+                i++;
+            }
+        }
+        decoding.clear();
+    }
+
+    /**
+     * Decodes and handles a single packet for the argued session.
      * 
-     * @param key
-     *            the selection key that holds the session instance.
+     * @param session
+     *            the session that sent the packet.
+     * @param decoder
+     *            the decoder for the packet, or <code>null</code> if there
+     *            isn't one.
+     * @param packet
+     *            the packet to decode.
      */
-    private static void sendQueuedData(SelectionKey key) {
+    private static void decode(Session session, PacketDecoder decoder,
+        InboundPacket packet) {
+        Player player = session.getPlayer();
 
-        // Grab the session attachment from the key.
-        Session session = (Session) key.attachment();
+        // There's data to be read, reset the timeout.
+        session.getTimeout().reset();
 
-        if (session == null) {
+        if (decoder == null) {
+            if (Main.DEBUG)
+                logger.info(player + " unhandled packet " + packet.getOpcode());
             return;
         }
 
         try {
+            session.setPacketOpcode(packet.getOpcode());
+            session.setPacketLength(packet.getLength());
+            decoder.decode(player, session.getPacketReader().wrap(
+                packet.getPayload()));
+            decodedPackets(packet.getOpcode()).increment();
+        } catch (Exception ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Gets the counter for the amount of packets decoded with the argued
+     * opcode, creating it if this is the first packet decoded with it. This
+     * method should only ever be called on the game thread.
+     * 
+     * @param opcode
+     *            the opcode of the packet.
+     * @return the counter for the opcode.
+     */
+    private static LongAdder decodedPackets(int opcode) {
+        if (decodedPackets[opcode] == null) {
+            decodedPackets[opcode] = Metrics.counter("packets_decoded_total{opcode=\"" + opcode + "\"}");
+        }
+        return decodedPackets[opcode];
+    }
+
+    /**
+     * Writes any data left in the session's outbound queue to its socket
+     * channel, once the socket has become writable again.
+     * 
+     * @param session
+     *            the session to send queued data for.
+     * @return <code>true</code> if the data was sent successfully,
+     *         <code>false</code> if the session should be disconnected.
+     */
+    static boolean sendQueuedData(Session session) {
+        return session.flush();
+    }
+
+    /**
+     * Handles all incoming packets that have been framed since the last cycle.
+     * If there are no dedicated networking threads, this method will also
+     * select and handle network events for all clients straight away on the
+     * game thread. Accept events are pushed to the engine in that case. Logins
+     * decoded by the {@link LoginService} are admitted last.
+     */
+    public static void tick() {
+
+        // Select and handle network events if we don't have networking threads.
+        if (NETWORK_THREADS <= 0) {
+            selectEvents();
+        }
 
-            // Send any previously queued data if needed.
-            session.getOutData().flip();
-            session.getSocketChannel().write(session.getOutData());
+        // Decode all of the packets that have been received.
+        dispatchPackets();
 
-            if (!session.getOutData().hasRemaining()) {
-                session.getOutData().clear();
-            } else {
-                session.getOutData().compact();
+        // Admit any logins that have been decoded by the login workers.
+        LoginService.drain();
+    }
+
+    /**
+     * Flushes the outbound queue of every session that has been sent data
+     * since the last flush, so every session gets a single gathering write per
+     * cycle no matter how many packets it was sent. This should be called on
+     * the game thread once the world has been processed.
+     */
+    public static void flush() {
+        Session session;
+
+        while ((session = flushQueue.poll()) != null) {
+            if (!session.flush()) {
+                session.disconnect();
             }
-        } catch (IOException e) {
-            e.printStackTrace();
-            session.disconnect();
         }
     }
 
+    /**
+     * Queues the argued session to be flushed at the end of the cycle. This
+     * method is safe to call from any thread.
+     * 
+     * @param session
+     *            the session to flush.
+     */
+    static void scheduleFlush(Session session) {
+        flushQueue.add(session);
+    }
+
     /**
      * Determines which clients are ready for networking events and handles
-     * those events straight away for them. Accept events are pushed to the
-     * engine and read/write events are handled right on the game thread as soon
-     * as they are received.
+     * those events straight away for them on the game thread.
      */
-    public static void tick() {
+    private static void selectEvents() {
 
         // Selects the keys ready for network events.
         try {
@@ -329,10 +595,22 @@ public final class ServerEngine {
             try {
                 if (key.isAcceptable()) {
                     acceptClients();
-                } else if (key.isReadable()) {
-                    decodePackets(key);
-                } else if (key.isWritable()) {
-                    sendQueuedData(key);
+                    continue;
+                }
+
+                Session session = (Session) key.attachment();
+
+                if (session == null) {
+                    continue;
+                }
+
+                if (key.isReadable() && !decodePackets(session)) {
+                    session.disconnect();
+                    continue;
+                }
+
+                if (key.isValid() && key.isWritable() && !sendQueuedData(session)) {
+                    session.disconnect();
                 }
             } finally {
                 it.remove();
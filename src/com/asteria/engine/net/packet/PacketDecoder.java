@@ -18,6 +18,9 @@ public abstract class PacketDecoder {
      */
     private static PacketDecoder[] packets = new PacketDecoder[256];
 
+    /** How much of a session's packet budget this decoder uses up. */
+    private int cost;
+
     /**
      * Read and handle the packet for the specified player.
      * 
@@ -61,6 +64,8 @@ public abstract class PacketDecoder {
             // Get all of the data from the header.
             int packetOpcodes[] = packet.getClass().getAnnotation(
                 PacketOpcodeHeader.class).value();
+            packet.cost = packet.getClass().getAnnotation(
+                PacketOpcodeHeader.class).cost();
 
             // Add the decoder for all of its opcodes.
             for (int opcode : packetOpcodes) {
@@ -69,6 +74,16 @@ public abstract class PacketDecoder {
         }
     }
 
+    /**
+     * Gets how much of a session's packet budget decoding a single packet with
+     * this decoder uses up.
+     * 
+     * @return the cost of decoding a single packet.
+     */
+    public int getCost() {
+        return cost;
+    }
+
     /**
      * Gets the array of packet decoders.
      * 
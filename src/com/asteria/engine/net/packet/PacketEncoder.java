@@ -1,5 +1,7 @@
 package com.asteria.engine.net.packet;
 
+import java.nio.ByteBuffer;
+
 import com.asteria.engine.net.ProtocolBuffer;
 import com.asteria.engine.net.ProtocolBuffer.ByteOrder;
 import com.asteria.engine.net.ProtocolBuffer.ValueType;
@@ -851,17 +853,15 @@ public final class PacketEncoder {
      * @param rights
      *            your player rights.
      * @param chatMessage
-     *            the message.
-     * @param messageSize
-     *            the message size.
+     *            the packed message.
      * @return this packet encoder.
      */
     public PacketEncoder sendPrivateMessage(long name, int rights,
-        byte[] chatMessage, int messageSize) {
-        ProtocolBuffer out = new ProtocolBuffer(messageSize + 15);
+        ByteBuffer chatMessage) {
+        ProtocolBuffer out = new ProtocolBuffer(chatMessage.remaining() + 15);
         out.buildVar(196, player.getSession()).writeLong(name).writeInt(
-            player.getPrivateMessage().getLastId()).writeByte(rights).writeBytes(
-            chatMessage, messageSize).endVar();
+            player.getPrivateMessage().getLastId()).writeByte(rights).writeSlice(
+            chatMessage).endVar();
         out.sendPacket();
         return this;
     }
@@ -20,4 +20,12 @@ public @interface PacketOpcodeHeader {
      * @return all of the opcodes able to be decoded by the decoder.
      */
     int[] value();
+
+    /**
+     * How much of a session's packet budget decoding one of these packets
+     * uses up, where <tt>2</tt> is an ordinary packet.
+     * 
+     * @return the cost of decoding a single packet.
+     */
+    int cost() default 2;
 }
@@ -11,7 +11,7 @@ import com.asteria.world.entity.player.Player;
  * 
  * @author lare96
  */
-@PacketOpcodeHeader({ 4 })
+@PacketOpcodeHeader(value = { 4 }, cost = 4)
 public class DecodeChatPacket extends PacketDecoder {
 
     @Override
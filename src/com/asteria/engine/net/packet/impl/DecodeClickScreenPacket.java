@@ -10,7 +10,7 @@ import com.asteria.world.entity.player.Player;
  * 
  * @author lare96
  */
-@PacketOpcodeHeader({ 241 })
+@PacketOpcodeHeader(value = { 241 }, cost = 1)
 public class DecodeClickScreenPacket extends PacketDecoder {
 
     @Override
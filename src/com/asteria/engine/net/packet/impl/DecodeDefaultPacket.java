@@ -10,7 +10,7 @@ import com.asteria.world.entity.player.Player;
  * 
  * @author lare96
  */
-@PacketOpcodeHeader({ 0 })
+@PacketOpcodeHeader(value = { 0 }, cost = 1)
 public class DecodeDefaultPacket extends PacketDecoder {
 
     @Override
@@ -6,6 +6,7 @@ import com.asteria.engine.net.packet.PacketDecoder;
 import com.asteria.engine.net.packet.PacketOpcodeHeader;
 import com.asteria.world.entity.player.Player;
 import com.asteria.world.entity.player.skill.Skills;
+import com.asteria.world.map.CollisionMap;
 import com.asteria.world.map.Position;
 
 /**
@@ -13,9 +14,17 @@ import com.asteria.world.map.Position;
  * 
  * @author lare96
  */
-@PacketOpcodeHeader({ 248, 164, 98 })
+@PacketOpcodeHeader(value = { 248, 164, 98 }, cost = 4)
 public class DecodeMovementPacket extends PacketDecoder {
 
+    /**
+     * If paths should be found on our end instead of following the client's
+     * waypoints. This should only be enabled once region clipping is loaded
+     * into the {@link CollisionMap}, otherwise the path goes straight through
+     * everything the client walks around.
+     */
+    public static final boolean SERVER_PATHING = false;
+
     // TODO: Does walking need to be validated?
     @Override
     public void decode(Player player, ProtocolBuffer buf) {
@@ -68,19 +77,34 @@ public class DecodeMovementPacket extends PacketDecoder {
             path[i][1] = buf.readByte();
         }
         int firstStepY = buf.readShort(ProtocolBuffer.ByteOrder.LITTLE);
-        player.getMovementQueue().reset();
-        player.getMovementQueue().setRunPath(
-            buf.readByte(ProtocolBuffer.ValueType.C) == 1);
-        player.getMovementQueue().addToPath(
-            new Position(firstStepX, firstStepY));
+        boolean runPath = buf.readByte(ProtocolBuffer.ValueType.C) == 1;
 
-        for (int i = 0; i < steps; i++) {
-            path[i][0] += firstStepX;
-            path[i][1] += firstStepY;
+        // Either find the path to the clicked square on our end, or follow
+        // the client's waypoints. Every step is still checked against the
+        // collision map as it is taken, so players can't walk through
+        // anything we know about either way.
+        if (SERVER_PATHING) {
+            int destinationX = firstStepX;
+            int destinationY = firstStepY;
+
+            if (steps > 0) {
+                destinationX += path[steps - 1][0];
+                destinationY += path[steps - 1][1];
+            }
+            player.getMovementQueue().walk(
+                new Position(destinationX, destinationY, player.getPosition().getZ()));
+        } else {
+            player.getMovementQueue().reset();
             player.getMovementQueue().addToPath(
-                new Position(path[i][0], path[i][1]));
+                new Position(firstStepX, firstStepY));
+
+            for (int i = 0; i < steps; i++) {
+                player.getMovementQueue().addToPath(
+                    new Position(path[i][0] + firstStepX, path[i][1] + firstStepY));
+            }
+            player.getMovementQueue().finish();
         }
-        player.getMovementQueue().finish();
+        player.getMovementQueue().setRunPath(runPath);
 
         if (Main.DEBUG)
             player.getPacketBuilder().sendMessage(
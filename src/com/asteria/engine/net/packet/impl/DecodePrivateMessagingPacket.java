@@ -1,5 +1,7 @@
 package com.asteria.engine.net.packet.impl;
 
+import java.nio.ByteBuffer;
+
 import com.asteria.engine.net.ProtocolBuffer;
 import com.asteria.engine.net.packet.PacketDecoder;
 import com.asteria.engine.net.packet.PacketOpcodeHeader;
@@ -11,7 +13,7 @@ import com.asteria.world.entity.player.Player;
  * 
  * @author lare96
  */
-@PacketOpcodeHeader({ 188, 215, 133, 74, 126 })
+@PacketOpcodeHeader(value = { 188, 215, 133, 74, 126 }, cost = 4)
 public class DecodePrivateMessagingPacket extends PacketDecoder {
 
     @Override
@@ -56,20 +58,20 @@ public class DecodePrivateMessagingPacket extends PacketDecoder {
         case 126:
             long to = buf.readLong();
             int size = player.getSession().getPacketLength() - 8;
-            byte[] message = buf.readBytes(size);
 
-            if (to < 0 || size < 0 || message == null) {
+            if (to < 0 || size < 0) {
                 return;
             }
 
+            ByteBuffer message = buf.readSlice(size);
+
             if (!player.getFriends().contains(to)) {
                 player.getPacketBuilder().sendMessage(
                     "You cannot send a message to a player not on your friends list!");
                 return;
             }
 
-            player.getPrivateMessage().sendPrivateMessage(player, to, message,
-                size);
+            player.getPrivateMessage().sendPrivateMessage(player, to, message);
             break;
         }
     }
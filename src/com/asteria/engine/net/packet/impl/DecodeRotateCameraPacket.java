@@ -10,7 +10,7 @@ import com.asteria.world.entity.player.Player;
  * 
  * @author lare96
  */
-@PacketOpcodeHeader({ 86 })
+@PacketOpcodeHeader(value = { 86 }, cost = 1)
 public class DecodeRotateCameraPacket extends PacketDecoder {
 
     @Override
@@ -1,7 +1,9 @@
 package com.asteria.engine.task;
 
-import java.util.Iterator;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.asteria.engine.metrics.Metrics;
 
 /**
  * A dynamic cycle based task that executes all general game related code on the
@@ -14,12 +16,12 @@ public abstract class Task {
     /** The default key for every task. */
     public static final Object DEFAULT_KEY = new Object();
 
+    /** The amount of times any task has been executed. */
+    private static final LongAdder EXECUTED = Metrics.counter("tasks_executed_total");
+
     /** The fixed delay for this task. */
     private int delay;
 
-    /** The amount of time that this task has been waiting for. */
-    private int waitingDelay;
-
     /** If this task should be ran straight away before being submitted. */
     private boolean initialRun;
 
@@ -33,6 +35,27 @@ public abstract class Task {
      */
     private boolean running;
 
+    /** If this task has been submitted to the {@link TaskManager}. */
+    boolean submitted;
+
+    /**
+     * The tick this task is next due to fire on, or <code>-1</code> if it
+     * hasn't been registered yet.
+     */
+    long deadline = -1;
+
+    /** The order this task was registered in. */
+    long sequence;
+
+    /** The slot of the {@link TimingWheel} this task is in, or -1 if none. */
+    int slot = -1;
+
+    /** The previous task in the same slot of the {@link TimingWheel}. */
+    Task previous;
+
+    /** The next task in the same slot of the {@link TimingWheel}. */
+    Task next;
+
     /**
      * Create a new {@link Task}.
      * 
@@ -69,39 +92,21 @@ public abstract class Task {
     }
 
     /**
-     * Called every single tick for all active task, and is used to fire tasks
-     * and remove cancelled tasks. This method should never be called anywhere
-     * else other than the <code>tick()</code> method in the {@link TaskManager}
+     * Called by the {@link TaskManager} on the tick this task is due, and is
+     * used to fire this task. This method should never be called anywhere else
+     * other than the <code>tick()</code> method in the {@link TaskManager}
      * class or tasks will become out of sync!
-     * 
-     * @param it
-     *            the iterator instance so we can remove cancelled tasks.
      */
-    protected final void process(Iterator<Task> it) {
-
-        // Increment the waiting delay.
-        waitingDelay++;
-
-        // Check if this task is ready to execute.
-        if (waitingDelay == delay) {
-
-            try {
-
-                // Execute the code within the task.
-                execute();
-            } catch (Exception e) {
-
-                // Print any errors we may come across.
-                e.printStackTrace();
-            }
+    final void process() {
+        try {
 
-            // Reset the waiting delay.
-            waitingDelay = 0;
+            // Execute the code within the task.
+            execute();
+            EXECUTED.increment();
+        } catch (Exception e) {
 
-            // Remove the task if needed.
-            if (!running) {
-                it.remove();
-            }
+            // Print any errors we may come across.
+            e.printStackTrace();
         }
     }
 
@@ -112,6 +117,10 @@ public abstract class Task {
     public final void cancel() {
         if (running) {
             running = false;
+
+            if (submitted) {
+                TaskManager.remove(this);
+            }
             onCancel();
         }
     }
@@ -132,7 +141,12 @@ public abstract class Task {
      * @return this task for chaining.
      */
     public final Task bind(Object key) {
+        Object previous = this.key;
         this.key = Objects.requireNonNull(key);
+
+        if (submitted) {
+            TaskManager.rebind(this, previous);
+        }
         return this;
     }
 
@@ -144,7 +158,25 @@ public abstract class Task {
      *            the new delay to set for this task.
      */
     public final void setDelay(int delay) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException(
+                "The delay must be above 0! Delay was: " + delay);
+        }
+        int previous = this.delay;
         this.delay = delay;
+
+        if (slot != -1) {
+            TaskManager.reschedule(this, previous);
+        }
+    }
+
+    /**
+     * Gets the fixed delay for this task.
+     * 
+     * @return the delay for this task.
+     */
+    public final int getDelay() {
+        return delay;
     }
 
     /**
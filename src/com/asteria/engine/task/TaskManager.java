@@ -1,32 +1,51 @@
 package com.asteria.engine.task;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.stream.Collectors;
 
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+
 /**
- * Utility methods to manage stored pending and active tasks. The functions in
- * this class are <b>NOT</b> safe for use across multiple threads.
+ * Utility methods to manage stored pending and active tasks. Active tasks are
+ * held in a {@link TimingWheel} so that every tick only the tasks that are due
+ * are processed, and every task is indexed by its bound key so they can be
+ * retrieved or cancelled without searching through every other task. The
+ * functions in this class are <b>NOT</b> safe for use across multiple threads.
  * 
  * @author lare96
  */
 public final class TaskManager {
 
+    /**
+     * The order that tasks due on the same tick are fired in, which is the
+     * order they were registered in.
+     */
+    private static final Comparator<Task> ORDER = Comparator.comparingLong(t -> t.sequence);
+
     /** A queue of pending {@link Task}s waiting to be registered. */
     private static Queue<Task> pendingTasks = new LinkedList<>();
 
-    /**
-     * A list of already active {@link Task}s being processed. We use a linked
-     * list instead of an arraylist because we only need assertion and iterator
-     * removal which linkedlist has O(1) time complexities for, unlike an
-     * arraylist which has to resize periodically and has a time complexity of
-     * O(n) for iterator removal.
-     */
-    private static List<Task> activeTasks = new LinkedList<>();
+    /** The timing wheel that holds the already active {@link Task}s. */
+    private static TimingWheel activeTasks = new TimingWheel();
+
+    /** Every submitted {@link Task} that is still running, by bound key. */
+    private static SetMultimap<Object, Task> keys = LinkedHashMultimap.create();
+
+    /** The tasks that are due on the current tick. */
+    private static List<Task> dueTasks = new ArrayList<>();
+
+    /** The amount of tasks currently registered in the timing wheel. */
+    private static volatile int activeCount;
+
+    /** The sequence number given to the next registered task. */
+    private static long sequence;
 
     /**
      * The default constructor, will throw an
@@ -38,32 +57,48 @@ public final class TaskManager {
     }
 
     /**
-     * Adds pending tasks to the list of active tasks, fires tasks that are
-     * ready to be ran, and removes tasks that have been canceled.
+     * Adds pending tasks to the timing wheel, and fires tasks that are ready
+     * to be ran. Tasks that are due on the same tick are fired in the order
+     * they were registered in.
      */
     public static void tick() {
+        activeTasks.advance();
+        long tick = activeTasks.getTick();
 
-        // Add all of the pending tasks to the active list only if they are
-        // running.
+        // Add all of the pending tasks to the timing wheel only if they are
+        // running. They count this tick towards their delay.
         Task t;
         while ((t = pendingTasks.poll()) != null) {
             if (t.isRunning()) {
-                activeTasks.add(t);
+                t.sequence = sequence++;
+                t.deadline = tick + t.getDelay() - 1;
+                activeTasks.schedule(t);
+                activeCount++;
             }
         }
 
-        // Iterate through every single task and perform processing on it.
-        Iterator<Task> it = activeTasks.iterator();
+        // Fire every task that is due this tick, and schedule them again if
+        // they're still running afterwards.
+        activeTasks.expire(dueTasks);
 
-        while (it.hasNext()) {
-            t = it.next();
+        if (dueTasks.size() > 1) {
+            dueTasks.sort(ORDER);
+        }
+
+        for (int i = 0; i < dueTasks.size(); i++) {
+            t = dueTasks.get(i);
 
             if (!t.isRunning()) {
-                it.remove();
                 continue;
             }
-            t.process(it);
+            t.process();
+
+            if (t.isRunning()) {
+                t.deadline = tick + t.getDelay();
+                activeTasks.schedule(t);
+            }
         }
+        dueTasks.clear();
     }
 
     /**
@@ -86,7 +121,11 @@ public final class TaskManager {
             task.execute();
         }
 
-        // Add the task to the queue.
+        // Add the task to the queue, and index it by its key.
+        if (task.isRunning()) {
+            task.submitted = true;
+            keys.put(task.getKey(), task);
+        }
         pendingTasks.add(task);
     }
 
@@ -94,8 +133,7 @@ public final class TaskManager {
      * Cancels all of the currently registered {@link Task}s.
      */
     public static void cancelAllTasks() {
-        pendingTasks.forEach(t -> t.cancel());
-        activeTasks.forEach(t -> t.cancel());
+        new ArrayList<>(keys.values()).forEach(t -> t.cancel());
     }
 
     /**
@@ -105,29 +143,30 @@ public final class TaskManager {
      *            the key to stop all tasks with.
      */
     public static void cancelTasks(Object key) {
-        activeTasks.stream().filter(t -> t.getKey().equals(key)).forEach(
-            t -> t.cancel());
+        keys.removeAll(key).forEach(t -> t.cancel());
     }
 
     /**
-     * Retrieves a list of {@link Task}s with this bound key.
+     * Retrieves a list of {@link Task}s with this bound key, including tasks
+     * that are still awaiting registration.
      * 
      * @param key
      *            the key that tasks will be retrieved with.
      * @return a list of tasks with this bound key.
      */
     public static List<Task> retrieveTasks(Object key) {
-        return activeTasks.stream().filter(t -> t.getKey().equals(key)).collect(
-            Collectors.toList());
+        return new ArrayList<>(keys.get(key));
     }
 
     /**
-     * Gets an unmodifiable list of all of the active {@link Task}s.
+     * Gets an unmodifiable list of all of the active {@link Task}s, in the
+     * order they were registered in.
      * 
      * @return an unmodifiable list of all of the active tasks.
      */
     public static List<Task> retrieveActiveTasks() {
-        return Collections.unmodifiableList(activeTasks);
+        return Collections.unmodifiableList(keys.values().stream().filter(
+            t -> t.deadline != -1).sorted(ORDER).collect(Collectors.toList()));
     }
 
     /**
@@ -139,4 +178,62 @@ public final class TaskManager {
     public static Collection<Task> retrievePendingtasks() {
         return Collections.unmodifiableCollection(pendingTasks);
     }
+
+    /**
+     * Gets the amount of active {@link Task}s. Unlike the other functions in
+     * this class this is safe to call from any thread.
+     * 
+     * @return the amount of active tasks.
+     */
+    public static int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * Removes the argued task from the timing wheel and the key index. This is
+     * called when the task is cancelled.
+     * 
+     * @param task
+     *            the task to remove.
+     */
+    static void remove(Task task) {
+        keys.remove(task.getKey(), task);
+        activeTasks.cancel(task);
+
+        if (task.deadline != -1) {
+            activeCount--;
+        }
+    }
+
+    /**
+     * Moves the argued task to the key index for its new key. This is called
+     * when a key is bound to a task that has already been submitted.
+     * 
+     * @param task
+     *            the task that has been bound to a new key.
+     * @param previous
+     *            the key that was previously bound to the task.
+     */
+    static void rebind(Task task, Object previous) {
+        if (keys.remove(previous, task)) {
+            keys.put(task.getKey(), task);
+        }
+    }
+
+    /**
+     * Moves the argued task to the slot for its new delay. This is called when
+     * the delay of a task in the timing wheel is changed, and the task will
+     * never be moved before the next tick.
+     * 
+     * @param task
+     *            the task that has had its delay changed.
+     * @param previous
+     *            the delay the task previously had.
+     */
+    static void reschedule(Task task, int previous) {
+        activeTasks.cancel(task);
+        task.deadline = Math.max(task.deadline - previous + task.getDelay(),
+            activeTasks.getTick() + 1);
+        activeTasks.schedule(task);
+    }
 }
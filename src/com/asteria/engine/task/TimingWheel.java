@@ -0,0 +1,203 @@
+package com.asteria.engine.task;
+
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel that holds {@link Task}s by the tick they are
+ * due to fire on. The first level has a slot for every one of the next
+ * {@link #WHEEL_SIZE} ticks, and every level above it has slots that each span
+ * an entire rotation of the level below. Whenever a lower level completes a
+ * rotation the next slot of the level above is cascaded down into it, so
+ * advancing the wheel only ever touches tasks that are due or about to become
+ * due. Tasks are linked directly into the slots through their own fields, which
+ * means that scheduling and cancelling a task are both constant time. <br>
+ * <br>
+ * 
+ * The functions in this class are <b>NOT</b> safe for use across multiple
+ * threads.
+ * 
+ * @author lare96
+ */
+final class TimingWheel {
+
+    /** The amount of bits used to index the first level. */
+    private static final int WHEEL_BITS = 8;
+
+    /** The amount of bits used to index every level above the first. */
+    private static final int LEVEL_BITS = 6;
+
+    /** The amount of levels in this wheel. */
+    private static final int LEVELS = 4;
+
+    /** The amount of slots in the first level. */
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+
+    /** The amount of slots in every level above the first. */
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+
+    /**
+     * The furthest amount of ticks away a task can be placed. Tasks that are
+     * due later than this are placed as far away as possible, and are moved
+     * closer every time they are cascaded.
+     */
+    private static final long MAX_DELAY = (1L << (WHEEL_BITS + (LEVEL_BITS * (LEVELS - 1)))) - 1;
+
+    /**
+     * The first task in every slot. The first {@link #WHEEL_SIZE} slots belong
+     * to the first level, followed by {@link #LEVEL_SIZE} slots for every
+     * level above it.
+     */
+    private final Task[] slots = new Task[WHEEL_SIZE + (LEVEL_SIZE * (LEVELS - 1))];
+
+    /** The tick this wheel is currently on. */
+    private long tick;
+
+    /**
+     * Moves this wheel onto the next tick, cascading any levels that have
+     * completed a rotation. This should be called once per tick before any
+     * tasks are scheduled or expired for that tick.
+     */
+    public void advance() {
+        tick++;
+
+        if ((tick & (WHEEL_SIZE - 1)) != 0) {
+            return;
+        }
+
+        // The first level has completed a rotation, so cascade the next slot
+        // of every level above it that has also completed a rotation.
+        int shift = WHEEL_BITS;
+
+        for (int level = 1; level < LEVELS; level++, shift += LEVEL_BITS) {
+            int index = (int) ((tick >>> shift) & (LEVEL_SIZE - 1));
+            cascade(offset(level) + index);
+
+            if (index != 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Removes every task that is due on the current tick from this wheel, and
+     * adds them to the argued list. The tasks are not added in any particular
+     * order.
+     * 
+     * @param due
+     *            the list to add the due tasks to.
+     */
+    public void expire(List<Task> due) {
+        int slot = (int) (tick & (WHEEL_SIZE - 1));
+        Task task = slots[slot];
+        slots[slot] = null;
+
+        while (task != null) {
+            Task next = task.next;
+            task.previous = null;
+            task.next = null;
+            task.slot = -1;
+            due.add(task);
+            task = next;
+        }
+    }
+
+    /**
+     * Places the argued task into the slot for the tick it is due on. The task
+     * must not already be scheduled, and must not be due before the current
+     * tick.
+     * 
+     * @param task
+     *            the task to schedule.
+     */
+    public void schedule(Task task) {
+        long delay = Math.min(Math.max(task.deadline - tick, 0), MAX_DELAY);
+        long expires = tick + delay;
+        int slot;
+
+        if (delay < WHEEL_SIZE) {
+            slot = (int) (expires & (WHEEL_SIZE - 1));
+        } else {
+            int level = 1;
+            int shift = WHEEL_BITS;
+
+            while (delay >= (1L << (shift + LEVEL_BITS))) {
+                level++;
+                shift += LEVEL_BITS;
+            }
+            slot = offset(level) + (int) ((expires >>> shift) & (LEVEL_SIZE - 1));
+        }
+
+        task.slot = slot;
+        task.previous = null;
+        task.next = slots[slot];
+
+        if (task.next != null) {
+            task.next.previous = task;
+        }
+        slots[slot] = task;
+    }
+
+    /**
+     * Removes the argued task from the slot it was placed into. If the task
+     * isn't scheduled this method has no effect.
+     * 
+     * @param task
+     *            the task to remove.
+     */
+    public void cancel(Task task) {
+        if (task.slot == -1) {
+            return;
+        }
+
+        if (task.previous == null) {
+            slots[task.slot] = task.next;
+        } else {
+            task.previous.next = task.next;
+        }
+
+        if (task.next != null) {
+            task.next.previous = task.previous;
+        }
+        task.previous = null;
+        task.next = null;
+        task.slot = -1;
+    }
+
+    /**
+     * Gets the tick this wheel is currently on.
+     * 
+     * @return the current tick.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Removes every task from the argued slot and schedules them again, which
+     * moves them down into the levels below.
+     * 
+     * @param slot
+     *            the slot to cascade.
+     */
+    private void cascade(int slot) {
+        Task task = slots[slot];
+        slots[slot] = null;
+
+        while (task != null) {
+            Task next = task.next;
+            schedule(task);
+            task = next;
+        }
+    }
+
+    /**
+     * Gets the index of the first slot in the argued level.
+     * 
+     * @param level
+     *            the level to get the first slot of.
+     * @return the index of the first slot.
+     */
+    private static int offset(int level) {
+        return level == 0 ? 0 : WHEEL_SIZE + ((level - 1) * LEVEL_SIZE);
+    }
+}
@@ -0,0 +1,335 @@
+package com.asteria.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * A compiled binary copy of a <code>.json</code> definition file, which can be
+ * loaded much faster than parsing the text again. The first time the
+ * definitions are loaded they are parsed from the <code>.json</code> file as
+ * usual and then written to the cache, and every time after that they are
+ * read straight from the memory mapped cache for as long as the checksum of
+ * the <code>.json</code> file and the {@link #version()} of the record layout
+ * stay the same. <br>
+ * <br>
+ * 
+ * Every definition is written as a record of exactly {@link #recordSize()}
+ * bytes, with strings stored once in a table after the records and referred to
+ * by their offset, so any definition can be found without reading the ones
+ * before it. A cache that can't be read is rebuilt, and a cache that can't be
+ * written is simply skipped.
+ * 
+ * @author lare96
+ * @param <T>
+ *            the type of definition in the cache.
+ */
+public abstract class DefinitionCache<T> {
+
+    /** The logger for printing information. */
+    private static Logger logger = Logger.getLogger(DefinitionCache.class.getSimpleName());
+
+    /** The value every cache file starts with. */
+    private static final int MAGIC = 0x41535444;
+
+    /** The size of the header before the records, in bytes. */
+    private static final int HEADER_SIZE = 28;
+
+    /** The string table being written. */
+    private ByteArrayOutputStream writing;
+
+    /** The offsets of the strings already in the table being written. */
+    private Map<String, Integer> offsets;
+
+    /** The string table of the cache being read. */
+    private ByteBuffer reading;
+
+    /**
+     * Writes a single definition to its record.
+     * 
+     * @param definition
+     *            the definition to write.
+     * @param record
+     *            the buffer to write the record to, which is exactly
+     *            {@link #recordSize()} bytes long.
+     */
+    protected abstract void encode(T definition, ByteBuffer record);
+
+    /**
+     * Reads a single definition from its record and stores it wherever the
+     * {@link #parser()} would have.
+     * 
+     * @param record
+     *            the buffer to read the record from, which is exactly
+     *            {@link #recordSize()} bytes long.
+     */
+    protected abstract void decode(ByteBuffer record);
+
+    /**
+     * Gets the definitions that are written to the cache, once they have been
+     * parsed. Any <code>null</code> elements are skipped.
+     * 
+     * @return the definitions to write.
+     */
+    protected abstract T[] definitions();
+
+    /**
+     * Gets the loader that parses the definitions from the <code>.json</code>
+     * file when the cache can't be used.
+     * 
+     * @return the loader for the <code>.json</code> file.
+     * @throws Exception
+     *             if any errors occur while preparing the loader.
+     */
+    protected abstract JsonLoader parser() throws Exception;
+
+    /**
+     * Gets the path to the cache file.
+     * 
+     * @return the path to the cache file.
+     */
+    protected abstract String cachePath();
+
+    /**
+     * Gets the size of every record, in bytes.
+     * 
+     * @return the size of every record.
+     */
+    protected abstract int recordSize();
+
+    /**
+     * Gets the version of the record layout. This must be changed whenever
+     * {@link #encode(Object, ByteBuffer)} is changed, so caches written in the
+     * old layout are rebuilt.
+     * 
+     * @return the version of the record layout.
+     */
+    protected abstract int version();
+
+    /**
+     * Loads the definitions from the cache if it is up to date, or otherwise
+     * parses them from the <code>.json</code> file and rebuilds the cache.
+     * 
+     * @return the cache instance, for chaining.
+     * @throws Exception
+     *             if any errors occur while parsing the <code>.json</code>
+     *             file.
+     */
+    public DefinitionCache<T> load() throws Exception {
+        long checksum = checksum(Paths.get(parser().filePath()));
+        Path cache = Paths.get(cachePath());
+
+        if (Files.exists(cache)) {
+            try {
+                if (read(cache, checksum)) {
+                    return this;
+                }
+            } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+                logger.log(Level.WARNING, "Unable to read " + cache + ", rebuilding it!", e);
+            } finally {
+                reading = null;
+            }
+        }
+
+        parser().load();
+
+        try {
+            write(cache, checksum);
+        } catch (IOException | BufferOverflowException | IllegalArgumentException e) {
+            logger.log(Level.WARNING, "Unable to write " + cache + "!", e);
+        } finally {
+            writing = null;
+            offsets = null;
+        }
+        return this;
+    }
+
+    /**
+     * Writes a reference to the argued string to a record, adding the string
+     * to the string table if it isn't there already. This takes up four bytes
+     * of the record.
+     * 
+     * @param record
+     *            the record to write the reference to.
+     * @param string
+     *            the string to write.
+     */
+    protected final void putString(ByteBuffer record, String string) {
+        Integer offset = offsets.get(string);
+
+        if (offset != null) {
+            record.putInt(offset);
+            return;
+        }
+
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+
+        if (bytes.length > 0xffff) {
+            throw new IllegalArgumentException("String too long: " + bytes.length);
+        }
+        offsets.put(string, writing.size());
+        record.putInt(writing.size());
+        writing.write(bytes.length >>> 8);
+        writing.write(bytes.length);
+        writing.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Reads a string from the string table using the reference in a record.
+     * 
+     * @param record
+     *            the record to read the reference from.
+     * @return the string that was read.
+     */
+    protected final String getString(ByteBuffer record) {
+        int offset = record.getInt();
+        int length = reading.getShort(offset) & 0xffff;
+        byte[] bytes = new byte[length];
+        ByteBuffer string = reading.duplicate();
+        string.position(offset + 2);
+        string.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads every definition from the argued cache file, as long as it was
+     * written from the same <code>.json</code> file in the same layout.
+     * 
+     * @param cache
+     *            the path to the cache file.
+     * @param checksum
+     *            the checksum of the <code>.json</code> file.
+     * @return <code>true</code> if the definitions were read,
+     *         <code>false</code> if the cache is out of date.
+     * @throws IOException
+     *             if any errors occur while mapping the cache file.
+     */
+    private boolean read(Path cache, long checksum) throws IOException {
+        MappedByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(cache,
+            StandardOpenOption.READ)) {
+            buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt() != MAGIC || buffer.getInt() != version() || buffer.getLong() != checksum) {
+            return false;
+        }
+
+        int count = buffer.getInt();
+        int size = buffer.getInt();
+        int strings = buffer.getInt();
+
+        if (size != recordSize() || strings != HEADER_SIZE + (count * size) || strings > buffer.limit()) {
+            return false;
+        }
+
+        buffer.position(strings);
+        reading = buffer.slice();
+
+        for (int i = 0; i < count; i++) {
+            buffer.limit(HEADER_SIZE + ((i + 1) * size));
+            buffer.position(HEADER_SIZE + (i * size));
+            decode(buffer.slice());
+        }
+        return true;
+    }
+
+    /**
+     * Writes every definition to the argued cache file. The file is written
+     * under a temporary name and then moved into place, so a cache is never
+     * left half written, and the temporary file is deleted if that fails.
+     * 
+     * @param cache
+     *            the path to the cache file.
+     * @param checksum
+     *            the checksum of the <code>.json</code> file.
+     * @throws IOException
+     *             if any errors occur while writing the cache file.
+     */
+    private void write(Path cache, long checksum) throws IOException {
+        T[] definitions = definitions();
+        ByteBuffer records = ByteBuffer.allocate(definitions.length * recordSize());
+        writing = new ByteArrayOutputStream();
+        offsets = new HashMap<>();
+        int count = 0;
+
+        for (T definition : definitions) {
+            if (definition == null) {
+                continue;
+            }
+            records.limit(records.position() + recordSize());
+            encode(definition, records.slice());
+            records.position(records.limit());
+            count++;
+        }
+        records.flip();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(version()).putLong(checksum).putInt(count).putInt(recordSize()).putInt(HEADER_SIZE + records.remaining());
+        header.flip();
+
+        Path directory = cache.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory,
+            cache.getFileName().toString(), ".tmp");
+        boolean moved = false;
+
+        try {
+            try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.WRITE)) {
+                ByteBuffer[] buffers = { header, records,
+                        ByteBuffer.wrap(writing.toByteArray()) };
+
+                while (buffers[2].hasRemaining()) {
+                    channel.write(buffers);
+                }
+            }
+            Files.move(temporary, cache, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+        } finally {
+
+            // Don't leave a temporary file behind for every failed write.
+            if (!moved) {
+                Files.deleteIfExists(temporary);
+            }
+        }
+        logger.info("Compiled " + count + " definitions to " + cache);
+    }
+
+    /**
+     * Calculates the checksum of the argued <code>.json</code> file.
+     * 
+     * @param path
+     *            the path to the file.
+     * @return the checksum of the file.
+     * @throws IOException
+     *             if any errors occur while reading the file.
+     */
+    private static long checksum(Path path) throws IOException {
+        CRC32 crc = new CRC32();
+
+        try (FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.READ)) {
+            crc.update(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+        }
+        return crc.getValue();
+    }
+}
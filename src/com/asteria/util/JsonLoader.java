@@ -1,21 +1,30 @@
 package com.asteria.util;
 
-import java.io.FileReader;
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 
 /**
  * A utility class that provides functions for parsing <code>.json</code> files.
+ * The file is streamed one element at a time, so only a single element of the
+ * array is ever held in memory no matter how large the file is. Loaders can be
+ * run from any thread, as long as {@link #load(JsonObject, Gson)} is safe to
+ * call from it.
  * 
  * @author lare96
  */
 public abstract class JsonLoader {
 
+    /** The builder shared by every loader, which is safe to use concurrently. */
+    private static final Gson BUILDER = new GsonBuilder().create();
+
     /**
      * Allows the user to read and/or modify the parsed data.
      * 
@@ -42,17 +51,15 @@ public abstract class JsonLoader {
      *             if any exception occur while loading the parsed data.
      */
     public JsonLoader load() throws Exception {
-        try (
-            FileReader fileReader = new FileReader(
-                Paths.get(filePath()).toFile())) {
+        try (BufferedReader in = Files.newBufferedReader(Paths.get(filePath()),
+            StandardCharsets.UTF_8); JsonReader json = new JsonReader(in)) {
             JsonParser parser = new JsonParser();
-            JsonArray array = (JsonArray) parser.parse(fileReader);
-            Gson builder = new GsonBuilder().create();
+            json.beginArray();
 
-            for (int i = 0; i < array.size(); i++) {
-                JsonObject reader = (JsonObject) array.get(i);
-                load(reader, builder);
+            while (json.hasNext()) {
+                load(parser.parse(json).getAsJsonObject(), BUILDER);
             }
+            json.endArray();
         }
         return this;
     }
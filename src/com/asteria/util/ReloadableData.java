@@ -0,0 +1,52 @@
+package com.asteria.util;
+
+/**
+ * A table of data loaded from a file that can be reloaded while the server is
+ * running, whenever the file changes. The new table is parsed and validated
+ * away from the game thread, and is only swapped in once both have succeeded,
+ * so the table that's in use is never left half loaded.
+ * 
+ * @author lare96
+ * @param <T>
+ *            the type of table that is loaded.
+ */
+public abstract class ReloadableData<T> {
+
+    /**
+     * Gets the path to the file the table is loaded from.
+     * 
+     * @return the path to the file.
+     */
+    public abstract String filePath();
+
+    /**
+     * Parses the file into a brand new table, without touching the table that
+     * is in use. This is called away from the game thread.
+     * 
+     * @return the new table.
+     * @throws Exception
+     *             if any errors occur while parsing the file.
+     */
+    public abstract T parse() throws Exception;
+
+    /**
+     * Checks that the argued table is safe to swap in for the table that is in
+     * use. This is called away from the game thread, right after the table is
+     * parsed.
+     * 
+     * @param table
+     *            the table to check.
+     * @throws IllegalStateException
+     *             if the table isn't safe to swap in.
+     */
+    public abstract void validate(T table);
+
+    /**
+     * Replaces the table that is in use with the argued table. This is called
+     * on the game thread in between cycles.
+     * 
+     * @param table
+     *            the table to swap in.
+     */
+    public abstract void swap(T table);
+}
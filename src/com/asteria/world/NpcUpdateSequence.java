@@ -2,11 +2,12 @@ package com.asteria.world;
 
 import com.asteria.world.entity.npc.Npc;
 import com.asteria.world.entity.npc.NpcAggression;
+import com.asteria.world.entity.npc.NpcUpdating;
 
 /**
  * A {@link WorldUpdateSequence} implementation for {@link Npc}s that provides
- * code for each of the updating stages. The actual updating stage is not
- * supported by this implementation because npc's are updated for players.
+ * code for each of the updating stages. Npcs are updated for players, so the
+ * parallelized updating stage is instead used to process npc movement.
  * 
  * @author lare96
  */
@@ -16,8 +17,7 @@ public class NpcUpdateSequence implements WorldUpdateSequence<Npc> {
     public void executePreUpdate(Npc t) {
         try {
             NpcAggression.target(t);
-            t.getMovementCoordinator().coordinate();
-            t.getMovementQueue().execute();
+            NpcUpdating.checkDeath(t);
         } catch (Exception e) {
             e.printStackTrace();
             World.getNpcs().remove(t);
@@ -26,8 +26,17 @@ public class NpcUpdateSequence implements WorldUpdateSequence<Npc> {
 
     @Override
     public void executeUpdate(Npc t) {
-        throw new UnsupportedOperationException(
-            "NPCs cannot be updated for NPCs!");
+        try {
+            t.getMovementCoordinator().coordinate();
+            t.getMovementQueue().execute();
+        } catch (Exception e) {
+            e.printStackTrace();
+
+            // We're on an update thread, so removal has to be synchronized.
+            synchronized (World.getNpcs()) {
+                World.getNpcs().remove(t);
+            }
+        }
     }
 
     @Override
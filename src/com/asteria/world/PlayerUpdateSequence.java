@@ -1,8 +1,5 @@
 package com.asteria.world;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Phaser;
-
 import com.asteria.engine.net.Session;
 import com.asteria.world.entity.npc.NpcAggression;
 import com.asteria.world.entity.npc.NpcUpdating;
@@ -17,26 +14,6 @@ import com.asteria.world.entity.player.PlayerUpdating;
  */
 public class PlayerUpdateSequence implements WorldUpdateSequence<Player> {
 
-    /** Used to block the game thread until updating is completed. */
-    private final Phaser synchronizer;
-
-    /** The thread pool that will update players in parallel. */
-    private final ExecutorService updateExecutor;
-
-    /**
-     * Create a new {@link PlayerUpdateSequence}.
-     * 
-     * @param synchronizer
-     *            used to block the game thread until updating is completed.
-     * @param updateExecutor
-     *            the thread pool that will update players in parallel.
-     */
-    public PlayerUpdateSequence(Phaser synchronizer,
-        ExecutorService updateExecutor) {
-        this.synchronizer = synchronizer;
-        this.updateExecutor = updateExecutor;
-    }
-
     @Override
     public void executePreUpdate(Player t) {
         Session session = t.getSession();
@@ -49,6 +26,7 @@ public class PlayerUpdateSequence implements WorldUpdateSequence<Player> {
 
             NpcAggression.target(t);
             t.getMovementQueue().execute();
+            PlayerUpdating.checkDeath(t);
         } catch (Exception e) {
             e.printStackTrace();
             session.disconnect();
@@ -57,27 +35,26 @@ public class PlayerUpdateSequence implements WorldUpdateSequence<Player> {
 
     @Override
     public void executeUpdate(Player t) {
-        updateExecutor.execute(() -> {
-            try {
-                synchronized (t) {
-                    PlayerUpdating.update(t);
-                    NpcUpdating.update(t);
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                t.getSession().disconnect();
-            } finally {
-                synchronizer.arriveAndDeregister();
-            }
-        });
+        long start = System.nanoTime();
+
+        try {
+            PlayerUpdating.update(t);
+            NpcUpdating.update(t);
+        } catch (Exception e) {
+            e.printStackTrace();
+
+            // We're on an update thread, leave it to the game thread.
+            t.getSession().requestDisconnect();
+        } finally {
+            World.getTimings().recordPlayer(System.nanoTime() - start);
+        }
     }
 
     @Override
     public void executePostUpdate(Player t) {
         try {
             t.reset();
-            t.setCachedUpdateBlock(null);
-            t.getSession().resetPacketCount();
+            t.getUpdateBlockCache().clear();
         } catch (Exception e) {
             e.printStackTrace();
             t.getSession().disconnect();
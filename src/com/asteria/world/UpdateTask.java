@@ -0,0 +1,84 @@
+package com.asteria.world;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import com.asteria.world.entity.Entity;
+
+/**
+ * A {@link RecursiveAction} that performs an action on a range of entities. If
+ * the range is larger than {@link #CHUNK_SIZE} it is split in half and both
+ * halves are forked, so that idle update threads can steal work from busy
+ * ones. This keeps the amount of tasks submitted every cycle proportional to
+ * the amount of update threads rather than the amount of entities.
+ * 
+ * @author lare96
+ * @param <T>
+ *            the type of entity the action is performed on.
+ */
+public final class UpdateTask<T extends Entity> extends RecursiveAction {
+
+    /** The maximum amount of entities a single task will process. */
+    public static final int CHUNK_SIZE = 32;
+
+    /** The unique serial version identifier. */
+    private static final long serialVersionUID = 1L;
+
+    /** The entities the action is performed on. */
+    private final List<T> entities;
+
+    /** The index of the first entity in the range, inclusive. */
+    private final int from;
+
+    /** The index of the last entity in the range, exclusive. */
+    private final int to;
+
+    /** The action performed on every entity in the range. */
+    private final Consumer<T> action;
+
+    /**
+     * Create a new {@link UpdateTask} that covers all of the argued entities.
+     * 
+     * @param entities
+     *            the entities the action is performed on.
+     * @param action
+     *            the action performed on every entity.
+     */
+    public UpdateTask(List<T> entities, Consumer<T> action) {
+        this(entities, 0, entities.size(), action);
+    }
+
+    /**
+     * Create a new {@link UpdateTask}.
+     * 
+     * @param entities
+     *            the entities the action is performed on.
+     * @param from
+     *            the index of the first entity in the range, inclusive.
+     * @param to
+     *            the index of the last entity in the range, exclusive.
+     * @param action
+     *            the action performed on every entity in the range.
+     */
+    private UpdateTask(List<T> entities, int from, int to, Consumer<T> action) {
+        this.entities = entities;
+        this.from = from;
+        this.to = to;
+        this.action = action;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= CHUNK_SIZE) {
+            for (int i = from; i < to; i++) {
+                action.accept(entities.get(i));
+            }
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        invokeAll(new UpdateTask<>(entities, from, middle, action),
+            new UpdateTask<>(entities, middle, to, action));
+    }
+}
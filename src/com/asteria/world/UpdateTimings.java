@@ -0,0 +1,148 @@
+package com.asteria.world;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import com.asteria.engine.metrics.Histogram;
+import com.asteria.engine.metrics.Metrics;
+
+/**
+ * Records how long each phase of the last {@link World} update took, as well
+ * as the slowest single player update. Timings are written by the game and
+ * update threads and can safely be read from any thread.
+ * 
+ * @author lare96
+ */
+public final class UpdateTimings {
+
+    /**
+     * The phases of a single world update, in the order they are executed.
+     * 
+     * @author lare96
+     */
+    public enum Phase {
+        PLAYER_PRE_UPDATE,
+        NPC_PRE_UPDATE,
+        PATHFINDING,
+        NPC_UPDATE,
+        PLAYER_UPDATE,
+        POST_UPDATE
+    }
+
+    /** The time each phase took during the last update, in nanoseconds. */
+    private final AtomicLongArray phases = new AtomicLongArray(
+        Phase.values().length);
+
+    /** The time the slowest player took to update, in nanoseconds. */
+    private final LongAccumulator slowestPlayer = new LongAccumulator(
+        Math::max, 0);
+
+    /** The time the entire last update took, in nanoseconds. */
+    private volatile long total;
+
+    /** The histograms of the time each phase took, across every update. */
+    private final Histogram[] phaseHistograms = new Histogram[Phase.values().length];
+
+    /** The histogram of the time every single player took to update. */
+    private final Histogram playerHistogram = Metrics.histogram("player_update_seconds");
+
+    /** Create a new {@link UpdateTimings}. */
+    public UpdateTimings() {
+        for (Phase phase : Phase.values()) {
+            phaseHistograms[phase.ordinal()] = Metrics.histogram("world_update_seconds{phase=\"" + phase.name().toLowerCase() + "\"}");
+        }
+    }
+
+    /**
+     * Records the time a phase took, measured from the argued start time until
+     * now.
+     * 
+     * @param phase
+     *            the phase that has finished.
+     * @param start
+     *            the value of {@link System#nanoTime()} when the phase started.
+     * @return the value of {@link System#nanoTime()} now, so it can be used as
+     *         the start time of the next phase.
+     */
+    public long record(Phase phase, long start) {
+        long now = System.nanoTime();
+        phases.set(phase.ordinal(), now - start);
+        phaseHistograms[phase.ordinal()].record(now - start);
+        return now;
+    }
+
+    /**
+     * Records the time a single player took to update.
+     * 
+     * @param nanos
+     *            the time the player took to update, in nanoseconds.
+     */
+    public void recordPlayer(long nanos) {
+        slowestPlayer.accumulate(nanos);
+        playerHistogram.record(nanos);
+    }
+
+    /**
+     * Sets the time the entire last update took.
+     * 
+     * @param nanos
+     *            the time the update took, in nanoseconds.
+     */
+    public void setTotal(long nanos) {
+        this.total = nanos;
+    }
+
+    /** Resets the slowest player update time for the next update. */
+    public void resetPlayer() {
+        slowestPlayer.reset();
+    }
+
+    /**
+     * Gets the time the argued phase took during the last update.
+     * 
+     * @param phase
+     *            the phase to get the time of.
+     * @param unit
+     *            the unit to get the time in.
+     * @return the time the phase took.
+     */
+    public long get(Phase phase, TimeUnit unit) {
+        return unit.convert(phases.get(phase.ordinal()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the time the slowest player took to update during the last update.
+     * 
+     * @param unit
+     *            the unit to get the time in.
+     * @return the time the slowest player took.
+     */
+    public long getSlowestPlayer(TimeUnit unit) {
+        return unit.convert(slowestPlayer.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the time the entire last update took.
+     * 
+     * @param unit
+     *            the unit to get the time in.
+     * @return the time the update took.
+     */
+    public long getTotal(TimeUnit unit) {
+        return unit.convert(total, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("UPDATE[");
+
+        for (Phase phase : Phase.values()) {
+            sb.append(phase.name().toLowerCase()).append("= ").append(
+                get(phase, TimeUnit.MILLISECONDS)).append("ms, ");
+        }
+        return sb.append("slowest_player= ").append(
+            getSlowestPlayer(TimeUnit.MICROSECONDS)).append("us, total= ").append(
+            getTotal(TimeUnit.MILLISECONDS)).append("ms]").toString();
+    }
+}
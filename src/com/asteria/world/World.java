@@ -1,18 +1,25 @@
 package com.asteria.world;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Phaser;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
 
-import com.asteria.engine.BlockingThreadPool;
 import com.asteria.engine.GameEngine;
+import com.asteria.engine.net.LoginService;
 import com.asteria.engine.net.Session.Stage;
+import com.asteria.world.UpdateTimings.Phase;
+import com.asteria.world.entity.Entity;
 import com.asteria.world.entity.EntityContainer;
+import com.asteria.world.entity.PathService;
 import com.asteria.world.entity.npc.Npc;
 import com.asteria.world.entity.player.Player;
-import com.asteria.world.entity.player.WritePlayerFileTask;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.asteria.world.entity.player.PlayerContainer;
+import com.asteria.world.entity.player.PlayerPersistence;
 
 /**
  * Updates all in-game entities, and also contains utility methods to manage
@@ -22,20 +29,41 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
  */
 public final class World {
 
+    /** A logger for printing information. */
+    private static Logger logger = Logger.getLogger(World.class.getSimpleName());
+
+    /**
+     * If updating should be parallelized. Turning this off will update every
+     * entity sequentially on the game thread, which is useful for testing.
+     */
+    private static final boolean PARALLEL_UPDATING = true;
+
+    /** The amount of threads that will update entities in parallel. */
+    private static final int UPDATE_THREADS = Runtime.getRuntime().availableProcessors();
+
     /** All of the registered players. */
-    private static EntityContainer<Player> players = new EntityContainer<>(1000);
+    private static PlayerContainer players = new PlayerContainer(1000);
 
     /** All of the registered NPCs. */
     private static EntityContainer<Npc> npcs = new EntityContainer<>(1500);
 
-    /** Used to block the game thread until updating has completed. */
-    private static Phaser synchronizer = new Phaser(1);
+    /** A work-stealing thread pool that will update entities in parallel. */
+    private static ForkJoinPool updatePool = new ForkJoinPool(UPDATE_THREADS,
+        pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("UpdateThread-" + thread.getPoolIndex());
+            thread.setPriority(Thread.MAX_PRIORITY);
+            return thread;
+        }, null, false);
+
+    /** The timings of the last update. */
+    private static UpdateTimings timings = new UpdateTimings();
 
-    /** A thread pool that will update players in parallel. */
-    private static ExecutorService updateExecutor = Executors.newFixedThreadPool(
-        Runtime.getRuntime().availableProcessors(),
-        new ThreadFactoryBuilder().setNameFormat("UpdateThread").setPriority(
-            Thread.MAX_PRIORITY).build());
+    /** The player update sequence. */
+    private static WorldUpdateSequence<Player> playerUpdate = new PlayerUpdateSequence();
+
+    /** The npc update sequence. */
+    private static WorldUpdateSequence<Npc> npcUpdate = new NpcUpdateSequence();
 
     /**
      * The default constructor, will throw an
@@ -48,36 +76,71 @@ public final class World {
 
     /**
      * The method that executes code for all in game entities every <tt>600</tt>
-     * ms. Updating is parallelized using the {@link #updateExecutor} to execute
-     * the code concurrently and the {@link #synchronizer} to block the game
-     * thread until it's finished.
+     * ms. Pre-updating, pathfinding and post-updating is done sequentially on
+     * the game thread, while npc movement and player updating is parallelized in
+     * chunks using the {@link #updatePool}. The game thread blocks until each
+     * parallelized phase has finished, and the time each phase took is recorded
+     * in the {@link #timings}.
      */
     public static void tick() {
         try {
+            long start = System.nanoTime();
+            long time = start;
+            timings.resetPlayer();
 
-            // First we construct the update sequences.
-            WorldUpdateSequence<Player> playerUpdate = new PlayerUpdateSequence(
-                synchronizer, updateExecutor);
-            WorldUpdateSequence<Npc> npcUpdate = new NpcUpdateSequence();
-
-            // Then we execute pre-updating code.
+            // First we execute pre-updating code.
             players.forEach(playerUpdate::executePreUpdate);
+            time = timings.record(Phase.PLAYER_PRE_UPDATE, time);
             npcs.forEach(npcUpdate::executePreUpdate);
+            time = timings.record(Phase.NPC_PRE_UPDATE, time);
+            PathService.process();
+            time = timings.record(Phase.PATHFINDING, time);
 
             // Then we execute parallelized updating code.
-            synchronizer.bulkRegister(players.size());
-            players.forEach(playerUpdate::executeUpdate);
-            synchronizer.arriveAndAwaitAdvance();
+            execute(npcs, npcUpdate::executeUpdate);
+            time = timings.record(Phase.NPC_UPDATE, time);
+            execute(players, playerUpdate::executeUpdate);
+            time = timings.record(Phase.PLAYER_UPDATE, time);
 
             // Then we execute post-updating code.
             players.forEach(playerUpdate::executePostUpdate);
             npcs.forEach(npcUpdate::executePostUpdate);
+            time = timings.record(Phase.POST_UPDATE, time);
+            timings.setTotal(time - start);
+
+            // Let us know if updating is taking too long.
+            if (timings.getTotal(TimeUnit.MILLISECONDS) > 300) {
+                logger.warning("World update is running slow! " + timings);
+            }
         } catch (Exception e) {
             e.printStackTrace();
             savePlayers();
         }
     }
 
+    /**
+     * Performs the argued action on every entity in the argued container,
+     * either in parallel using the {@link #updatePool} or sequentially on the
+     * calling thread depending on {@link #PARALLEL_UPDATING}. This method
+     * blocks until the action has been performed on every entity.
+     * 
+     * @param container
+     *            the container of entities to perform the action on.
+     * @param action
+     *            the action to perform.
+     */
+    private static <T extends Entity> void execute(
+        EntityContainer<T> container, Consumer<T> action) {
+        if (!PARALLEL_UPDATING) {
+            container.forEach(action);
+            return;
+        }
+
+        List<T> entities = new ArrayList<>(container.size());
+        container.forEach(entities::add);
+        updatePool.invoke(new UpdateTask<>(entities, action));
+    }
+
     /**
      * Returns an instance of a {@link Player} object for the specified username
      * hash.
@@ -88,7 +151,7 @@ public final class World {
      *         {@code null} if no such player exists.
      */
     public static Optional<Player> getPlayerByHash(long hash) {
-        return players.search(p -> p != null && p.getUsernameHash() == hash);
+        return players.getByHash(hash);
     }
 
     /**
@@ -101,7 +164,7 @@ public final class World {
      *         {@code null} if no such player exists.
      */
     public static Optional<Player> getPlayerByName(String username) {
-        return players.search(p -> p != null && p.getUsername().equals(username));
+        return players.getByName(username);
     }
 
     /**
@@ -114,9 +177,12 @@ public final class World {
         players.forEach(p -> p.getPacketBuilder().sendMessage(message));
     }
 
-    /** Saves the game for all players that are currently online. */
+    /**
+     * Saves the game for all players that are currently online. The saves are
+     * throttled so that they don't all hit the disk at once.
+     */
     public static void savePlayers() {
-        players.forEach(World::savePlayer);
+        players.forEach(p -> savePlayer(p, true));
     }
 
     /** Performs a series of operations that shut the entire server down. */
@@ -125,12 +191,12 @@ public final class World {
 
             // First save all players, we block the calling thread until all
             // players are saved.
-            BlockingThreadPool pool = new BlockingThreadPool();
-            players.forEach(p -> pool.append(new WritePlayerFileTask(p)));
-            pool.awaitCompletion();
+            players.forEach(World::savePlayer);
+            PlayerPersistence.shutdown();
 
             // Terminate any thread pools.
-            updateExecutor.shutdown();
+            updatePool.shutdown();
+            LoginService.getLoginExecutor().shutdown();
             GameEngine.getServiceExecutor().shutdown();
         } catch (Exception e) {
             e.printStackTrace();
@@ -148,14 +214,35 @@ public final class World {
      *            the player to save the game for.
      */
     public static void savePlayer(Player player) {
+        savePlayer(player, false);
+    }
+
+    /**
+     * Saves the game for a single player.
+     * 
+     * @param player
+     *            the player to save the game for.
+     * @param throttled
+     *            if the save should be throttled.
+     */
+    private static void savePlayer(Player player, boolean throttled) {
 
         // Don't save if we aren't logged in.
         if (player.getSession().getStage() != Stage.LOGGED_IN) {
             return;
         }
 
-        // Push the save task to the sequential pool.
-        GameEngine.getServiceExecutor().execute(new WritePlayerFileTask(player));
+        // Take a snapshot and push it to the persistence workers.
+        PlayerPersistence.save(player, throttled);
+    }
+
+    /**
+     * Gets the timings of the last update.
+     * 
+     * @return the timings of the last update.
+     */
+    public static UpdateTimings getTimings() {
+        return timings;
     }
 
     /**
@@ -163,7 +250,7 @@ public final class World {
      * 
      * @return the container of players.
      */
-    public static EntityContainer<Player> getPlayers() {
+    public static PlayerContainer getPlayers() {
         return players;
     }
 
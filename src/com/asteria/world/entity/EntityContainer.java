@@ -1,18 +1,26 @@
 package com.asteria.world.entity;
 
 import java.util.AbstractCollection;
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import com.asteria.world.WorldFullException;
+import com.asteria.world.map.RegionManager;
 
 /**
  * An {@link AbstractCollection} implementation that stores and manages stored
- * elements.
+ * elements. Every element is given a slot that stays the same for as long as
+ * it's in this container, which is the index the client knows it by. Free
+ * slots are kept on a stack so adding an element never has to search for one,
+ * and the elements are also kept packed together so iterating only ever
+ * touches the elements that are actually here. Removing an element moves the
+ * last packed element into its place, so removal is constant time too.
  * 
  * @author lare96
  * @param <E>
@@ -26,9 +34,27 @@ public class EntityContainer<E extends Entity> extends AbstractCollection<E> {
     /** The current amount of elements that are in this container. */
     private int size;
 
-    /** The actual elements that are in this container. */
+    /** The actual elements that are in this container, by slot. */
     private E[] elements;
 
+    /** The elements in this container packed together. */
+    private E[] live;
+
+    /** The order each packed element was added in, which is never reused. */
+    private long[] sequences;
+
+    /** The index of every element in the packed array, by slot. */
+    private int[] indexes;
+
+    /** The slots that are free, with the next one to hand out on top. */
+    private int[] freeSlots;
+
+    /** The amount of free slots on the stack. */
+    private int freeCount;
+
+    /** The order the next element added will be given. */
+    private long nextSequence;
+
     /**
      * Create a new {@link EntityContainer} with the specified capacity.
      * 
@@ -41,20 +67,29 @@ public class EntityContainer<E extends Entity> extends AbstractCollection<E> {
         this.capacity = capacity + 1;
         this.size = 0;
         this.elements = (E[]) new Entity[capacity + 1];
+        this.live = (E[]) new Entity[capacity];
+        this.sequences = new long[capacity];
+        this.indexes = new int[capacity + 1];
+        this.freeSlots = new int[capacity];
+        resetFreeSlots();
     }
 
     @Override
     public boolean add(E e) {
 
-        // Determine the next free slot and validate it.
-        int slot = determineSlot();
-
-        if (slot == -1)
+        // Take the next free slot and validate it.
+        if (freeCount == 0)
             throw new WorldFullException(e);
 
+        int slot = freeSlots[--freeCount];
+
         // The slot has passed the checks, so add the entity to that slot.
         elements[slot] = Objects.requireNonNull(e);
         elements[slot].setSlot(slot);
+        live[size] = e;
+        sequences[size] = nextSequence++;
+        indexes[slot] = size;
+        RegionManager.register(e);
         size++;
         return true;
     }
@@ -82,11 +117,24 @@ public class EntityContainer<E extends Entity> extends AbstractCollection<E> {
 
         // Remove the entity from the container.
         Entity e = (Entity) o;
+        int slot = e.getSlot();
+
+        if (!slotFree(slot)) {
+            elements[slot].setUnregistered(true);
+            RegionManager.unregister(elements[slot]);
+            elements[slot] = null;
+            freeSlots[freeCount++] = slot;
 
-        if (!slotFree(e.getSlot())) {
-            elements[e.getSlot()].setUnregistered(true);
-            elements[e.getSlot()] = null;
+            // Fill the gap in the packed elements with the last one.
+            int index = indexes[slot];
             size--;
+
+            if (index != size) {
+                live[index] = live[size];
+                sequences[index] = sequences[size];
+                indexes[live[index].getSlot()] = index;
+            }
+            live[size] = null;
             return true;
         }
         return false;
@@ -129,11 +177,13 @@ public class EntityContainer<E extends Entity> extends AbstractCollection<E> {
             "Access to the backing array is denied!");
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void clear() {
-        elements = (E[]) new Entity[capacity];
+        forEach(RegionManager::unregister);
+        Arrays.fill(elements, null);
+        Arrays.fill(live, null);
         size = 0;
+        resetFreeSlots();
     }
 
     @Override
@@ -152,19 +202,34 @@ public class EntityContainer<E extends Entity> extends AbstractCollection<E> {
     }
 
     /**
-     * Iterates through the array of elements to determine the index of the
-     * first free slot found.
+     * Marks every slot as free, with the lowest slots handed out first. Slot
+     * <tt>0</tt> is never handed out.
+     */
+    private void resetFreeSlots() {
+        freeCount = 0;
+
+        for (int slot = elements.length - 1; slot >= 1; slot--) {
+            freeSlots[freeCount++] = slot;
+        }
+    }
+
+    /**
+     * Finds where iterating should carry on from. If the last element reached
+     * has been removed since, the element that was moved into its place
+     * hasn't been reached yet, so iterating has to step back onto it.
      * 
-     * @return the index of the free slot, or <tt>-1</tt> if the container is
-     *         full.
+     * @param index
+     *            the index after the last element reached.
+     * @param sequence
+     *            the order of the last element reached.
+     * @return the index of the next element, which is {@link #size} if there
+     *         are none.
      */
-    private int determineSlot() {
-        for (int slot = 1; slot < elements.length; slot++) {
-            if (slotFree(slot)) {
-                return slot;
-            }
+    private int seek(int index, long sequence) {
+        if (index > 0 && (index > size || sequences[index - 1] != sequence)) {
+            return Math.min(index - 1, size);
         }
-        return -1;
+        return index;
     }
 
     /**
@@ -184,36 +249,50 @@ public class EntityContainer<E extends Entity> extends AbstractCollection<E> {
      *         otherwise.
      */
     public boolean isFull() {
-        return size >= capacity;
+        return freeCount == 0;
     }
 
     /**
      * {@inheritDoc}
      * 
-     * This implementation automatically excludes all elements with a value of
-     * <code>null</code>.
+     * This implementation only visits the elements that are in this container.
+     * Elements can be added and removed while iterating, including the element
+     * being visited. Every element that is in this container throughout will
+     * be visited once, unless an element that was visited before the current
+     * one is removed, in which case the last element is moved behind us and
+     * won't be visited.
      */
     @Override
     public void forEach(Consumer<? super E> action) {
-        for (E e : elements) {
-            if (e == null)
-                continue;
+        long sequence = -1;
+        int index = 0;
+
+        while (true) {
+
+            // Find our place again if the last element visited was removed.
+            index = seek(index, sequence);
+
+            if (index >= size)
+                break;
+
+            E e = live[index];
+            sequence = sequences[index++];
             action.accept(e);
         }
     }
 
     /**
-     * Iterates through the backing array and finds the first element that
-     * matches the argued {@link Predicate}.
+     * Iterates through the elements and finds the first element that matches
+     * the argued {@link Predicate}.
      * 
      * @param p
      *            the predicate that will be used to find the element.
      * @return the optional representing the found element.
      */
     public Optional<E> search(Predicate<? super E> p) {
-        for (E e : elements) {
-            if (p.test(e))
-                return Optional.ofNullable(e);
+        for (int i = 0; i < size; i++) {
+            if (p.test(live[i]))
+                return Optional.of(live[i]);
         }
         return Optional.empty();
     }
@@ -223,45 +302,55 @@ public class EntityContainer<E extends Entity> extends AbstractCollection<E> {
      * 
      * This is a fail-safe iterator implementation, meaning that modification of
      * the collection while performing an enhanced loop will not throw a
-     * {@link ConcurrentModificationException}.
+     * {@link ConcurrentModificationException}. Only the elements that are in
+     * this container are returned, in the same way as
+     * {@link #forEach(Consumer)}.
      */
     @Override
     public Iterator<E> iterator() {
         return new Iterator<E>() {
 
-            /** The current index we are iterating on. */
+            /** The index of the next element to return. */
             private int currentIndex;
 
-            /** The last index we iterated over. */
-            private int lastElementIndex = -1;
+            /** The order of the last element returned. */
+            private long lastSequence = -1;
+
+            /** The last element returned. */
+            private E lastElement;
 
             @Override
             public boolean hasNext() {
-                return !(currentIndex + 1 > elements.length);
+                int index = seek(currentIndex, lastSequence);
+
+                // Only step back once, however many times this is called.
+                if (index != currentIndex) {
+                    currentIndex = index;
+                    lastSequence = index > 0 ? sequences[index - 1] : -1;
+                }
+                return currentIndex < size;
             }
 
             @Override
             public E next() {
-                if (currentIndex >= elements.length) {
-                    throw new ArrayIndexOutOfBoundsException(
-                        "Can only call 'next()' in amount to 'backingArray.length'.");
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
                 }
 
-                int i = currentIndex;
-                currentIndex++;
-                return elements[lastElementIndex = i];
+                lastElement = live[currentIndex];
+                lastSequence = sequences[currentIndex++];
+                return lastElement;
             }
 
             @Override
             public void remove() {
-                if (lastElementIndex < 0) {
+                if (lastElement == null) {
                     throw new IllegalStateException(
                         "Can only call 'remove()' once in call to 'next()'.");
                 }
 
-                EntityContainer.this.remove(elements[lastElementIndex]);
-                currentIndex = lastElementIndex;
-                lastElementIndex = -1;
+                EntityContainer.this.remove(lastElement);
+                lastElement = null;
             }
         };
     }
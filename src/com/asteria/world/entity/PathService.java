@@ -0,0 +1,238 @@
+package com.asteria.world.entity;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.asteria.engine.GameEngine;
+import com.asteria.engine.metrics.Metrics;
+import com.asteria.world.map.PathFinder;
+import com.asteria.world.map.Position;
+
+/**
+ * Finds paths for entities that don't need them straight away, such as npcs
+ * roaming and chasing, within a fixed budget of searches every tick. <br>
+ * <br>
+ * 
+ * A path that has been found is reused for {@link #PATH_TTL} ticks as long as
+ * the destination stays within {@link #DESTINATION_TOLERANCE} squares of it,
+ * so chasing an entity doesn't search again every tick. Requests from entities
+ * in the same region to the same destination are found with a single search,
+ * and only {@link #SEARCHES_PER_TICK} searches are done every tick, with any
+ * requests left over carried over to the following ticks in the order they
+ * were made.
+ * 
+ * @author lare96
+ */
+public final class PathService {
+
+    /** The maximum amount of searches done every tick. */
+    public static final int SEARCHES_PER_TICK = 100;
+
+    /** The amount of ticks a path can be reused for. */
+    public static final int PATH_TTL = 5;
+
+    /** The distance a destination can move before a path can't be reused. */
+    public static final int DESTINATION_TOLERANCE = 1;
+
+    /** The entities that have requested a path since the last tick. */
+    private static final Queue<Entity> requests = new ConcurrentLinkedQueue<>();
+
+    /** The entities waiting for a path, in the order they requested one. */
+    private static final Deque<Entity> backlog = new ArrayDeque<>();
+
+    /** The requests being found this tick, grouped by search. */
+    private static final Map<Long, SearchGroup> groups = new LinkedHashMap<>();
+
+    /** The amount of paths that have been requested. */
+    private static final LongAdder REQUESTED = Metrics.counter("path_requests_total");
+
+    /** The amount of requests that reused a path that was already found. */
+    private static final LongAdder REUSED = Metrics.counter("path_requests_reused_total");
+
+    /** The amount of requests that shared a search with another request. */
+    private static final LongAdder DEDUPLICATED = Metrics.counter("path_requests_deduplicated_total");
+
+    /** The amount of searches that have been done. */
+    private static final LongAdder SEARCHES = Metrics.counter("path_searches_total");
+
+    static {
+        Metrics.gauge("path_requests_pending", () -> backlog.size() + requests.size());
+    }
+
+    /**
+     * The default constructor, will throw an
+     * {@link UnsupportedOperationException} if instantiated.
+     */
+    private PathService() {
+        throw new UnsupportedOperationException(
+            "This class cannot be instantiated!");
+    }
+
+    /**
+     * Requests a path for the argued entity to the argued destination. If the
+     * entity is already walking along a path to the destination that can be
+     * reused then nothing happens, otherwise the path will be found and walked
+     * within the next few ticks. Only the latest request of every entity is
+     * found. This can be called from any thread, as long as it isn't called
+     * for the same entity from two threads at once.
+     * 
+     * @param entity
+     *            the entity requesting the path.
+     * @param destination
+     *            the destination to find a path to.
+     */
+    public static void request(Entity entity, Position destination) {
+        REQUESTED.increment();
+
+        if (entity.getMovementQueue().hasPath(destination)) {
+            REUSED.increment();
+            return;
+        }
+
+        if (entity.getMovementQueue().requestPath(destination.clone())) {
+            requests.add(entity);
+        }
+    }
+
+    /**
+     * Finds paths for waiting requests until {@link #SEARCHES_PER_TICK}
+     * searches have been done. This should be called once every tick on the
+     * game thread, while no requests are being made.
+     */
+    public static void process() {
+        Entity entity;
+
+        while ((entity = requests.poll()) != null) {
+            backlog.add(entity);
+        }
+
+        // Group the waiting requests into searches until the budget is used.
+        while ((entity = backlog.peek()) != null) {
+            Position destination = entity.getMovementQueue().pollRequestedPath();
+
+            if (destination == null || entity.isUnregistered()) {
+                backlog.poll();
+                continue;
+            }
+
+            long key = ((long) entity.getPosition().getRegion() << 40) | ((long) entity.size() << 32) | ((long) destination.getZ() << 28) | (destination.getX() << 14) | destination.getY();
+            SearchGroup group = groups.get(key);
+
+            if (group == null) {
+                if (groups.size() == SEARCHES_PER_TICK) {
+                    entity.getMovementQueue().requestPath(destination);
+                    break;
+                }
+                group = new SearchGroup(destination, entity.size());
+                groups.put(key, group);
+            } else {
+                DEDUPLICATED.increment();
+            }
+            group.entities.add(backlog.poll());
+        }
+
+        groups.values().forEach(PathService::search);
+        groups.clear();
+    }
+
+    /**
+     * Gets the amount of requests waiting for a path.
+     * 
+     * @return the amount of requests waiting.
+     */
+    public static int getPendingRequests() {
+        return backlog.size() + requests.size();
+    }
+
+    /**
+     * Finds the paths for a single group of requests. A lone request is found
+     * with a normal search, while a group is found by flooding outward from
+     * their shared destination once. Any entity the flood didn't reach is then
+     * found with a normal search, so it walks as close as it can get.
+     * 
+     * @param group
+     *            the group of requests to find the paths for.
+     */
+    private static void search(SearchGroup group) {
+        PathFinder finder = PathFinder.getInstance();
+        List<Entity> unreached = group.entities;
+        SEARCHES.increment();
+
+        if (group.entities.size() > 1) {
+            List<Position> starts = new ArrayList<>(group.entities.size());
+            group.entities.forEach(e -> starts.add(e.getPosition()));
+            finder.flood(group.destination, group.size, starts);
+            unreached = new ArrayList<>();
+
+            for (Entity entity : group.entities) {
+                if (finder.trace(entity.getPosition()) == -1) {
+                    unreached.add(entity);
+                    continue;
+                }
+                walk(entity, finder, group.destination);
+            }
+        }
+
+        for (Entity entity : unreached) {
+            finder.find(entity.getPosition(), group.destination, group.size);
+            walk(entity, finder, group.destination);
+        }
+    }
+
+    /**
+     * Makes the argued entity walk along the last path found by the argued
+     * path finder, and allows the path to be reused for {@link #PATH_TTL}
+     * ticks.
+     * 
+     * @param entity
+     *            the entity that will walk.
+     * @param finder
+     *            the path finder that found the path.
+     * @param destination
+     *            the destination of the path.
+     */
+    private static void walk(Entity entity, PathFinder finder,
+        Position destination) {
+        entity.getMovementQueue().walk(finder);
+        entity.getMovementQueue().setPath(destination,
+            GameEngine.getCycles() + PATH_TTL);
+    }
+
+    /**
+     * A group of requests from the same region to the same destination that
+     * are found with a single search.
+     * 
+     * @author lare96
+     */
+    private static final class SearchGroup {
+
+        /** The destination every entity in this group is going to. */
+        private final Position destination;
+
+        /** The size of every entity in this group. */
+        private final int size;
+
+        /** The entities in this group. */
+        private final List<Entity> entities = new ArrayList<>();
+
+        /**
+         * Create a new {@link SearchGroup}.
+         * 
+         * @param destination
+         *            the destination every entity in this group is going to.
+         * @param size
+         *            the size of every entity in this group.
+         */
+        public SearchGroup(Position destination, int size) {
+            this.destination = destination;
+            this.size = size;
+        }
+    }
+}
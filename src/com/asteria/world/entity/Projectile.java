@@ -2,10 +2,10 @@ package com.asteria.world.entity;
 
 import com.asteria.engine.task.Task;
 import com.asteria.engine.task.TaskManager;
-import com.asteria.world.World;
 import com.asteria.world.entity.Entity.EntityType;
 import com.asteria.world.entity.player.Player;
 import com.asteria.world.map.Position;
+import com.asteria.world.map.RegionManager;
 
 /**
  * A graphic propelled through the air by some sort of spell, weapon, or other
@@ -112,11 +112,7 @@ public final class Projectile {
      * was constructed.
      */
     public void sendProjectile() {
-        for (Player player : World.getPlayers()) {
-            if (player == null) {
-                continue;
-            }
-
+        for (Player player : RegionManager.getPlayers(start, 15)) {
             if (start.isViewableFrom(player.getPosition())) {
                 player.getPacketBuilder().sendProjectile(start, offset, 0,
                     speed, projectileId, startHeight, endHeight, lockon, delay);
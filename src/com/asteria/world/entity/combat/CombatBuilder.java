@@ -11,6 +11,7 @@ import com.asteria.engine.task.listener.ActionListener;
 import com.asteria.util.Stopwatch;
 import com.asteria.world.entity.Entity;
 import com.asteria.world.entity.Entity.EntityType;
+import com.asteria.world.entity.PathService;
 import com.asteria.world.entity.npc.Npc;
 import com.asteria.world.entity.player.Player;
 
@@ -439,7 +440,7 @@ public class CombatBuilder {
                 Npc npc = (Npc) builder.entity;
 
                 if (!npc.getPosition().isViewableFrom(npc.getOriginalPosition()) && npc.getDefinition().isRetreats()) {
-                    npc.getMovementQueue().walk(npc.getOriginalPosition());
+                    PathService.request(npc, npc.getOriginalPosition());
                     builder.reset();
                     this.cancel();
                     return true;
@@ -65,7 +65,7 @@ public class Npc extends Entity {
         this.setAutoRetaliate(true);
 
         if (this.getDefinition().isAggressive()) {
-            NpcAggression.getAggressive().put(this, originalPosition);
+            NpcAggression.add(this, originalPosition);
         }
     }
 
@@ -12,6 +12,8 @@ import com.asteria.world.entity.npc.policy.RedGoblinAggressionPolicy;
 import com.asteria.world.entity.player.Player;
 import com.asteria.world.map.Location;
 import com.asteria.world.map.Position;
+import com.asteria.world.map.Region;
+import com.asteria.world.map.RegionManager;
 
 /**
  * Handles the behavior of aggressive {@link Npc}s around players within the
@@ -56,64 +58,95 @@ public final class NpcAggression {
      */
     public static void target(Entity entity) {
 
-        // Loop through all of the aggressive npcs.
-        for (Entry<Npc, Position> entry : aggressive.entrySet()) {
-            Position position = entry.getValue();
-            Npc npc = entry.getKey();
-
-            // Check if the entity is within distance.
-            if (position.withinDistance(entity.getPosition(),
-                NPC_TARGET_DISTANCE)) {
-
-                // Check if the aggressive npc is attacking or being attacked.
-                if (npc.getCombatBuilder().isAttacking() || npc.getCombatBuilder().isBeingAttacked() || npc.equals(entity)) {
-                    continue;
-                }
-
-                // Check if the entity is attacking or being attacked.
-                if (!Location.inMultiCombat(entity) && entity.getCombatBuilder().isAttacking() || entity.getCombatBuilder().isBeingAttacked()) {
-                    npc.getMovementCoordinator().setCoordinate(
-                        npc.isOriginalRandomWalk());
-                    continue;
-                }
-
-                // Check if the entity is a player and if they have been in the
-                // region too long, and if they are the right level.
-                if (entity.type() == EntityType.PLAYER) {
-                    Player player = (Player) entity;
-
-                    if (player.getTolerance().elapsed() > (NPC_TOLERANCE_SECONDS * 1000)) {
-                        npc.getMovementCoordinator().setCoordinate(
-                            npc.isOriginalRandomWalk());
-                        continue;
-                    }
-                    if (player.getCombatLevel() > (npc.getDefinition().getCombatLevel() * 2) && !Location.inWilderness(player)) {
-                        npc.getMovementCoordinator().setCoordinate(
-                            npc.isOriginalRandomWalk());
-                        continue;
-                    }
-                }
-
-                // Get the policy, if no policy is found then we use the default
-                // one.
-                NpcAggressionPolicy policy;
-
-                if ((policy = policies.get(npc.getNpcId())) == null) {
-                    policy = new DefaultAggressionPolicy();
-                }
-
-                // Check if we can attack based on the policy.
-                if (policy.attackIf(npc, entity)) {
-
-                    // We passed all of the checks, the npc can attack the
-                    // player. We also apply any policy effects.
-                    npc.getCombatBuilder().attack(entity);
-                    policy.onAttack(npc, entity);
-                }
+        // Loop through all of the aggressive npcs in the surrounding regions.
+        for (Region region : RegionManager.getRegions(entity.getPosition(),
+            NPC_TARGET_DISTANCE)) {
+            for (Entry<Npc, Position> entry : region.getAggressiveNpcs().entrySet()) {
+                target(entity, entry.getKey(), entry.getValue());
             }
         }
     }
 
+    /**
+     * Prompts the argued aggressive npc to attack the entity if it is able to.
+     * 
+     * @param entity
+     *            the entity that will be attempted to be targeted.
+     * @param npc
+     *            the aggressive npc.
+     * @param position
+     *            the original position of the aggressive npc.
+     */
+    private static void target(Entity entity, Npc npc, Position position) {
+
+        // Check if the entity is within distance.
+        if (!position.withinDistance(entity.getPosition(),
+            NPC_TARGET_DISTANCE)) {
+            return;
+        }
+
+        // Check if the aggressive npc is attacking or being attacked.
+        if (npc.getCombatBuilder().isAttacking() || npc.getCombatBuilder().isBeingAttacked() || npc.equals(entity)) {
+            return;
+        }
+
+        // Check if the entity is attacking or being attacked.
+        if (!Location.inMultiCombat(entity) && entity.getCombatBuilder().isAttacking() || entity.getCombatBuilder().isBeingAttacked()) {
+            npc.getMovementCoordinator().setCoordinate(
+                npc.isOriginalRandomWalk());
+            return;
+        }
+
+        // Check if the entity is a player and if they have been in the
+        // region too long, and if they are the right level.
+        if (entity.type() == EntityType.PLAYER) {
+            Player player = (Player) entity;
+
+            if (player.getTolerance().elapsed() > (NPC_TOLERANCE_SECONDS * 1000)) {
+                npc.getMovementCoordinator().setCoordinate(
+                    npc.isOriginalRandomWalk());
+                return;
+            }
+            if (player.getCombatLevel() > (npc.getDefinition().getCombatLevel() * 2) && !Location.inWilderness(player)) {
+                npc.getMovementCoordinator().setCoordinate(
+                    npc.isOriginalRandomWalk());
+                return;
+            }
+        }
+
+        // Get the policy, if no policy is found then we use the default
+        // one.
+        NpcAggressionPolicy policy;
+
+        if ((policy = policies.get(npc.getNpcId())) == null) {
+            policy = new DefaultAggressionPolicy();
+        }
+
+        // Check if we can attack based on the policy.
+        if (policy.attackIf(npc, entity)) {
+
+            // We passed all of the checks, the npc can attack the
+            // player. We also apply any policy effects.
+            npc.getCombatBuilder().attack(entity);
+            policy.onAttack(npc, entity);
+        }
+    }
+
+    /**
+     * Adds an aggressive npc to the map of aggressive npcs, and indexes it by
+     * the region its original position is in.
+     * 
+     * @param npc
+     *            the aggressive npc to add.
+     * @param position
+     *            the original position of the npc.
+     */
+    public static void add(Npc npc, Position position) {
+        aggressive.put(npc, position);
+        RegionManager.getRegion(position).getAggressiveNpcs().put(npc,
+            position);
+    }
+
     /**
      * Loads all {@link NpcAggressionPolicy}s into the map of policies on
      * startup.
@@ -1,6 +1,10 @@
 package com.asteria.world.entity.npc;
 
+import java.nio.ByteBuffer;
+
+import com.asteria.util.DefinitionCache;
 import com.asteria.util.JsonLoader;
+import com.asteria.util.ReloadableData;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
@@ -12,7 +16,7 @@ import com.google.gson.JsonObject;
 public class NpcDefinition {
 
     /** An array containing all of the npc definitions. */
-    private static NpcDefinition[] definitions = new NpcDefinition[6102];
+    private static volatile NpcDefinition[] definitions = new NpcDefinition[6102];
 
     /** The id of the npc. */
     private int id;
@@ -82,31 +86,45 @@ public class NpcDefinition {
      *             if any errors occur while preparing for load.
      */
     public static JsonLoader parseNpcs() throws Exception {
+        return parseNpcs(definitions);
+    }
+
+    /**
+     * Prepares the dynamic json loader for loading npc definitions into the
+     * argued table.
+     * 
+     * @param table
+     *            the table to load the definitions into.
+     * @return the dynamic json loader.
+     * @throws Exception
+     *             if any errors occur while preparing for load.
+     */
+    public static JsonLoader parseNpcs(NpcDefinition[] table) throws Exception {
         return new JsonLoader() {
             @Override
             public void load(JsonObject reader, Gson builder) {
                 int index = reader.get("id").getAsInt();
-                definitions[index] = new NpcDefinition();
-                definitions[index].setId(index);
-                definitions[index].setName(reader.get("name").getAsString());
-                definitions[index].setExamine(reader.get("examine").getAsString());
-                definitions[index].setCombatLevel(reader.get("combat").getAsInt());
-                definitions[index].setNpcSize(reader.get("size").getAsInt());
-                definitions[index].setAttackable(reader.get("attackable").getAsBoolean());
-                definitions[index].setAggressive(reader.get("aggressive").getAsBoolean());
-                definitions[index].setRetreats(reader.get("retreats").getAsBoolean());
-                definitions[index].setPoisonous(reader.get("poisonous").getAsBoolean());
-                definitions[index].setRespawnTime(reader.get("respawn").getAsInt());
-                definitions[index].setMaxHit(reader.get("maxHit").getAsInt());
-                definitions[index].setHitpoints(reader.get("hitpoints").getAsInt());
-                definitions[index].setAttackSpeed(reader.get("attackSpeed").getAsInt());
-                definitions[index].setAttackAnimation(reader.get("attackAnim").getAsInt());
-                definitions[index].setDefenceAnimation(reader.get("defenceAnim").getAsInt());
-                definitions[index].setDeathAnimation(reader.get("deathAnim").getAsInt());
-                definitions[index].setAttackBonus(reader.get("attackBonus").getAsInt());
-                definitions[index].setDefenceMelee(reader.get("defenceMelee").getAsInt());
-                definitions[index].setDefenceRange(reader.get("defenceRange").getAsInt());
-                definitions[index].setDefenceMage(reader.get("defenceMage").getAsInt());
+                table[index] = new NpcDefinition();
+                table[index].setId(index);
+                table[index].setName(reader.get("name").getAsString());
+                table[index].setExamine(reader.get("examine").getAsString());
+                table[index].setCombatLevel(reader.get("combat").getAsInt());
+                table[index].setNpcSize(reader.get("size").getAsInt());
+                table[index].setAttackable(reader.get("attackable").getAsBoolean());
+                table[index].setAggressive(reader.get("aggressive").getAsBoolean());
+                table[index].setRetreats(reader.get("retreats").getAsBoolean());
+                table[index].setPoisonous(reader.get("poisonous").getAsBoolean());
+                table[index].setRespawnTime(reader.get("respawn").getAsInt());
+                table[index].setMaxHit(reader.get("maxHit").getAsInt());
+                table[index].setHitpoints(reader.get("hitpoints").getAsInt());
+                table[index].setAttackSpeed(reader.get("attackSpeed").getAsInt());
+                table[index].setAttackAnimation(reader.get("attackAnim").getAsInt());
+                table[index].setDefenceAnimation(reader.get("defenceAnim").getAsInt());
+                table[index].setDeathAnimation(reader.get("deathAnim").getAsInt());
+                table[index].setAttackBonus(reader.get("attackBonus").getAsInt());
+                table[index].setDefenceMelee(reader.get("defenceMelee").getAsInt());
+                table[index].setDefenceRange(reader.get("defenceRange").getAsInt());
+                table[index].setDefenceMage(reader.get("defenceMage").getAsInt());
             }
 
             @Override
@@ -116,6 +134,146 @@ public class NpcDefinition {
         };
     }
 
+    /**
+     * Prepares the binary cache for loading npc definitions, which parses them
+     * with {@link #parseNpcs()} whenever the cache is out of date.
+     * 
+     * @return the binary definition cache.
+     */
+    public static DefinitionCache<NpcDefinition> cacheNpcs() {
+        return cacheNpcs(definitions);
+    }
+
+    /**
+     * Prepares the binary cache for loading npc definitions into the argued
+     * table, which parses them with {@link #parseNpcs(NpcDefinition[])}
+     * whenever the cache is out of date.
+     * 
+     * @param table
+     *            the table to load the definitions into.
+     * @return the binary definition cache.
+     */
+    public static DefinitionCache<NpcDefinition> cacheNpcs(NpcDefinition[] table) {
+        return new DefinitionCache<NpcDefinition>() {
+            @Override
+            protected void encode(NpcDefinition definition, ByteBuffer record) {
+                record.putShort((short) definition.getId());
+                putString(record, definition.getName());
+                putString(record, definition.getExamine());
+                record.putShort((short) definition.getCombatLevel());
+                record.put((byte) definition.getSize());
+                record.put((byte) ((definition.isAttackable() ? 1 : 0) | (definition.isAggressive() ? 2 : 0) | (definition.isRetreats() ? 4 : 0) | (definition.isPoisonous() ? 8 : 0)));
+                record.putInt(definition.getRespawnTime());
+                record.putShort((short) definition.getMaxHit());
+                record.putShort((short) definition.getHitpoints());
+                record.putInt(definition.getAttackSpeed());
+                record.putShort((short) definition.getAttackAnimation());
+                record.putShort((short) definition.getDefenceAnimation());
+                record.putShort((short) definition.getDeathAnimation());
+                record.putShort((short) definition.getAttackBonus());
+                record.putShort((short) definition.getDefenceMelee());
+                record.putShort((short) definition.getDefenceRange());
+                record.putShort((short) definition.getDefenceMage());
+            }
+
+            @Override
+            protected void decode(ByteBuffer record) {
+                int index = record.getShort();
+                table[index] = new NpcDefinition();
+                table[index].setId(index);
+                table[index].setName(getString(record));
+                table[index].setExamine(getString(record));
+                table[index].setCombatLevel(record.getShort());
+                table[index].setNpcSize(record.get());
+                int flags = record.get();
+                table[index].setAttackable((flags & 1) != 0);
+                table[index].setAggressive((flags & 2) != 0);
+                table[index].setRetreats((flags & 4) != 0);
+                table[index].setPoisonous((flags & 8) != 0);
+                table[index].setRespawnTime(record.getInt());
+                table[index].setMaxHit(record.getShort());
+                table[index].setHitpoints(record.getShort());
+                table[index].setAttackSpeed(record.getInt());
+                table[index].setAttackAnimation(record.getShort());
+                table[index].setDefenceAnimation(record.getShort());
+                table[index].setDeathAnimation(record.getShort());
+                table[index].setAttackBonus(record.getShort());
+                table[index].setDefenceMelee(record.getShort());
+                table[index].setDefenceRange(record.getShort());
+                table[index].setDefenceMage(record.getShort());
+            }
+
+            @Override
+            protected NpcDefinition[] definitions() {
+                return table;
+            }
+
+            @Override
+            protected JsonLoader parser() throws Exception {
+                return parseNpcs(table);
+            }
+
+            @Override
+            protected String cachePath() {
+                return "./data/cache/npc_definitions.dat";
+            }
+
+            @Override
+            protected int recordSize() {
+                return 40;
+            }
+
+            @Override
+            protected int version() {
+                return 1;
+            }
+        };
+    }
+
+    /**
+     * Prepares the npc definitions to be reloaded whenever their file
+     * changes. Definitions can be added or changed but not removed, since
+     * npcs using them could be in the world. Npcs look up their definition
+     * every time they need it, so most changes take effect straight away,
+     * but the maximum hitpoints and aggression of an npc only change once it
+     * respawns.
+     * 
+     * @return the reloadable npc definitions.
+     */
+    public static ReloadableData<NpcDefinition[]> reloadNpcs() {
+        return new ReloadableData<NpcDefinition[]>() {
+            @Override
+            public String filePath() {
+                return "./data/json/npcs/npc_definitions.json";
+            }
+
+            @Override
+            public NpcDefinition[] parse() throws Exception {
+                NpcDefinition[] table = new NpcDefinition[definitions.length];
+                cacheNpcs(table).load();
+                return table;
+            }
+
+            @Override
+            public void validate(NpcDefinition[] table) {
+                for (int i = 0; i < table.length; i++) {
+                    if (definitions[i] != null && table[i] == null) {
+                        throw new IllegalStateException(
+                            "Npc definition " + i + " can't be removed while the server is running!");
+                    } else if (table[i] != null && (table[i].getSize() < 1 || table[i].getHitpoints() < 0)) {
+                        throw new IllegalStateException(
+                            "Invalid size or hitpoints in npc definition " + i);
+                    }
+                }
+            }
+
+            @Override
+            public void swap(NpcDefinition[] table) {
+                definitions = table;
+            }
+        };
+    }
+
     /**
      * Gets an array containing all of the npc definitions.
      * 
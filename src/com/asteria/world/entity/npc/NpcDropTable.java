@@ -2,17 +2,20 @@ package com.asteria.world.entity.npc;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Random;
 
 import com.asteria.Main;
 import com.asteria.util.JsonLoader;
+import com.asteria.util.ReloadableData;
 import com.asteria.util.Utility;
 import com.asteria.world.entity.npc.drops.AlwaysDropModification;
 import com.asteria.world.entity.npc.drops.RingOfWealthModification;
 import com.asteria.world.entity.player.Player;
 import com.asteria.world.entity.player.PlayerRights;
 import com.asteria.world.item.Item;
+import com.asteria.world.item.ItemDefinition;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
@@ -25,7 +28,7 @@ import com.google.gson.JsonObject;
 public class NpcDropTable {
 
     /** A map of {@link Npc}s and their drop tables. */
-    private static Map<Integer, NpcDropTable> drops = new HashMap<>(100);
+    private static volatile Map<Integer, NpcDropTable> drops = new HashMap<>(100);
 
     /**
      * Will be used to generate a random number called a <code>roll</code> that
@@ -168,6 +171,21 @@ public class NpcDropTable {
      *             if any errors occur while preparing for load.
      */
     public static JsonLoader parseDrops() throws Exception {
+        return parseDrops(drops);
+    }
+
+    /**
+     * Prepares the dynamic json loader for loading npc drops into the argued
+     * table.
+     * 
+     * @param table
+     *            the table to load the drops into.
+     * @return the dynamic json loader.
+     * @throws Exception
+     *             if any errors occur while preparing for load.
+     */
+    public static JsonLoader parseDrops(Map<Integer, NpcDropTable> table)
+        throws Exception {
         return new JsonLoader() {
             @Override
             public void load(JsonObject reader, Gson builder) {
@@ -179,7 +197,7 @@ public class NpcDropTable {
                     NpcDrop[].class);
 
                 for (int id : identifiers) {
-                    NpcDropTable.getDrops().put(id,
+                    table.put(id,
                         new NpcDropTable(identifiers, dynamicTable, rareTable));
                 }
             }
@@ -191,6 +209,81 @@ public class NpcDropTable {
         };
     }
 
+    /**
+     * Prepares the npc drops to be reloaded whenever their file changes. Npcs
+     * look up their drop table when they die, so the new drops are used from
+     * the next death onward.
+     * 
+     * @return the reloadable npc drops.
+     */
+    public static ReloadableData<Map<Integer, NpcDropTable>> reloadDrops() {
+        return new ReloadableData<Map<Integer, NpcDropTable>>() {
+            @Override
+            public String filePath() {
+                return "./data/json/npcs/world_npc_drops.json";
+            }
+
+            @Override
+            public Map<Integer, NpcDropTable> parse() throws Exception {
+                Map<Integer, NpcDropTable> table = new HashMap<>(drops.size());
+                parseDrops(table).load();
+                return table;
+            }
+
+            @Override
+            public void validate(Map<Integer, NpcDropTable> table) {
+                for (Entry<Integer, NpcDropTable> entry : table.entrySet()) {
+                    if (entry.getValue().dynamic == null) {
+                        throw new IllegalStateException(
+                            "No dynamic drops for npc " + entry.getKey());
+                    }
+                    validateDrops(entry.getKey(), entry.getValue().dynamic);
+                    validateDrops(entry.getKey(), entry.getValue().rare);
+                }
+            }
+
+            @Override
+            public void swap(Map<Integer, NpcDropTable> table) {
+                drops = table;
+            }
+        };
+    }
+
+    /**
+     * Checks that every drop in the argued array drops an item that exists,
+     * in a sensible amount and with a chance between <code>0</code> and
+     * <code>1</code>.
+     * 
+     * @param npc
+     *            the npc the drops are for.
+     * @param table
+     *            the drops to check.
+     * @throws IllegalStateException
+     *             if any of the drops aren't valid.
+     */
+    private static void validateDrops(int npc, NpcDrop[] table) {
+        if (table == null) {
+            return;
+        }
+
+        for (NpcDrop drop : table) {
+            if (drop == null) {
+                continue;
+            }
+
+            if (drop.id < 0 || drop.id >= ItemDefinition.getDefinitions().length) {
+                throw new IllegalStateException(
+                    "Invalid item " + drop.id + " in drops of npc " + npc);
+            } else if (drop.minimum < 1 || drop.maximum < drop.minimum) {
+                throw new IllegalStateException(
+                    "Invalid amount " + drop.minimum + "-" + drop.maximum + " for item " + drop.id + " in drops of npc " + npc);
+            } else if (drop.bet < 0 || drop.bet > 1) {
+                throw new IllegalStateException(
+                    "Invalid chance " + drop.bet + " for item " + drop.id + " in drops of npc " + npc);
+            }
+        }
+    }
+
     /**
      * Gets the max possible size of the array that will hold the drops. Any
      * <code>null</code> elements will be filtered out when the items are
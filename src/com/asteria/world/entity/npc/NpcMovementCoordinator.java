@@ -1,6 +1,9 @@
 package com.asteria.world.entity.npc;
 
 import com.asteria.util.Utility;
+import com.asteria.world.entity.PathService;
+import com.asteria.world.map.CollisionMap;
+import com.asteria.world.map.CollisionMap.Flag;
 import com.asteria.world.map.Position;
 
 /**
@@ -64,17 +67,23 @@ public class NpcMovementCoordinator {
 
             // Coordinate the npc away from its original position.
             case HOME:
-                if (npc.getMovementQueue().isMovementDone()) {
-                    npc.getMovementQueue().walk(
-                        generateLocalPosition(coordinator.getRadius()));
+                if (npc.getMovementQueue().isMovementDone() && !npc.getMovementQueue().isPathRequested()) {
+                    Position position = generateLocalPosition(coordinator.getRadius());
+
+                    // Try again later if we can't stand on that position.
+                    if (CollisionMap.isFlagged(position.getX(),
+                        position.getY(), position.getZ(), Flag.BLOCKED)) {
+                        break;
+                    }
+                    PathService.request(npc, position);
                     coordinateState = CoordinateState.AWAY;
                 }
                 break;
 
             // Coordinate the npc back to its original position.
             case AWAY:
-                if (npc.getMovementQueue().isMovementDone()) {
-                    npc.getMovementQueue().walk(npc.getOriginalPosition());
+                if (npc.getMovementQueue().isMovementDone() && !npc.getMovementQueue().isPathRequested()) {
+                    PathService.request(npc, npc.getOriginalPosition());
                     coordinateState = CoordinateState.HOME;
                 }
                 break;
@@ -7,10 +7,10 @@ import com.asteria.engine.net.ProtocolBuffer.ByteOrder;
 import com.asteria.engine.net.ProtocolBuffer.ValueType;
 import com.asteria.engine.task.TaskManager;
 import com.asteria.util.Utility;
-import com.asteria.world.World;
 import com.asteria.world.entity.UpdateFlags.Flag;
 import com.asteria.world.entity.player.Player;
 import com.asteria.world.map.Position;
+import com.asteria.world.map.RegionManager;
 
 /**
  * Provides static utility methods for updating {@link Npc}s.
@@ -20,6 +20,9 @@ import com.asteria.world.map.Position;
  */
 public class NpcUpdating {
 
+    /** The distance npcs can be seen from, in squares. */
+    private static final int VIEW_DISTANCE = 15;
+
     /**
      * Updates all {@link Npc}s for the argued {@link Player}.
      * 
@@ -27,8 +30,33 @@ public class NpcUpdating {
      *            the player to update npcs for.
      */
     public static void update(Player player) throws Exception {
-        ProtocolBuffer out = new ProtocolBuffer(2048);
-        ProtocolBuffer block = new ProtocolBuffer(1024);
+
+        // Lease buffers sized from the last update, so they rarely need to
+        // grow.
+        ProtocolBuffer out = new ProtocolBuffer(player.getNpcUpdateSize() * 2);
+        ProtocolBuffer block = new ProtocolBuffer(player.getNpcUpdateSize());
+
+        try {
+            update(player, out, block);
+        } finally {
+            block.release();
+            out.release();
+        }
+    }
+
+    /**
+     * Writes the npc update packet for the argued {@link Player} into the
+     * argued buffers and sends it.
+     * 
+     * @param player
+     *            the player to update npcs for.
+     * @param out
+     *            the buffer the update packet is written to.
+     * @param block
+     *            the buffer the update blocks are written to.
+     */
+    private static void update(Player player, ProtocolBuffer out,
+        ProtocolBuffer block) throws Exception {
 
         // Initialize the update packet.
         out.buildVarShort(65, player.getSession());
@@ -54,8 +82,9 @@ public class NpcUpdating {
 
         // Update the local NPC list itself.
         int added = 0;
-        for (Npc npc : World.getNpcs()) {
-            if (npc == null || added == 15 || player.getLocalNpcs().size() >= 255 || player.getLocalNpcs().contains(
+        for (Npc npc : RegionManager.getNpcs(player.getPosition(),
+            VIEW_DISTANCE)) {
+            if (added == 15 || player.getLocalNpcs().size() >= 255 || player.getLocalNpcs().contains(
                 npc)) {
                 continue;
             }
@@ -83,6 +112,7 @@ public class NpcUpdating {
 
         // Ship the packet out to the client.
         out.endVarShort();
+        player.setNpcUpdateSize(out.getBuffer().position());
         out.sendPacket();
     }
 
@@ -225,13 +255,6 @@ public class NpcUpdating {
      */
     private static void appendSecondaryHit(ProtocolBuffer out, Npc npc)
         throws Exception {
-        if (!npc.isDead()) {
-            if (npc.getCurrentHP() <= 0) {
-                npc.setCurrentHealth(0);
-                TaskManager.submit(new NpcDeath(npc));
-            }
-        }
-
         out.writeByte(npc.getSecondaryHit().getDamage(), ValueType.A);
         out.writeByte(npc.getSecondaryHit().getType().getId(), ValueType.C);
         out.writeByte(npc.getCurrentHP(), ValueType.A);
@@ -263,21 +286,34 @@ public class NpcUpdating {
     }
 
     /**
-     * Update the primary hit block.
+     * Starts the death of the argued npc if it was hit this cycle and has no
+     * hitpoints left. This has to be called once per cycle on the game thread
+     * before any update blocks are written.
      * 
-     * @param out
-     *            the packet to write to.
      * @param npc
-     *            the npc to append this update for.
+     *            the npc to check.
      */
-    private static void appendPrimaryHit(ProtocolBuffer out, Npc npc) {
+    public static void checkDeath(Npc npc) {
+        if (!npc.getFlags().get(Flag.HIT) && !npc.getFlags().get(Flag.HIT_2)) {
+            return;
+        }
         if (!npc.isDead()) {
             if (npc.getCurrentHP() <= 0) {
                 npc.setCurrentHealth(0);
                 TaskManager.submit(new NpcDeath(npc));
             }
         }
+    }
 
+    /**
+     * Update the primary hit block.
+     * 
+     * @param out
+     *            the packet to write to.
+     * @param npc
+     *            the npc to append this update for.
+     */
+    private static void appendPrimaryHit(ProtocolBuffer out, Npc npc) {
         out.writeByte(npc.getPrimaryHit().getDamage(), ValueType.C);
         out.writeByte(npc.getPrimaryHit().getType().getId(), ValueType.S);
         out.writeByte(npc.getCurrentHP(), ValueType.S);
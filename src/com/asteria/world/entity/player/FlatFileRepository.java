@@ -0,0 +1,295 @@
+package com.asteria.world.entity.player;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.asteria.world.entity.combat.weapon.FightType;
+import com.asteria.world.entity.player.PlayerPersistence.FsyncPolicy;
+import com.asteria.world.entity.player.PlayerPersistence.ProfileFormat;
+import com.asteria.world.entity.player.content.Spellbook;
+import com.asteria.world.entity.player.skill.Skill;
+import com.asteria.world.item.Item;
+import com.asteria.world.map.Position;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * A {@link PlayerRepository} that keeps every character file in its own file,
+ * named after the player's username. Both json and binary character files can
+ * be loaded, and json character files are converted to binary ones the first
+ * time they are loaded if this repository saves binary character files. Files
+ * are always written to a temporary file first and then moved over the
+ * character file, so a crash part way through a save can never leave a half
+ * written character file behind.
+ * 
+ * @author lare96
+ * @author Ryley Kimmel <ryley.kimmel@live.com>
+ */
+public final class FlatFileRepository implements PlayerRepository {
+
+    /** A logger for printing information. */
+    private static Logger logger = Logger.getLogger(FlatFileRepository.class.getSimpleName());
+
+    /** The builder used to read json character files, which is safe to share. */
+    private static final Gson BUILDER = new GsonBuilder().create();
+
+    /** The builder used to write json character files, which is safe to share. */
+    private static final Gson PRETTY_BUILDER = new GsonBuilder().setPrettyPrinting().create();
+
+    /** The directory that character files are kept in. */
+    private final Path directory;
+
+    /** The format that character files are saved in. */
+    private final ProfileFormat format;
+
+    /** The policy used to flush written character files to disk. */
+    private final FsyncPolicy policy;
+
+    /**
+     * Create a new {@link FlatFileRepository}.
+     * 
+     * @param directory
+     *            the directory that character files are kept in.
+     * @param format
+     *            the format that character files are saved in.
+     * @param policy
+     *            the policy used to flush written character files to disk.
+     */
+    public FlatFileRepository(Path directory, ProfileFormat format,
+        FsyncPolicy policy) {
+        this.directory = directory;
+        this.format = format;
+        this.policy = policy;
+    }
+
+    @Override
+    public boolean load(Player player) throws IOException {
+        Path json = directory.resolve(player.getUsername() + ProfileFormat.JSON.getExtension());
+        Path binary = directory.resolve(player.getUsername() + ProfileFormat.BINARY.getExtension());
+
+        // Character files that haven't been converted yet take priority, but
+        // only while they're newer than the binary character file. A json
+        // character file that couldn't be moved out of the way after being
+        // converted is older than the binary one, and must never be read
+        // again or the progress since then would be lost.
+        if (Files.exists(json) && (!Files.exists(binary) || Files.getLastModifiedTime(
+            json).compareTo(Files.getLastModifiedTime(binary)) > 0)) {
+            try (Reader reader = Files.newBufferedReader(json, StandardCharsets.UTF_8)) {
+                decode((JsonObject) new JsonParser().parse(reader), player);
+            }
+
+            // Convert the character file if it isn't in the right format. The
+            // binary character file is written first, so if that fails the
+            // json character file is still the newest and nothing is lost.
+            if (format == ProfileFormat.BINARY) {
+                try {
+                    save(new PlayerSnapshot(player));
+                    backup(json);
+                } catch (Exception e) {
+                    logger.log(Level.WARNING, "Unable to convert " + json, e);
+                }
+            }
+            return true;
+        } else if (Files.exists(binary)) {
+            try (FileChannel channel = FileChannel.open(binary, StandardOpenOption.READ)) {
+                PlayerProfileCodec.read(channel, player);
+            }
+
+            // Try again to move a json character file that's already been
+            // converted out of the way.
+            if (Files.exists(json)) {
+                try {
+                    backup(json);
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "Unable to back up converted " + json, e);
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void save(PlayerSnapshot snapshot) throws IOException {
+        Path file = directory.resolve(snapshot.getUsername() + format.getExtension());
+        Path temp = directory.resolve(snapshot.getUsername() + format.getExtension() + ".tmp");
+
+        // Attempt to make the player save directory if it doesn't exist.
+        Files.createDirectories(directory);
+
+        // Write the data to the temporary file, and flush it to disk if
+        // needed.
+        ByteBuffer data = format == ProfileFormat.BINARY ? PlayerProfileCodec.encode(snapshot)
+            : StandardCharsets.UTF_8.encode(PRETTY_BUILDER.toJson(snapshot.toJson(PRETTY_BUILDER)));
+
+        try (FileChannel channel = FileChannel.open(temp,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+
+            if (policy != FsyncPolicy.NEVER) {
+                channel.force(false);
+            }
+        }
+
+        // Then replace the character file with it.
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        // Flush the directory entry too, if needed. Not every platform allows
+        // directories to be opened, so failing to is ignored.
+        if (policy == FsyncPolicy.DIRECTORY) {
+            try (FileChannel channel = FileChannel.open(directory,
+                StandardOpenOption.READ)) {
+                channel.force(true);
+            } catch (IOException e) {
+                // Not supported on this platform.
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+
+    }
+
+    /**
+     * Keeps the argued json character file as a backup once it has been
+     * converted, so that it will no longer be loaded.
+     * 
+     * @param json
+     *            the json character file.
+     * @throws IOException
+     *             if any I/O errors occur while moving the file.
+     */
+    public static void backup(Path json) throws IOException {
+        Files.move(json, json.resolveSibling(json.getFileName() + ".bak"),
+            StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Decodes the argued json character file into the argued player. Any
+     * properties missing from the character file are left as they are.
+     * 
+     * @param reader
+     *            the json character file.
+     * @param player
+     *            the player to decode the character file into.
+     */
+    public static void decode(JsonObject reader, Player player) {
+        if (reader.has("username")) {
+            player.setUsername(reader.get("username").getAsString());
+        }
+        if (reader.has("password")) {
+            player.setPassword(reader.get("password").getAsString());
+        }
+        if (reader.has("position")) {
+            player.getPosition().setAs(
+                BUILDER.fromJson(reader.get("position"), Position.class));
+        }
+        if (reader.has("staff-rights")) {
+            player.setRights(PlayerRights.valueOf(reader.get("staff-rights").getAsString()));
+        }
+        if (reader.has("gender")) {
+            player.setGender(reader.get("gender").getAsInt());
+        }
+        if (reader.has("appearance")) {
+            player.setAppearance(BUILDER.fromJson(
+                reader.get("appearance").getAsJsonArray(), int[].class));
+        }
+        if (reader.has("colors")) {
+            player.setColors(BUILDER.fromJson(
+                reader.get("colors").getAsJsonArray(), int[].class));
+        }
+        if (reader.has("run-toggled")) {
+            player.getMovementQueue().setRunToggled(
+                reader.get("run-toggled").getAsBoolean());
+        }
+        if (reader.has("new-player")) {
+            player.setNewPlayer(reader.get("new-player").getAsBoolean());
+        }
+        if (reader.has("inventory")) {
+            player.getInventory().setItems(
+                BUILDER.fromJson(reader.get("inventory").getAsJsonArray(),
+                    Item[].class));
+        }
+        if (reader.has("bank")) {
+            player.getBank().setItems(
+                BUILDER.fromJson(reader.get("bank").getAsJsonArray(),
+                    Item[].class));
+        }
+        if (reader.has("equipment")) {
+            player.getEquipment().setItems(
+                BUILDER.fromJson(reader.get("equipment").getAsJsonArray(),
+                    Item[].class));
+        }
+        if (reader.has("skills")) {
+            player.setSkills(BUILDER.fromJson(
+                reader.get("skills").getAsJsonArray(), Skill[].class));
+        }
+        if (reader.has("friends")) {
+            long[] friends = BUILDER.fromJson(
+                reader.get("friends").getAsJsonArray(), long[].class);
+
+            for (long l : friends) {
+                player.getFriends().add(l);
+            }
+        }
+        if (reader.has("ignores")) {
+            long[] ignores = BUILDER.fromJson(
+                reader.get("ignores").getAsJsonArray(), long[].class);
+
+            for (long l : ignores) {
+                player.getIgnores().add(l);
+            }
+        }
+        if (reader.has("run-energy")) {
+            player.setRunEnergy(reader.get("run-energy").getAsInt());
+        }
+        if (reader.has("spell-book")) {
+            player.setSpellbook(Spellbook.valueOf(reader.get("spell-book").getAsString()));
+        }
+        if (reader.has("is-banned")) {
+            player.setBanned(reader.get("is-banned").getAsBoolean());
+        }
+        if (reader.has("auto-retaliate")) {
+            player.setAutoRetaliate(reader.get("auto-retaliate").getAsBoolean());
+        }
+        if (reader.has("fight-type")) {
+            player.setFightType(FightType.valueOf(reader.get("fight-type").getAsString()));
+        }
+        if (reader.has("skull-timer")) {
+            player.setSkullTimer(reader.get("skull-timer").getAsInt());
+        }
+        if (reader.has("accept-aid")) {
+            player.setAcceptAid(reader.get("accept-aid").getAsBoolean());
+        }
+        if (reader.has("poison-damage")) {
+            player.setPoisonDamage(reader.get("poison-damage").getAsInt());
+        }
+        if (reader.has("teleblock-timer")) {
+            player.setTeleblockTimer(reader.get("teleblock-timer").getAsInt());
+        }
+        if (reader.has("special-amount")) {
+            player.setSpecialPercentage(reader.get("special-amount").getAsInt());
+        }
+    }
+}
@@ -0,0 +1,766 @@
+package com.asteria.world.entity.player;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import com.asteria.world.entity.player.PlayerPersistence.FsyncPolicy;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * A {@link PlayerRepository} that appends every saved character file to the
+ * end of a log, rather than keeping each one in its own file. The log is split
+ * into segment files, and an index of where the latest character file of every
+ * player is in the log is kept in memory, so loading a character file is a
+ * single positioned read no matter how many character files there are. <br>
+ * <br>
+ * 
+ * Every record in the log is made up of its length, a checksum, the player's
+ * username and then the character file itself in the
+ * {@link PlayerProfileCodec} format. The index is keyed by the full username
+ * and every record is checked against the username it was read for, so one
+ * player can never be handed another player's character file. The index is written to
+ * a checkpoint file every {@link #MAINTENANCE_INTERVAL} minutes and on close,
+ * so on startup only the records written after the last checkpoint have to be
+ * read. Any record that was only partially written before a crash is detected
+ * by its checksum and cut off. Sealed segments that are mostly made up of
+ * records that have since been replaced are compacted by moving their live
+ * records to the end of the log and deleting them.
+ * 
+ * @author lare96
+ */
+public final class LogStructuredRepository implements PlayerRepository {
+
+    /** A logger for printing information. */
+    private static Logger logger = Logger.getLogger(LogStructuredRepository.class.getSimpleName());
+
+    /** The size at which the active segment is sealed and a new one started. */
+    public static final long SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    /** The fraction of a sealed segment that must be dead to compact it. */
+    public static final double COMPACTION_THRESHOLD = 0.5;
+
+    /** The interval in minutes between checkpoints and compactions. */
+    public static final int MAINTENANCE_INTERVAL = 5;
+
+    /** The identifier at the start of the checkpoint file. */
+    private static final int CHECKPOINT_MAGIC = 0x41535443;
+
+    /** The version of the format the checkpoint file is written with. */
+    private static final int CHECKPOINT_VERSION = 2;
+
+    /** The name of the checkpoint file. */
+    private static final String CHECKPOINT = "index.checkpoint";
+
+    /** The prefix of the name of every segment file. */
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    /** The suffix of the name of every segment file. */
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /** The size of the header before every record. */
+    private static final int HEADER_SIZE = 8;
+
+    /** The size of every index entry in the checkpoint file, minus the name. */
+    private static final int ENTRY_SIZE = 18;
+
+    /** The directory the segment and checkpoint files are kept in. */
+    private final Path directory;
+
+    /** The policy used to flush written records to disk. */
+    private final FsyncPolicy policy;
+
+    /**
+     * The repository character files are imported from if they aren't in the
+     * log yet, or <code>null</code> if there is none.
+     */
+    private final PlayerRepository fallback;
+
+    /** The location of the latest record of every player, by username. */
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+
+    /** All of the segments that make up the log, by identifier. */
+    private final Map<Integer, Segment> segments = new ConcurrentHashMap<>();
+
+    /** The lock that stops segments being deleted while they're being read. */
+    private final ReadWriteLock segmentLock = new ReentrantReadWriteLock();
+
+    /** The lock held while appending to the log and updating the index. */
+    private final Object appendLock = new Object();
+
+    /** The thread that checkpoints and compacts the log. */
+    private final ScheduledExecutorService maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat(
+        "StorageThread").setPriority(Thread.MIN_PRIORITY).setDaemon(true).build());
+
+    /** The segment that records are appended to. */
+    private Segment active;
+
+    /**
+     * Create a new {@link LogStructuredRepository}.
+     * 
+     * @param directory
+     *            the directory the segment and checkpoint files are kept in.
+     * @param policy
+     *            the policy used to flush written records to disk.
+     * @param fallback
+     *            the repository character files are imported from if they
+     *            aren't in the log yet, or <code>null</code> if there is none.
+     */
+    private LogStructuredRepository(Path directory, FsyncPolicy policy,
+        PlayerRepository fallback) {
+        this.directory = directory;
+        this.policy = policy;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Opens the log in the argued directory, recovering the index from the
+     * last checkpoint and any records written since.
+     * 
+     * @param directory
+     *            the directory the segment and checkpoint files are kept in.
+     * @param policy
+     *            the policy used to flush written records to disk.
+     * @param fallback
+     *            the repository character files are imported from if they
+     *            aren't in the log yet, or <code>null</code> if there is none.
+     * @return the opened repository.
+     * @throws IOException
+     *             if any I/O errors occur while opening the log.
+     */
+    public static LogStructuredRepository open(Path directory,
+        FsyncPolicy policy, PlayerRepository fallback) throws IOException {
+        LogStructuredRepository repository = new LogStructuredRepository(
+            directory, policy, fallback);
+        repository.recover();
+        repository.maintenanceExecutor.scheduleWithFixedDelay(
+            repository::maintain, MAINTENANCE_INTERVAL, MAINTENANCE_INTERVAL,
+            TimeUnit.MINUTES);
+        return repository;
+    }
+
+    @Override
+    public boolean load(Player player) throws IOException {
+        String username = player.getUsername();
+        ByteBuffer record = null;
+
+        segmentLock.readLock().lock();
+        try {
+            Location location = index.get(username);
+
+            if (location != null) {
+                record = read(segments.get(location.segment), location,
+                    username);
+            }
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+
+        // Import the character file if it isn't in the log yet.
+        if (record == null) {
+            if (fallback != null && fallback.load(player)) {
+                save(new PlayerSnapshot(player));
+                return true;
+            }
+            return false;
+        }
+
+        PlayerProfileCodec.decode(record, player);
+
+        if (!player.getUsername().equals(username)) {
+            throw new IOException("Character file of " + player.getUsername() + " is stored under " + username + "!");
+        }
+        return true;
+    }
+
+    @Override
+    public void save(PlayerSnapshot snapshot) throws IOException {
+        byte[] username = snapshot.getUsername().getBytes(
+            StandardCharsets.UTF_8);
+        ByteBuffer payload = PlayerProfileCodec.encode(snapshot);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + 2 + username.length + payload.remaining());
+
+        record.position(HEADER_SIZE);
+        record.putShort((short) username.length);
+        record.put(username);
+        record.put(payload);
+        record.flip();
+        record.position(HEADER_SIZE);
+        int checksum = checksum(record.duplicate());
+        record.putInt(0, record.remaining());
+        record.putInt(4, checksum);
+        record.rewind();
+
+        synchronized (appendLock) {
+            append(snapshot.getUsername(), record);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        maintenanceExecutor.shutdown();
+
+        try {
+            maintenanceExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        checkpoint();
+
+        for (Segment segment : segments.values()) {
+            segment.channel.close();
+        }
+    }
+
+    /**
+     * Gets the amount of players that have a character file in the log.
+     * 
+     * @return the amount of players.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Checkpoints the index, and compacts any sealed segments that are mostly
+     * dead. This is executed every {@link #MAINTENANCE_INTERVAL} minutes.
+     */
+    private void maintain() {
+        try {
+            compact();
+            checkpoint();
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Error while maintaining the log!", e);
+        }
+    }
+
+    /**
+     * Opens every segment file and recovers the index, from the checkpoint
+     * file if it can be loaded and then from any records written after it.
+     * 
+     * @throws IOException
+     *             if any I/O errors occur while recovering.
+     */
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(
+            directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                int id = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(id, new Segment(id, path));
+            }
+        }
+
+        List<Integer> ids = new ArrayList<>(segments.keySet());
+        Collections.sort(ids);
+
+        // Load the checkpoint, which tells us where to start reading from.
+        long[] position = loadCheckpoint();
+        int fromSegment = position == null ? 0 : (int) position[0];
+        long fromOffset = position == null ? 0 : position[1];
+
+        for (int id : ids) {
+            if (id >= fromSegment) {
+                scan(segments.get(id), id == fromSegment ? fromOffset : 0,
+                    id == ids.get(ids.size() - 1));
+            }
+        }
+
+        // Drop anything that refers to a segment that no longer exists, and
+        // work out how much of every segment is dead.
+        index.values().removeIf(l -> !segments.containsKey(l.segment));
+        Map<Integer, Long> live = new HashMap<>();
+        index.values().forEach(l -> live.merge(l.segment, (long) l.length, Long::sum));
+        segments.values().forEach(s -> s.dead = s.size - live.getOrDefault(s.id, 0L));
+
+        // Continue appending to the last segment, or create the first one.
+        synchronized (appendLock) {
+            if (ids.isEmpty()) {
+                active = createSegment(1);
+            } else {
+                active = segments.get(ids.get(ids.size() - 1));
+            }
+        }
+        logger.info("Loaded " + index.size() + " character files from " + segments.size() + " segments!");
+    }
+
+    /**
+     * Reads every record in the argued segment from the argued offset onwards
+     * and adds them to the index. If a record is incomplete or its checksum
+     * doesn't match, reading stops there and the rest of the segment is cut off
+     * if it is the last segment.
+     * 
+     * @param segment
+     *            the segment to read.
+     * @param offset
+     *            the offset to start reading from.
+     * @param last
+     *            if this is the last segment in the log.
+     * @throws IOException
+     *             if any I/O errors occur while reading.
+     */
+    private void scan(Segment segment, long offset, boolean last)
+        throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        long size = segment.channel.size();
+
+        while (offset + HEADER_SIZE <= size) {
+            header.clear();
+            readFully(segment.channel, header, offset);
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+
+            if (length < 2 || offset + HEADER_SIZE + length > size) {
+                break;
+            }
+
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(segment.channel, payload, offset + HEADER_SIZE);
+            payload.flip();
+
+            if (checksum(payload.duplicate()) != checksum) {
+                break;
+            }
+            index.put(getName(payload), new Location(segment.id, offset,
+                HEADER_SIZE + length));
+            offset += HEADER_SIZE + length;
+        }
+
+        if (offset < size) {
+            logger.warning("Found " + (size - offset) + " bytes of incomplete records in " + segment.path + "!");
+
+            if (last) {
+                segment.channel.truncate(offset);
+                size = offset;
+            }
+        }
+        segment.size = size;
+    }
+
+    /**
+     * Appends the argued record to the active segment and points the index at
+     * it, starting a new segment if the active one is full. This must only be
+     * called while holding {@link #appendLock}.
+     * 
+     * @param username
+     *            the username the record belongs to.
+     * @param record
+     *            the record to append.
+     * @throws IOException
+     *             if any I/O errors occur while appending.
+     */
+    private void append(String username, ByteBuffer record)
+        throws IOException {
+        int length = record.remaining();
+
+        if (active.size > 0 && active.size + length > SEGMENT_SIZE) {
+            active = createSegment(active.id + 1);
+        }
+
+        long offset = active.size;
+
+        while (record.hasRemaining()) {
+            active.channel.write(record, offset + record.position());
+        }
+
+        if (policy != FsyncPolicy.NEVER) {
+            active.channel.force(false);
+        }
+        active.size += length;
+
+        Location previous = index.put(username, new Location(active.id, offset,
+            length));
+
+        if (previous != null) {
+            Segment segment = segments.get(previous.segment);
+
+            if (segment != null) {
+                segment.dead += previous.length;
+            }
+        }
+    }
+
+    /**
+     * Reads the record at the argued location, and checks that it is intact
+     * and belongs to the argued username.
+     * 
+     * @param segment
+     *            the segment the record is in.
+     * @param location
+     *            the location of the record.
+     * @param username
+     *            the username the record should belong to.
+     * @return the record, positioned at the start of the character file.
+     * @throws IOException
+     *             if any I/O errors occur while reading, or the record isn't
+     *             intact or belongs to someone else.
+     */
+    private ByteBuffer read(Segment segment, Location location,
+        String username) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(location.length);
+        readFully(segment.channel, record, location.offset);
+        record.flip();
+
+        int length = record.getInt();
+        int checksum = record.getInt();
+
+        if (length != location.length - HEADER_SIZE || checksum(record.duplicate()) != checksum) {
+            throw new IOException("Corrupt record in " + segment.path + " at " + location.offset + "!");
+        }
+
+        String name = getName(record);
+
+        if (!name.equals(username)) {
+            throw new IOException("Record in " + segment.path + " at " + location.offset + " belongs to " + name + ", not " + username + "!");
+        }
+        return record;
+    }
+
+    /**
+     * Compacts every sealed segment that has at least
+     * {@link #COMPACTION_THRESHOLD} of its bytes dead.
+     * 
+     * @throws IOException
+     *             if any I/O errors occur while compacting.
+     */
+    private void compact() throws IOException {
+        for (Segment segment : new ArrayList<>(segments.values())) {
+            synchronized (appendLock) {
+                if (segment == active || segment.dead < segment.size * COMPACTION_THRESHOLD) {
+                    continue;
+                }
+            }
+            compact(segment);
+        }
+    }
+
+    /**
+     * Moves every live record in the argued segment to the end of the log, and
+     * then deletes the segment.
+     * 
+     * @param segment
+     *            the segment to compact.
+     * @throws IOException
+     *             if any I/O errors occur while compacting.
+     */
+    private void compact(Segment segment) throws IOException {
+        int moved = 0;
+
+        for (Entry<String, Location> entry : index.entrySet()) {
+            if (entry.getValue().segment != segment.id) {
+                continue;
+            }
+
+            synchronized (appendLock) {
+                Location location = index.get(entry.getKey());
+
+                // Skip records that were replaced while compacting.
+                if (location == null || location.segment != segment.id) {
+                    continue;
+                }
+
+                ByteBuffer record = read(segment, location, entry.getKey());
+                record.rewind();
+                append(entry.getKey(), record);
+                moved++;
+            }
+        }
+
+        segmentLock.writeLock().lock();
+        try {
+            segments.remove(segment.id);
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        } finally {
+            segmentLock.writeLock().unlock();
+        }
+        logger.info("Compacted " + segment.path + ", moved " + moved + " character files!");
+    }
+
+    /**
+     * Writes the index to the checkpoint file, along with the position in the
+     * log it is up to date with.
+     * 
+     * @throws IOException
+     *             if any I/O errors occur while writing.
+     */
+    private void checkpoint() throws IOException {
+        List<Entry<String, Location>> entries;
+        int segment;
+        long offset;
+
+        synchronized (appendLock) {
+            entries = new ArrayList<>(index.entrySet());
+            segment = active.id;
+            offset = active.size;
+        }
+
+        List<byte[]> names = new ArrayList<>(entries.size());
+        int size = 24 + (entries.size() * ENTRY_SIZE) + 4;
+
+        for (Entry<String, Location> entry : entries) {
+            byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            size += name.length;
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        buf.putInt(CHECKPOINT_MAGIC);
+        buf.putInt(CHECKPOINT_VERSION);
+        buf.putInt(segment);
+        buf.putLong(offset);
+        buf.putInt(entries.size());
+
+        for (int i = 0; i < entries.size(); i++) {
+            Entry<String, Location> entry = entries.get(i);
+            buf.putShort((short) names.get(i).length);
+            buf.put(names.get(i));
+            buf.putInt(entry.getValue().segment);
+            buf.putLong(entry.getValue().offset);
+            buf.putInt(entry.getValue().length);
+        }
+
+        ByteBuffer contents = buf.duplicate();
+        contents.flip();
+        buf.putInt(checksum(contents));
+        buf.flip();
+
+        Path file = directory.resolve(CHECKPOINT);
+        Path temp = directory.resolve(CHECKPOINT + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            channel.force(false);
+        }
+
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Loads the index from the checkpoint file.
+     * 
+     * @return the segment and offset the checkpoint is up to date with, or
+     *         <code>null</code> if there is no checkpoint or it is corrupt.
+     * @throws IOException
+     *             if any I/O errors occur while reading.
+     */
+    private long[] loadCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT);
+
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file));
+
+        if (buf.remaining() < 28) {
+            logger.warning("Ignoring truncated checkpoint " + file + "!");
+            return null;
+        }
+
+        ByteBuffer contents = buf.duplicate();
+        contents.limit(buf.limit() - 4);
+
+        if (buf.getInt() != CHECKPOINT_MAGIC || buf.getInt() != CHECKPOINT_VERSION || checksum(contents) != buf.getInt(buf.limit() - 4)) {
+            logger.warning("Ignoring corrupt checkpoint " + file + "!");
+            return null;
+        }
+
+        int segment = buf.getInt();
+        long offset = buf.getLong();
+        int count = buf.getInt();
+
+        for (int i = 0; i < count; i++) {
+            index.put(getName(buf), new Location(buf.getInt(), buf.getLong(),
+                buf.getInt()));
+        }
+        return new long[] { segment, offset };
+    }
+
+    /**
+     * Creates a new empty segment file with the argued identifier.
+     * 
+     * @param id
+     *            the identifier of the segment.
+     * @return the new segment.
+     * @throws IOException
+     *             if any I/O errors occur while creating the segment.
+     */
+    private Segment createSegment(int id) throws IOException {
+        Segment segment = new Segment(id, directory.resolve(String.format(
+            "%s%08d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX)));
+        segments.put(id, segment);
+
+        if (policy == FsyncPolicy.DIRECTORY) {
+            try (FileChannel channel = FileChannel.open(directory,
+                StandardOpenOption.READ)) {
+                channel.force(true);
+            } catch (IOException e) {
+                // Not supported on this platform.
+            }
+        }
+        return segment;
+    }
+
+    /**
+     * Reads from the argued channel at the argued position until the argued
+     * buffer is full.
+     * 
+     * @param channel
+     *            the channel to read from.
+     * @param buf
+     *            the buffer to read into.
+     * @param position
+     *            the position to start reading from.
+     * @throws IOException
+     *             if any I/O errors occur while reading, or the end of the
+     *             channel is reached first.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buf,
+        long position) throws IOException {
+        int start = buf.position();
+
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, position + (buf.position() - start)) == -1) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    /**
+     * Calculates the checksum of the remaining bytes in the argued buffer.
+     * 
+     * @param buf
+     *            the buffer to calculate the checksum of.
+     * @return the checksum.
+     */
+    private static int checksum(ByteBuffer buf) {
+        CRC32 crc = new CRC32();
+        crc.update(buf);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Reads a username, prefixed by its length, from the argued buffer.
+     * 
+     * @param buf
+     *            the buffer to read the username from.
+     * @return the username.
+     */
+    private static String getName(ByteBuffer buf) {
+        byte[] name = new byte[buf.getShort() & 0xffff];
+        buf.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The location of a single record in the log.
+     * 
+     * @author lare96
+     */
+    private static final class Location {
+
+        /** The identifier of the segment the record is in. */
+        private final int segment;
+
+        /** The offset of the record within the segment. */
+        private final long offset;
+
+        /** The length of the record, including the header. */
+        private final int length;
+
+        /**
+         * Create a new {@link Location}.
+         * 
+         * @param segment
+         *            the identifier of the segment the record is in.
+         * @param offset
+         *            the offset of the record within the segment.
+         * @param length
+         *            the length of the record, including the header.
+         */
+        public Location(int segment, long offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * A single segment file of the log.
+     * 
+     * @author lare96
+     */
+    private static final class Segment {
+
+        /** The identifier of this segment. */
+        private final int id;
+
+        /** The path to the segment file. */
+        private final Path path;
+
+        /** The channel used to read and write the segment file. */
+        private final FileChannel channel;
+
+        /** The amount of bytes of records in this segment. */
+        private volatile long size;
+
+        /** The amount of bytes of records that have since been replaced. */
+        private long dead;
+
+        /**
+         * Create a new {@link Segment}, creating the segment file if it doesn't
+         * exist.
+         * 
+         * @param id
+         *            the identifier of this segment.
+         * @param path
+         *            the path to the segment file.
+         * @throws IOException
+         *             if any I/O errors occur while opening the segment file.
+         */
+        public Segment(int id, Path path) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.size = channel.size();
+        }
+    }
+}
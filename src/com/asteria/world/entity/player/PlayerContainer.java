@@ -0,0 +1,100 @@
+package com.asteria.world.entity.player;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.asteria.world.entity.EntityContainer;
+
+/**
+ * An {@link EntityContainer} for players that also indexes every player by
+ * their username hash and by their username, so online players can be found
+ * without searching through every slot. <br>
+ * <br>
+ * 
+ * The container itself should only be modified on the game thread, but the
+ * lookups in this class are safe to use from any thread.
+ * 
+ * @author lare96
+ */
+public final class PlayerContainer extends EntityContainer<Player> {
+
+    /** The players in this container, by username hash. */
+    private final Map<Long, Player> byHash = new ConcurrentHashMap<>();
+
+    /** The players in this container, by normalized username. */
+    private final Map<String, Player> byName = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new {@link PlayerContainer} with the specified capacity.
+     * 
+     * @param capacity
+     *            the maximum amount of players this container is allowed to
+     *            hold.
+     */
+    public PlayerContainer(int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    public boolean add(Player e) {
+        super.add(e);
+        byHash.put(e.getUsernameHash(), e);
+        byName.put(normalize(e.getUsername()), e);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!super.remove(o)) {
+            return false;
+        }
+
+        Player player = (Player) o;
+        byHash.remove(player.getUsernameHash(), player);
+        byName.remove(normalize(player.getUsername()), player);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        byHash.clear();
+        byName.clear();
+    }
+
+    /**
+     * Gets the player with the argued username hash.
+     * 
+     * @param hash
+     *            the username hash of the player.
+     * @return the player, or an empty optional if no such player is online.
+     */
+    public Optional<Player> getByHash(long hash) {
+        return Optional.ofNullable(byHash.get(hash));
+    }
+
+    /**
+     * Gets the player with the argued username. The username is normalized the
+     * same way as it is on login, so the case and any underscores don't
+     * matter.
+     * 
+     * @param username
+     *            the username of the player.
+     * @return the player, or an empty optional if no such player is online.
+     */
+    public Optional<Player> getByName(String username) {
+        return Optional.ofNullable(byName.get(normalize(username)));
+    }
+
+    /**
+     * Normalizes the argued username the same way as it is on login.
+     * 
+     * @param username
+     *            the username to normalize.
+     * @return the normalized username.
+     */
+    private static String normalize(String username) {
+        return username.toLowerCase().replace('_', ' ').trim();
+    }
+}
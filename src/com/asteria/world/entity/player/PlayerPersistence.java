@@ -0,0 +1,502 @@
+package com.asteria.world.entity.player;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import com.asteria.engine.GameEngine;
+import com.asteria.engine.metrics.Histogram;
+import com.asteria.engine.metrics.Metrics;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * An asynchronous pipeline that saves character files on a dedicated pool of
+ * worker threads. A {@link PlayerSnapshot} is taken on the game thread when a
+ * save is requested, and the snapshot is then serialized and written by the
+ * workers. If a player is saved again before their last save has been written,
+ * only the newest snapshot is written. Saves of every player at once are
+ * throttled so they don't saturate the disk, and are written by their own
+ * workers so saves of single players (such as on logout) are written straight
+ * away instead of waiting behind them. A character file is never loaded while
+ * a save for it is still waiting or being written, see
+ * {@link #awaitSaves(String)}.
+ * 
+ * @author lare96
+ */
+public final class PlayerPersistence {
+
+    /**
+     * The policies that can be used to flush written character files to disk.
+     * 
+     * @author lare96
+     */
+    public enum FsyncPolicy {
+
+        /** Never flush files, and leave it up to the operating system. */
+        NEVER,
+
+        /** Flush the contents of every file before it replaces the old one. */
+        FILE,
+
+        /** Flush the contents of every file, and the directory afterwards. */
+        DIRECTORY
+    }
+
+    /**
+     * The formats that character files can be saved in.
+     * 
+     * @author lare96
+     */
+    public enum ProfileFormat {
+
+        /** Readable json character files. */
+        JSON(".json"),
+
+        /** Compact binary character files, see {@link PlayerProfileCodec}. */
+        BINARY(".dat");
+
+        /** The extension of character files saved in this format. */
+        private final String extension;
+
+        /**
+         * Create a new {@link ProfileFormat}.
+         * 
+         * @param extension
+         *            the extension of character files saved in this format.
+         */
+        private ProfileFormat(String extension) {
+            this.extension = extension;
+        }
+
+        /**
+         * Gets the extension of character files saved in this format.
+         * 
+         * @return the extension.
+         */
+        public final String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * The backends that character files can be stored in.
+     * 
+     * @author lare96
+     */
+    public enum StorageBackend {
+
+        /** Every character file in its own file, see {@link FlatFileRepository}. */
+        FLAT_FILE,
+
+        /** An append-only log, see {@link LogStructuredRepository}. */
+        LOG_STRUCTURED
+    }
+
+    /** A logger for printing information. */
+    private static Logger logger = Logger.getLogger(PlayerPersistence.class.getSimpleName());
+
+    /** The directory that character files are stored in. */
+    public static final Path DIRECTORY = Paths.get("./data/players/");
+
+    /** The backend that character files are stored in. */
+    public static final StorageBackend STORAGE_BACKEND = StorageBackend.FLAT_FILE;
+
+    /** The format character files are saved in. */
+    public static final ProfileFormat PROFILE_FORMAT = ProfileFormat.BINARY;
+
+    /** The policy used to flush written character files to disk. */
+    public static final FsyncPolicy FSYNC_POLICY = FsyncPolicy.FILE;
+
+    /** The amount of worker threads that will write unthrottled saves. */
+    private static final int SAVE_THREADS = 2;
+
+    /** The amount of worker threads that will write throttled saves. */
+    private static final int THROTTLED_SAVE_THREADS = 2;
+
+    /** The maximum amount of throttled saves written every second. */
+    private static final double THROTTLED_SAVES_PER_SECOND = 50;
+
+    /** The maximum amount of seconds to wait for saves on shutdown. */
+    private static final int SHUTDOWN_TIMEOUT = 30;
+
+    /** The maximum amount of seconds a login will wait for a save. */
+    private static final int LOAD_TIMEOUT = 10;
+
+    /** The thread pool that will write unthrottled character files. */
+    private static ThreadPoolExecutor saveExecutor = createSavePool(
+        SAVE_THREADS, "PersistenceThread");
+
+    /** The thread pool that will write throttled character files. */
+    private static ThreadPoolExecutor throttledExecutor = createSavePool(
+        THROTTLED_SAVE_THREADS, "ThrottledPersistenceThread");
+
+    /** The saves waiting to be written, by username. */
+    private static final Map<String, SaveRequest> pendingSaves = new ConcurrentHashMap<>();
+
+    /** The usernames that a worker is currently writing saves for. */
+    private static final Set<String> writing = ConcurrentHashMap.newKeySet();
+
+    /** The usernames waiting for a worker on the throttled thread pool. */
+    private static final Set<String> throttledQueue = ConcurrentHashMap.newKeySet();
+
+    /** The sequence number of the last save requested for every player. */
+    private static final Map<String, Long> requested = new ConcurrentHashMap<>();
+
+    /** The sequence number handed out to the last save that was requested. */
+    private static final AtomicLong sequence = new AtomicLong();
+
+    /** The repository character files are loaded from and saved to. */
+    private static volatile PlayerRepository repository;
+
+    /** The rate limiter that throttles saves. */
+    private static final RateLimiter limiter = RateLimiter.create(THROTTLED_SAVES_PER_SECOND);
+
+    /** If throttling is disabled because the server is shutting down. */
+    private static volatile boolean flushing;
+
+    /** The time taken to serialize and write every save. */
+    private static final Histogram WRITE_TIME = Metrics.histogram("player_save_seconds");
+
+    /** The time between every save being requested and being written. */
+    private static final Histogram SAVE_LATENCY = Metrics.histogram("player_save_latency_seconds");
+
+    /** The amount of saves that have been written. */
+    private static final LongAdder SAVES = Metrics.counter("player_saves_total");
+
+    /** The amount of saves replaced by a newer save before being written. */
+    private static final LongAdder COALESCED = Metrics.counter("player_saves_coalesced_total");
+
+    /** The amount of saves that failed to be written. */
+    private static final LongAdder FAILED = Metrics.counter("player_saves_failed_total");
+
+    static {
+        Metrics.gauge("player_saves_pending", pendingSaves::size);
+    }
+
+    /**
+     * The default constructor, will throw an
+     * {@link UnsupportedOperationException} if instantiated.
+     */
+    private PlayerPersistence() {
+        throw new UnsupportedOperationException(
+            "This class cannot be instantiated!");
+    }
+
+    /**
+     * Opens the repository that character files are loaded from and saved to.
+     * This should be called on startup so that any recovery is done before
+     * players start logging in.
+     */
+    public static void init() {
+        getRepository();
+    }
+
+    /**
+     * Gets the repository that character files are loaded from and saved to,
+     * opening it if it hasn't been opened yet.
+     * 
+     * @return the repository.
+     */
+    public static PlayerRepository getRepository() {
+        if (repository == null) {
+            synchronized (PlayerPersistence.class) {
+                if (repository == null) {
+                    repository = openRepository();
+                }
+            }
+        }
+        return repository;
+    }
+
+    /**
+     * Takes a snapshot of the argued player and submits it to be written by
+     * the workers. This method should only ever be called on the game thread.
+     * 
+     * @param player
+     *            the player to save.
+     * @param throttled
+     *            if this save should be throttled, which should be used when
+     *            saving a large amount of players at once.
+     */
+    public static void save(Player player, boolean throttled) {
+        SaveRequest request = new SaveRequest(new PlayerSnapshot(player),
+            throttled);
+        String username = request.snapshot.getUsername();
+
+        requested.put(username, sequence.incrementAndGet());
+        pendingSaves.merge(username, request, (previous, next) -> {
+            COALESCED.increment();
+            return new SaveRequest(next.snapshot, previous.throttled && next.throttled, previous.time);
+        });
+        execute(username, throttled);
+    }
+
+    /**
+     * Blocks the calling thread until every save for the argued username has
+     * been written, so the character file can be loaded without losing any
+     * progress. This should never be called on the game thread.
+     * 
+     * @param username
+     *            the username to wait for.
+     * @return <code>true</code> if every save was written, <code>false</code>
+     *         if {@link #LOAD_TIMEOUT} elapsed first.
+     * @throws InterruptedException
+     *             if the calling thread is interrupted while waiting.
+     */
+    public static boolean awaitSaves(String username)
+        throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(LOAD_TIMEOUT);
+
+        synchronized (writing) {
+            while (pendingSaves.containsKey(username) || writing.contains(username)) {
+                long remaining = deadline - System.nanoTime();
+
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(writing, remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the sequence number of the last save that was requested. This
+     * should be taken before a character file is loaded, so
+     * {@link #savedSince(String, long)} can tell if it went out of date.
+     * 
+     * @return the sequence number of the last save.
+     */
+    public static long getSaveSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Determines if a save has been requested for the argued username since
+     * the argued sequence number was taken, or if one is still waiting to be
+     * written. If so, a character file loaded after the sequence number was
+     * taken is out of date.
+     * 
+     * @param username
+     *            the username to check.
+     * @param since
+     *            the sequence number taken before the character file was
+     *            loaded.
+     * @return <code>true</code> if a save was requested since, or is still
+     *         being written.
+     */
+    public static boolean savedSince(String username, long since) {
+        return requested.getOrDefault(username, 0L) > since || pendingSaves.containsKey(username) || writing.contains(username);
+    }
+
+    /**
+     * Writes every save that is still waiting, without throttling, and then
+     * shuts down the workers. This blocks the calling thread until every save
+     * has been written or {@link #SHUTDOWN_TIMEOUT} has elapsed.
+     * 
+     * @throws InterruptedException
+     *             if the calling thread is interrupted while waiting.
+     */
+    public static void shutdown() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_TIMEOUT);
+        flushing = true;
+        throttledExecutor.shutdown();
+        saveExecutor.shutdown();
+
+        if (!throttledExecutor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS) || !saveExecutor.awaitTermination(
+            deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            logger.warning(pendingSaves.size() + " saves were not written before shutdown!");
+        }
+
+        try {
+            getRepository().close();
+        } catch (IOException e) {
+            logger.warning("Error while closing the player repository!");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Gets the amount of saves waiting to be written.
+     * 
+     * @return the amount of saves waiting.
+     */
+    public static int getPendingSaves() {
+        return pendingSaves.size();
+    }
+
+    /**
+     * Opens the repository for the configured {@link #STORAGE_BACKEND}.
+     * 
+     * @return the opened repository.
+     */
+    private static PlayerRepository openRepository() {
+        switch (STORAGE_BACKEND) {
+        case FLAT_FILE:
+            return new FlatFileRepository(DIRECTORY, PROFILE_FORMAT,
+                FSYNC_POLICY);
+        case LOG_STRUCTURED:
+            try {
+                return LogStructuredRepository.open(DIRECTORY.resolve("store"),
+                    FSYNC_POLICY, new FlatFileRepository(DIRECTORY,
+                        ProfileFormat.JSON, FSYNC_POLICY));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        default:
+            throw new IllegalStateException("Invalid storage backend!");
+        }
+    }
+
+    /**
+     * Creates a thread pool for writing character files. Unlike other pools,
+     * tasks submitted after it has been shut down are rejected with an
+     * exception instead of being discarded, so they can be written some other
+     * way.
+     * 
+     * @param size
+     *            the amount of worker threads.
+     * @param name
+     *            the name of the worker threads.
+     * @return the thread pool.
+     */
+    private static ThreadPoolExecutor createSavePool(int size, String name) {
+        ThreadPoolExecutor pool = GameEngine.createThreadPool(size, 1,
+            TimeUnit.MINUTES, new ThreadFactoryBuilder().setNameFormat(name).setPriority(
+                Thread.MIN_PRIORITY));
+        pool.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return pool;
+    }
+
+    /**
+     * Submits a worker that will write the saves for the argued username.
+     * Unthrottled saves always get a worker of their own, while throttled
+     * saves only get one if there isn't one waiting already. If the workers
+     * have been shut down, the saves are written on the calling thread
+     * instead.
+     * 
+     * @param username
+     *            the username to write the saves for.
+     * @param throttled
+     *            if the saves can be written by the throttled workers.
+     */
+    private static void execute(String username, boolean throttled) {
+        try {
+            if (!throttled) {
+                saveExecutor.execute(() -> drain(username));
+            } else if (throttledQueue.add(username)) {
+                throttledExecutor.execute(() -> {
+                    throttledQueue.remove(username);
+                    drain(username);
+                });
+            }
+        } catch (RejectedExecutionException e) {
+            throttledQueue.remove(username);
+            drain(username);
+        }
+    }
+
+    /**
+     * Writes saves for the argued username until none are left waiting. Only
+     * one thread will ever write saves for the same username at once, so if
+     * another thread already is this returns straight away and leaves the
+     * saves to it.
+     * 
+     * @param username
+     *            the username to write the saves for.
+     */
+    private static void drain(String username) {
+        if (!writing.add(username)) {
+            return;
+        }
+
+        try {
+            SaveRequest request;
+
+            while ((request = pendingSaves.remove(username)) != null) {
+                if (request.throttled && !flushing) {
+                    limiter.acquire();
+                }
+
+                long start = System.nanoTime();
+
+                if (new WritePlayerFileTask(request.snapshot, getRepository()).call()) {
+                    SAVES.increment();
+                } else {
+                    FAILED.increment();
+                }
+                WRITE_TIME.recordSince(start);
+                SAVE_LATENCY.recordSince(request.time);
+            }
+        } finally {
+            writing.remove(username);
+
+            synchronized (writing) {
+                writing.notifyAll();
+            }
+
+            // A save could have been requested after we stopped looking.
+            SaveRequest request = pendingSaves.get(username);
+
+            if (request != null) {
+                execute(username, request.throttled);
+            }
+        }
+    }
+
+    /**
+     * A snapshot waiting to be written by the workers.
+     * 
+     * @author lare96
+     */
+    private static final class SaveRequest {
+
+        /** The snapshot that will be written. */
+        private final PlayerSnapshot snapshot;
+
+        /** If this save should be throttled. */
+        private final boolean throttled;
+
+        /** The time this save was first requested, in nanoseconds. */
+        private final long time;
+
+        /**
+         * Create a new {@link SaveRequest}.
+         * 
+         * @param snapshot
+         *            the snapshot that will be written.
+         * @param throttled
+         *            if this save should be throttled.
+         * @param time
+         *            the time this save was first requested.
+         */
+        public SaveRequest(PlayerSnapshot snapshot, boolean throttled, long time) {
+            this.snapshot = snapshot;
+            this.throttled = throttled;
+            this.time = time;
+        }
+
+        /**
+         * Create a new {@link SaveRequest} requested right now.
+         * 
+         * @param snapshot
+         *            the snapshot that will be written.
+         * @param throttled
+         *            if this save should be throttled.
+         */
+        public SaveRequest(PlayerSnapshot snapshot, boolean throttled) {
+            this(snapshot, throttled, System.nanoTime());
+        }
+    }
+}
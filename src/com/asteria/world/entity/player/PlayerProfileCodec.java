@@ -0,0 +1,493 @@
+package com.asteria.world.entity.player;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import com.asteria.world.entity.combat.weapon.FightType;
+import com.asteria.world.entity.player.content.Spellbook;
+import com.asteria.world.entity.player.skill.Skill;
+import com.asteria.world.item.Item;
+import com.asteria.world.item.ItemContainer;
+import com.asteria.world.map.Position;
+
+/**
+ * Encodes {@link PlayerSnapshot}s into compact binary character files, and
+ * decodes them back into {@link Player}s. Every number is written as a
+ * variable length integer, so small values such as item identifiers, amounts
+ * and levels only take one or two bytes. Containers are written slot by slot
+ * with empty slots taking a single byte, and enums are written by name so they
+ * can be reordered without breaking existing files. <br>
+ * <br>
+ * 
+ * Every file starts with {@link #MAGIC} and the version of the format it was
+ * written with, so the format can be changed later on without having to
+ * convert every character file.
+ * 
+ * @author lare96
+ */
+public final class PlayerProfileCodec {
+
+    /** The identifier at the start of every binary character file. */
+    public static final int MAGIC = 0x41535450;
+
+    /** The version of the format that files are written with. */
+    public static final int VERSION = 1;
+
+    /** The flag set if running is toggled. */
+    private static final int FLAG_RUN_TOGGLED = 1;
+
+    /** The flag set if the player is new. */
+    private static final int FLAG_NEW_PLAYER = 1 << 1;
+
+    /** The flag set if the player is banned. */
+    private static final int FLAG_BANNED = 1 << 2;
+
+    /** The flag set if auto retaliate is toggled. */
+    private static final int FLAG_AUTO_RETALIATE = 1 << 3;
+
+    /** The flag set if the player accepts aid. */
+    private static final int FLAG_ACCEPT_AID = 1 << 4;
+
+    /** The most bytes a variable length long can take. */
+    private static final int MAX_VARLONG_SIZE = 10;
+
+    /** The most bytes a variable length integer can take. */
+    private static final int MAX_VARINT_SIZE = 5;
+
+    /**
+     * The default constructor, will throw an
+     * {@link UnsupportedOperationException} if instantiated.
+     */
+    private PlayerProfileCodec() {
+        throw new UnsupportedOperationException(
+            "This class cannot be instantiated!");
+    }
+
+    /**
+     * Encodes the argued snapshot into a new buffer.
+     * 
+     * @param snapshot
+     *            the snapshot to encode.
+     * @return the buffer holding the encoded snapshot, flipped and ready to be
+     *         read.
+     */
+    public static ByteBuffer encode(PlayerSnapshot snapshot) {
+        ByteBuffer buf = ByteBuffer.allocate(sizeOf(snapshot));
+
+        buf.putInt(MAGIC);
+        buf.put((byte) VERSION);
+        putString(buf, snapshot.getUsername());
+        putString(buf, snapshot.getPassword());
+        putVarInt(buf, snapshot.getPosition().getX());
+        putVarInt(buf, snapshot.getPosition().getY());
+        putVarInt(buf, snapshot.getPosition().getZ());
+        putString(buf, snapshot.getRights().name());
+        putVarInt(buf, snapshot.getGender());
+        putInts(buf, snapshot.getAppearance());
+        putInts(buf, snapshot.getColors());
+        putVarInt(buf, (snapshot.isRunToggled() ? FLAG_RUN_TOGGLED : 0) | (snapshot.isNewPlayer() ? FLAG_NEW_PLAYER : 0) | (snapshot.isBanned() ? FLAG_BANNED : 0) | (snapshot.isAutoRetaliate() ? FLAG_AUTO_RETALIATE : 0) | (snapshot.isAcceptAid() ? FLAG_ACCEPT_AID : 0));
+        putItems(buf, snapshot.getInventory());
+        putItems(buf, snapshot.getBank());
+        putItems(buf, snapshot.getEquipment());
+        putVarInt(buf, snapshot.getSkills().length);
+
+        for (Skill skill : snapshot.getSkills()) {
+            putVarInt(buf, skill.getLevel());
+            putVarInt(buf, skill.getLevelForExperience());
+            putVarInt(buf, skill.getExperience());
+        }
+
+        putLongs(buf, snapshot.getFriends());
+        putLongs(buf, snapshot.getIgnores());
+        putSignedVarInt(buf, snapshot.getRunEnergy());
+        putString(buf, snapshot.getSpellbook().name());
+        putString(buf, snapshot.getFightType().name());
+        putSignedVarInt(buf, snapshot.getSkullTimer());
+        putSignedVarInt(buf, snapshot.getPoisonDamage());
+        putSignedVarInt(buf, snapshot.getTeleblockTimer());
+        putSignedVarInt(buf, snapshot.getSpecialAmount());
+
+        buf.flip();
+        return buf;
+    }
+
+    /**
+     * Encodes the argued snapshot and writes it to the argued channel.
+     * 
+     * @param snapshot
+     *            the snapshot to encode.
+     * @param channel
+     *            the channel to write the encoded snapshot to.
+     * @throws IOException
+     *             if any I/O errors occur while writing.
+     */
+    public static void write(PlayerSnapshot snapshot,
+        WritableByteChannel channel) throws IOException {
+        ByteBuffer buf = encode(snapshot);
+
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+    }
+
+    /**
+     * Decodes the argued buffer into the argued player.
+     * 
+     * @param buf
+     *            the buffer holding the encoded character file.
+     * @param player
+     *            the player to decode the character file into.
+     * @throws IllegalArgumentException
+     *             if the buffer doesn't hold a binary character file, or was
+     *             written with an unsupported version.
+     */
+    public static void decode(ByteBuffer buf, Player player) {
+        if (buf.remaining() < 5 || buf.getInt() != MAGIC) {
+            throw new IllegalArgumentException(
+                "Not a binary character file!");
+        }
+
+        int version = buf.get() & 0xff;
+
+        if (version != VERSION) {
+            throw new IllegalArgumentException(
+                "Unsupported character file version: " + version);
+        }
+
+        player.setUsername(getString(buf));
+        player.setPassword(getString(buf));
+        player.getPosition().setAs(
+            new Position(getVarInt(buf), getVarInt(buf), getVarInt(buf)));
+        player.setRights(PlayerRights.valueOf(getString(buf)));
+        player.setGender(getVarInt(buf));
+        player.setAppearance(getInts(buf));
+        player.setColors(getInts(buf));
+
+        int flags = getVarInt(buf);
+        player.getMovementQueue().setRunToggled((flags & FLAG_RUN_TOGGLED) != 0);
+        player.setNewPlayer((flags & FLAG_NEW_PLAYER) != 0);
+        player.setBanned((flags & FLAG_BANNED) != 0);
+        player.setAutoRetaliate((flags & FLAG_AUTO_RETALIATE) != 0);
+        player.setAcceptAid((flags & FLAG_ACCEPT_AID) != 0);
+        getItems(buf, player.getInventory());
+        getItems(buf, player.getBank());
+        getItems(buf, player.getEquipment());
+
+        Skill[] skills = new Skill[getVarInt(buf)];
+
+        for (int i = 0; i < skills.length; i++) {
+            int level = getVarInt(buf);
+            int realLevel = getVarInt(buf);
+            skills[i] = new Skill(level, realLevel, getVarInt(buf));
+        }
+        player.setSkills(skills);
+
+        for (long friend : getLongs(buf)) {
+            player.getFriends().add(friend);
+        }
+        for (long ignore : getLongs(buf)) {
+            player.getIgnores().add(ignore);
+        }
+
+        player.setRunEnergy(getSignedVarInt(buf));
+        player.setSpellbook(Spellbook.valueOf(getString(buf)));
+        player.setFightType(FightType.valueOf(getString(buf)));
+        player.setSkullTimer(getSignedVarInt(buf));
+        player.setPoisonDamage(getSignedVarInt(buf));
+        player.setTeleblockTimer(getSignedVarInt(buf));
+        player.setSpecialPercentage(getSignedVarInt(buf));
+    }
+
+    /**
+     * Reads an entire character file from the argued channel and decodes it
+     * into the argued player.
+     * 
+     * @param channel
+     *            the channel to read the character file from.
+     * @param player
+     *            the player to decode the character file into.
+     * @throws IOException
+     *             if any I/O errors occur while reading.
+     */
+    public static void read(FileChannel channel, Player player)
+        throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate((int) channel.size());
+
+        while (buf.hasRemaining()) {
+            if (channel.read(buf) == -1) {
+                throw new IOException("Unexpected end of character file!");
+            }
+        }
+        buf.flip();
+        decode(buf, player);
+    }
+
+    /**
+     * Calculates the most bytes the argued snapshot could take once encoded.
+     * 
+     * @param snapshot
+     *            the snapshot to calculate the size of.
+     * @return the most bytes the snapshot could take.
+     */
+    private static int sizeOf(PlayerSnapshot snapshot) {
+        int size = 5;
+
+        size += sizeOf(snapshot.getUsername()) + sizeOf(snapshot.getPassword());
+        size += sizeOf(snapshot.getRights().name()) + sizeOf(snapshot.getSpellbook().name()) + sizeOf(snapshot.getFightType().name());
+        size += MAX_VARINT_SIZE * (snapshot.getAppearance().length + snapshot.getColors().length + 15);
+        size += MAX_VARINT_SIZE * 2 * (snapshot.getInventory().length + snapshot.getBank().length + snapshot.getEquipment().length + 3);
+        size += MAX_VARINT_SIZE * 3 * (snapshot.getSkills().length + 1);
+        size += MAX_VARLONG_SIZE * (snapshot.getFriends().length + snapshot.getIgnores().length + 2);
+        return size;
+    }
+
+    /**
+     * Calculates the most bytes the argued string could take once encoded.
+     * 
+     * @param string
+     *            the string to calculate the size of.
+     * @return the most bytes the string could take.
+     */
+    private static int sizeOf(String string) {
+        return MAX_VARINT_SIZE + (string.length() * 3);
+    }
+
+    /**
+     * Writes a variable length integer. Negative values always take
+     * {@link #MAX_VARINT_SIZE} bytes, so they should be written with
+     * {@link #putSignedVarInt(ByteBuffer, int)} instead.
+     * 
+     * @param buf
+     *            the buffer to write to.
+     * @param value
+     *            the value to write.
+     */
+    private static void putVarInt(ByteBuffer buf, int value) {
+        while ((value & ~0x7f) != 0) {
+            buf.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    /**
+     * Reads a variable length integer.
+     * 
+     * @param buf
+     *            the buffer to read from.
+     * @return the value read.
+     */
+    private static int getVarInt(ByteBuffer buf) {
+        int value = 0;
+
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = buf.get();
+            value |= (b & 0x7f) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable length integer!");
+    }
+
+    /**
+     * Writes a variable length integer that is likely to be negative, using
+     * zig-zag encoding so small negative values stay small.
+     * 
+     * @param buf
+     *            the buffer to write to.
+     * @param value
+     *            the value to write.
+     */
+    private static void putSignedVarInt(ByteBuffer buf, int value) {
+        putVarInt(buf, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Reads a variable length integer written with zig-zag encoding.
+     * 
+     * @param buf
+     *            the buffer to read from.
+     * @return the value read.
+     */
+    private static int getSignedVarInt(ByteBuffer buf) {
+        int value = getVarInt(buf);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes a variable length long.
+     * 
+     * @param buf
+     *            the buffer to write to.
+     * @param value
+     *            the value to write.
+     */
+    private static void putVarLong(ByteBuffer buf, long value) {
+        while ((value & ~0x7fL) != 0) {
+            buf.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    /**
+     * Reads a variable length long.
+     * 
+     * @param buf
+     *            the buffer to read from.
+     * @return the value read.
+     */
+    private static long getVarLong(ByteBuffer buf) {
+        long value = 0;
+
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = buf.get();
+            value |= (long) (b & 0x7f) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable length long!");
+    }
+
+    /**
+     * Writes a string prefixed with its length.
+     * 
+     * @param buf
+     *            the buffer to write to.
+     * @param string
+     *            the string to write.
+     */
+    private static void putString(ByteBuffer buf, String string) {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        putVarInt(buf, bytes.length);
+        buf.put(bytes);
+    }
+
+    /**
+     * Reads a string prefixed with its length.
+     * 
+     * @param buf
+     *            the buffer to read from.
+     * @return the string read.
+     */
+    private static String getString(ByteBuffer buf) {
+        byte[] bytes = new byte[getVarInt(buf)];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes an array of integers prefixed with its length.
+     * 
+     * @param buf
+     *            the buffer to write to.
+     * @param values
+     *            the values to write.
+     */
+    private static void putInts(ByteBuffer buf, int[] values) {
+        putVarInt(buf, values.length);
+
+        for (int value : values) {
+            putSignedVarInt(buf, value);
+        }
+    }
+
+    /**
+     * Reads an array of integers prefixed with its length.
+     * 
+     * @param buf
+     *            the buffer to read from.
+     * @return the values read.
+     */
+    private static int[] getInts(ByteBuffer buf) {
+        int[] values = new int[getVarInt(buf)];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getSignedVarInt(buf);
+        }
+        return values;
+    }
+
+    /**
+     * Writes an array of longs prefixed with its length.
+     * 
+     * @param buf
+     *            the buffer to write to.
+     * @param values
+     *            the values to write.
+     */
+    private static void putLongs(ByteBuffer buf, long[] values) {
+        putVarInt(buf, values.length);
+
+        for (long value : values) {
+            putVarLong(buf, value);
+        }
+    }
+
+    /**
+     * Reads an array of longs prefixed with its length.
+     * 
+     * @param buf
+     *            the buffer to read from.
+     * @return the values read.
+     */
+    private static long[] getLongs(ByteBuffer buf) {
+        long[] values = new long[getVarInt(buf)];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getVarLong(buf);
+        }
+        return values;
+    }
+
+    /**
+     * Writes the slots of a container prefixed with the amount of slots. Every
+     * slot is written as its item identifier plus one, or zero if the slot is
+     * empty, followed by the amount if it isn't empty.
+     * 
+     * @param buf
+     *            the buffer to write to.
+     * @param items
+     *            the slots to write.
+     */
+    private static void putItems(ByteBuffer buf, Item[] items) {
+        putVarInt(buf, items.length);
+
+        for (Item item : items) {
+            if (item == null) {
+                buf.put((byte) 0);
+                continue;
+            }
+            putVarInt(buf, item.getId() + 1);
+            putVarInt(buf, item.getAmount());
+        }
+    }
+
+    /**
+     * Reads the slots of a container into the argued container.
+     * 
+     * @param buf
+     *            the buffer to read from.
+     * @param container
+     *            the container to read the slots into.
+     */
+    private static void getItems(ByteBuffer buf, ItemContainer container) {
+        int slots = getVarInt(buf);
+        container.clear();
+
+        for (int i = 0; i < slots; i++) {
+            int id = getVarInt(buf) - 1;
+
+            if (id != -1) {
+                container.set(i, new Item(id, getVarInt(buf)));
+            }
+        }
+    }
+}
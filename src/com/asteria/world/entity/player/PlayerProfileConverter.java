@@ -0,0 +1,132 @@
+package com.asteria.world.entity.player;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.asteria.engine.net.Session;
+import com.asteria.world.entity.player.PlayerPersistence.ProfileFormat;
+import com.asteria.world.entity.player.PlayerPersistence.StorageBackend;
+
+/**
+ * Converts every character file in the character file directory into the
+ * configured {@link PlayerPersistence#STORAGE_BACKEND} and
+ * {@link PlayerPersistence#PROFILE_FORMAT} while the server is offline.
+ * Character files are converted in parallel, and the json character files are
+ * kept as backups just like when they are converted on login. This should be
+ * ran from the same directory as the server.
+ * 
+ * @author lare96
+ */
+public final class PlayerProfileConverter {
+
+    /** A logger for printing information. */
+    private static Logger logger = Logger.getLogger(PlayerProfileConverter.class.getSimpleName());
+
+    /** The repository character files are converted from. */
+    private static final PlayerRepository SOURCE = new FlatFileRepository(
+        PlayerPersistence.DIRECTORY, ProfileFormat.JSON,
+        PlayerPersistence.FSYNC_POLICY);
+
+    /**
+     * The default constructor, will throw an
+     * {@link UnsupportedOperationException} if instantiated.
+     */
+    private PlayerProfileConverter() {
+        throw new UnsupportedOperationException(
+            "This class cannot be instantiated!");
+    }
+
+    /**
+     * The main method that converts the character files.
+     * 
+     * @param args
+     *            the arguments, which are ignored.
+     */
+    public static void main(String[] args) {
+        boolean logStructured = PlayerPersistence.STORAGE_BACKEND == StorageBackend.LOG_STRUCTURED;
+
+        if (!logStructured && PlayerPersistence.PROFILE_FORMAT == ProfileFormat.JSON) {
+            logger.info("Character files are already stored as json, nothing to convert!");
+            return;
+        }
+
+        // Binary character files only need converting into the log.
+        Set<String> usernames = new HashSet<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(
+            PlayerPersistence.DIRECTORY)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+
+                for (ProfileFormat format : ProfileFormat.values()) {
+                    if (name.endsWith(format.getExtension()) && (logStructured || format == ProfileFormat.JSON)) {
+                        usernames.add(name.substring(0, name.length() - format.getExtension().length()));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Unable to list the character files!", e);
+            return;
+        }
+
+        // Quieten the logging of every single save.
+        Logger.getLogger(WritePlayerFileTask.class.getSimpleName()).setLevel(Level.WARNING);
+
+        logger.info("Converting " + usernames.size() + " character files...");
+        AtomicInteger converted = new AtomicInteger();
+        long start = System.nanoTime();
+
+        usernames.parallelStream().forEach(username -> {
+            if (convert(username)) {
+                converted.incrementAndGet();
+            }
+        });
+
+        try {
+            PlayerPersistence.getRepository().close();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Unable to close the player repository!", e);
+        }
+
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("Converted " + converted.get() + " of " + usernames.size() + " character files in " + elapsed + "ms!");
+    }
+
+    /**
+     * Converts the character file of a single player.
+     * 
+     * @param username
+     *            the username of the player to convert.
+     * @return <code>true</code> if the character file was converted.
+     */
+    private static boolean convert(String username) {
+        // The player is only loaded and saved, so they never need a socket.
+        Player player = new Session("0.0.0.0") {}.getPlayer();
+        player.setUsername(username);
+
+        try {
+            if (!SOURCE.load(player)) {
+                return false;
+            }
+            PlayerPersistence.getRepository().save(new PlayerSnapshot(player));
+
+            Path json = PlayerPersistence.DIRECTORY.resolve(username + ProfileFormat.JSON.getExtension());
+
+            if (Files.exists(json)) {
+                FlatFileRepository.backup(json);
+            }
+            return true;
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Unable to convert " + username, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.asteria.world.entity.player;
+
+import java.io.IOException;
+
+/**
+ * A backend that character files are loaded from and saved to. Every
+ * implementation must be safe to use from multiple threads at once, although
+ * the same character file will never be saved by more than one thread at a
+ * time.
+ * 
+ * @author lare96
+ */
+public interface PlayerRepository {
+
+    /**
+     * Loads the character file of the argued player into the player, using the
+     * player's username to find it.
+     * 
+     * @param player
+     *            the player to load the character file into.
+     * @return <code>true</code> if the character file was loaded, or
+     *         <code>false</code> if the player doesn't have one yet.
+     * @throws IOException
+     *             if any I/O errors occur while loading.
+     */
+    public boolean load(Player player) throws IOException;
+
+    /**
+     * Saves the argued snapshot as the character file of the player it was
+     * taken of, replacing any previous character file.
+     * 
+     * @param snapshot
+     *            the snapshot to save.
+     * @throws IOException
+     *             if any I/O errors occur while saving.
+     */
+    public void save(PlayerSnapshot snapshot) throws IOException;
+
+    /**
+     * Releases any resources held by this repository, once every save has
+     * been completed.
+     * 
+     * @throws IOException
+     *             if any I/O errors occur while closing.
+     */
+    public void close() throws IOException;
+}
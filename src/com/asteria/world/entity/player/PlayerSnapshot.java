@@ -0,0 +1,419 @@
+package com.asteria.world.entity.player;
+
+import java.util.Arrays;
+
+import com.asteria.world.entity.combat.weapon.FightType;
+import com.asteria.world.entity.player.content.Spellbook;
+import com.asteria.world.entity.player.skill.Skill;
+import com.asteria.world.item.Item;
+import com.asteria.world.map.Position;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+/**
+ * An immutable copy of everything in a {@link Player}'s character file, taken
+ * on the game thread. Taking a snapshot only copies fields and arrays, so it's
+ * cheap enough to do in the middle of a cycle, and the snapshot can then be
+ * serialized and written on any thread while the game keeps modifying the
+ * player.
+ * 
+ * @author lare96
+ */
+public final class PlayerSnapshot {
+
+    /** The username of the player. */
+    private final String username;
+
+    /** The password of the player. */
+    private final String password;
+
+    /** The position of the player. */
+    private final Position position;
+
+    /** The rights of the player. */
+    private final PlayerRights rights;
+
+    /** The gender of the player. */
+    private final int gender;
+
+    /** The appearance of the player. */
+    private final int[] appearance;
+
+    /** The colors of the player. */
+    private final int[] colors;
+
+    /** If the player has running toggled. */
+    private final boolean runToggled;
+
+    /** If the player is new. */
+    private final boolean newPlayer;
+
+    /** The items in the player's inventory. */
+    private final Item[] inventory;
+
+    /** The items in the player's bank. */
+    private final Item[] bank;
+
+    /** The items in the player's equipment. */
+    private final Item[] equipment;
+
+    /** The skills of the player. */
+    private final Skill[] skills;
+
+    /** The friends of the player. */
+    private final long[] friends;
+
+    /** The ignores of the player. */
+    private final long[] ignores;
+
+    /** The run energy of the player. */
+    private final int runEnergy;
+
+    /** The spellbook of the player. */
+    private final Spellbook spellbook;
+
+    /** If the player is banned. */
+    private final boolean banned;
+
+    /** If the player has auto retaliate toggled. */
+    private final boolean autoRetaliate;
+
+    /** The fight type of the player. */
+    private final FightType fightType;
+
+    /** The skull timer of the player. */
+    private final int skullTimer;
+
+    /** If the player accepts aid. */
+    private final boolean acceptAid;
+
+    /** The poison damage of the player. */
+    private final int poisonDamage;
+
+    /** The teleblock timer of the player. */
+    private final int teleblockTimer;
+
+    /** The special percentage of the player. */
+    private final int specialAmount;
+
+    /**
+     * Create a new {@link PlayerSnapshot}. This should only ever be called on
+     * the game thread.
+     * 
+     * @param player
+     *            the player to take a snapshot of.
+     */
+    public PlayerSnapshot(Player player) {
+        this.username = player.getUsername().trim();
+        this.password = player.getPassword().trim();
+        this.position = player.getPosition().clone();
+        this.rights = player.getRights();
+        this.gender = player.getGender();
+        this.appearance = player.getAppearance().clone();
+        this.colors = player.getColors().clone();
+        this.runToggled = player.getMovementQueue().isRunToggled();
+        this.newPlayer = player.isNewPlayer();
+        this.inventory = copy(player.getInventory().toArray());
+        this.bank = copy(player.getBank().toArray());
+        this.equipment = copy(player.getEquipment().toArray());
+        this.skills = Arrays.stream(player.getSkills()).map(Skill::clone).toArray(Skill[]::new);
+        this.friends = player.getFriends().stream().mapToLong(Long::longValue).toArray();
+        this.ignores = player.getIgnores().stream().mapToLong(Long::longValue).toArray();
+        this.runEnergy = player.getRunEnergy();
+        this.spellbook = player.getSpellbook();
+        this.banned = player.isBanned();
+        this.autoRetaliate = player.isAutoRetaliate();
+        this.fightType = player.getFightType();
+        this.skullTimer = player.getSkullTimer();
+        this.acceptAid = player.isAcceptAid();
+        this.poisonDamage = player.getPoisonDamage();
+        this.teleblockTimer = player.getTeleblockTimer();
+        this.specialAmount = player.getSpecialPercentage();
+    }
+
+    @Override
+    public String toString() {
+        return "SNAPSHOT[username= " + username + "]";
+    }
+
+    /**
+     * Converts this snapshot into the json object that is written to the
+     * character file.
+     * 
+     * @param builder
+     *            the builder used to convert the fields of this snapshot.
+     * @return the json object holding this snapshot.
+     */
+    public JsonObject toJson(Gson builder) {
+        JsonObject object = new JsonObject();
+
+        object.addProperty("username", username);
+        object.addProperty("password", password);
+        object.add("position", builder.toJsonTree(position));
+        object.addProperty("staff-rights", rights.name());
+        object.addProperty("gender", gender);
+        object.add("appearance", builder.toJsonTree(appearance));
+        object.add("colors", builder.toJsonTree(colors));
+        object.addProperty("run-toggled", runToggled);
+        object.addProperty("new-player", newPlayer);
+        object.add("inventory", builder.toJsonTree(inventory));
+        object.add("bank", builder.toJsonTree(bank));
+        object.add("equipment", builder.toJsonTree(equipment));
+        object.add("skills", builder.toJsonTree(skills));
+        object.add("friends", builder.toJsonTree(friends));
+        object.add("ignores", builder.toJsonTree(ignores));
+        object.addProperty("run-energy", runEnergy);
+        object.addProperty("spell-book", spellbook.name());
+        object.addProperty("is-banned", banned);
+        object.addProperty("auto-retaliate", autoRetaliate);
+        object.addProperty("fight-type", fightType.name());
+        object.addProperty("skull-timer", skullTimer);
+        object.addProperty("accept-aid", acceptAid);
+        object.addProperty("poison-damage", poisonDamage);
+        object.addProperty("teleblock-timer", teleblockTimer);
+        object.addProperty("special-amount", specialAmount);
+        return object;
+    }
+
+    /**
+     * Gets the username of the player.
+     * 
+     * @return the username.
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Gets the password of the player.
+     * 
+     * @return the password.
+     */
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * Gets the position of the player.
+     * 
+     * @return the position.
+     */
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * Gets the rights of the player.
+     * 
+     * @return the rights.
+     */
+    public PlayerRights getRights() {
+        return rights;
+    }
+
+    /**
+     * Gets the gender of the player.
+     * 
+     * @return the gender.
+     */
+    public int getGender() {
+        return gender;
+    }
+
+    /**
+     * Gets the appearance of the player. The returned array must not be modified.
+     * 
+     * @return the appearance.
+     */
+    public int[] getAppearance() {
+        return appearance;
+    }
+
+    /**
+     * Gets the colors of the player. The returned array must not be modified.
+     * 
+     * @return the colors.
+     */
+    public int[] getColors() {
+        return colors;
+    }
+
+    /**
+     * Gets if the player has running toggled.
+     * 
+     * @return true if running is toggled.
+     */
+    public boolean isRunToggled() {
+        return runToggled;
+    }
+
+    /**
+     * Gets if the player is new.
+     * 
+     * @return true if the player is new.
+     */
+    public boolean isNewPlayer() {
+        return newPlayer;
+    }
+
+    /**
+     * Gets the items in the player's inventory. The returned array must not be modified.
+     * 
+     * @return the inventory items.
+     */
+    public Item[] getInventory() {
+        return inventory;
+    }
+
+    /**
+     * Gets the items in the player's bank. The returned array must not be modified.
+     * 
+     * @return the bank items.
+     */
+    public Item[] getBank() {
+        return bank;
+    }
+
+    /**
+     * Gets the items in the player's equipment. The returned array must not be modified.
+     * 
+     * @return the equipment items.
+     */
+    public Item[] getEquipment() {
+        return equipment;
+    }
+
+    /**
+     * Gets the skills of the player. The returned array must not be modified.
+     * 
+     * @return the skills.
+     */
+    public Skill[] getSkills() {
+        return skills;
+    }
+
+    /**
+     * Gets the friends of the player. The returned array must not be modified.
+     * 
+     * @return the friends.
+     */
+    public long[] getFriends() {
+        return friends;
+    }
+
+    /**
+     * Gets the ignores of the player. The returned array must not be modified.
+     * 
+     * @return the ignores.
+     */
+    public long[] getIgnores() {
+        return ignores;
+    }
+
+    /**
+     * Gets the run energy of the player.
+     * 
+     * @return the run energy.
+     */
+    public int getRunEnergy() {
+        return runEnergy;
+    }
+
+    /**
+     * Gets the spellbook of the player.
+     * 
+     * @return the spellbook.
+     */
+    public Spellbook getSpellbook() {
+        return spellbook;
+    }
+
+    /**
+     * Gets if the player is banned.
+     * 
+     * @return true if the player is banned.
+     */
+    public boolean isBanned() {
+        return banned;
+    }
+
+    /**
+     * Gets if the player has auto retaliate toggled.
+     * 
+     * @return true if auto retaliate is toggled.
+     */
+    public boolean isAutoRetaliate() {
+        return autoRetaliate;
+    }
+
+    /**
+     * Gets the fight type of the player.
+     * 
+     * @return the fight type.
+     */
+    public FightType getFightType() {
+        return fightType;
+    }
+
+    /**
+     * Gets the skull timer of the player.
+     * 
+     * @return the skull timer.
+     */
+    public int getSkullTimer() {
+        return skullTimer;
+    }
+
+    /**
+     * Gets if the player accepts aid.
+     * 
+     * @return true if the player accepts aid.
+     */
+    public boolean isAcceptAid() {
+        return acceptAid;
+    }
+
+    /**
+     * Gets the poison damage of the player.
+     * 
+     * @return the poison damage.
+     */
+    public int getPoisonDamage() {
+        return poisonDamage;
+    }
+
+    /**
+     * Gets the teleblock timer of the player.
+     * 
+     * @return the teleblock timer.
+     */
+    public int getTeleblockTimer() {
+        return teleblockTimer;
+    }
+
+    /**
+     * Gets the special percentage of the player.
+     * 
+     * @return the special percentage.
+     */
+    public int getSpecialAmount() {
+        return specialAmount;
+    }
+
+    /**
+     * Copies every item in the argued array, so the copies can't be modified
+     * by the game thread. Empty slots are kept as <code>null</code>.
+     * 
+     * @param items
+     *            the items to copy.
+     * @return the copied items.
+     */
+    private static Item[] copy(Item[] items) {
+        Item[] copy = new Item[items.length];
+
+        for (int i = 0; i < items.length; i++) {
+            copy[i] = items[i] == null ? null : items[i].clone();
+        }
+        return copy;
+    }
+}
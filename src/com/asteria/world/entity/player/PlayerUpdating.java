@@ -1,5 +1,6 @@
 package com.asteria.world.entity.player;
 
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 
 import com.asteria.engine.net.ProtocolBuffer;
@@ -8,10 +9,11 @@ import com.asteria.engine.net.ProtocolBuffer.ValueType;
 import com.asteria.engine.net.Session;
 import com.asteria.engine.task.TaskManager;
 import com.asteria.util.Utility;
-import com.asteria.world.World;
 import com.asteria.world.entity.UpdateFlags.Flag;
+import com.asteria.world.entity.player.UpdateBlockCache.BlockType;
 import com.asteria.world.entity.player.skill.Skills;
 import com.asteria.world.map.Position;
+import com.asteria.world.map.RegionManager;
 
 /**
  * Provides static utility methods for updating {@link Player}s.
@@ -21,6 +23,9 @@ import com.asteria.world.map.Position;
  */
 public final class PlayerUpdating {
 
+    /** The distance other players can be seen from, in squares. */
+    private static final int VIEW_DISTANCE = 15;
+
     /**
      * Updates the argued {@link Player}.
      * 
@@ -29,8 +34,32 @@ public final class PlayerUpdating {
      */
     public static void update(Player player) throws Exception {
 
-        ProtocolBuffer out = new ProtocolBuffer(16384);
-        ProtocolBuffer block = new ProtocolBuffer(8192);
+        // Lease buffers sized from the last update, so they rarely need to
+        // grow.
+        ProtocolBuffer out = new ProtocolBuffer(player.getPlayerUpdateSize() * 2);
+        ProtocolBuffer block = new ProtocolBuffer(player.getPlayerUpdateSize());
+
+        try {
+            update(player, out, block);
+        } finally {
+            block.release();
+            out.release();
+        }
+    }
+
+    /**
+     * Writes the player update packet for the argued {@link Player} into the
+     * argued buffers and sends it.
+     * 
+     * @param player
+     *            the player to update.
+     * @param out
+     *            the buffer the update packet is written to.
+     * @param block
+     *            the buffer the update blocks are written to.
+     */
+    private static void update(Player player, ProtocolBuffer out,
+        ProtocolBuffer block) throws Exception {
 
         // Initialize the update packet.
         out.buildVarShort(81, player.getSession());
@@ -62,15 +91,16 @@ public final class PlayerUpdating {
 
         int added = 0;
 
-        // Update the local player list.
-        for (int i = 0; i < World.getPlayers().capacity(); i++) {
+        // Update the local player list, only the surrounding regions need to
+        // be checked.
+        for (Player other : RegionManager.getPlayers(player.getPosition(),
+            VIEW_DISTANCE)) {
             if (added == 15 || player.getLocalPlayers().size() >= 255) {
 
                 // Player limit has been reached.
                 break;
             }
-            Player other = World.getPlayers().get(i);
-            if (other == null || other == player || other.getSession().getStage() != Session.Stage.LOGGED_IN) {
+            if (other == player || other.getSession().getStage() != Session.Stage.LOGGED_IN) {
                 continue;
             }
             if (!player.getLocalPlayers().contains(other) && other.getPosition().isViewableFrom(
@@ -94,6 +124,7 @@ public final class PlayerUpdating {
 
         // Finish the packet and send it.
         out.endVarShort();
+        player.setPlayerUpdateSize(out.getBuffer().position());
         out.sendPacket();
     }
 
@@ -125,6 +156,26 @@ public final class PlayerUpdating {
     public static void appendAppearance(Player player, ProtocolBuffer out) {
         ProtocolBuffer block = new ProtocolBuffer(128);
 
+        try {
+            appendAppearance(player, out, block);
+        } finally {
+            block.release();
+        }
+    }
+
+    /**
+     * Writes the state of a player's appearance into the argued block, and then
+     * appends the block to the buffer.
+     * 
+     * @param player
+     *            the player.
+     * @param out
+     *            the buffer.
+     * @param block
+     *            the buffer the appearance is written to.
+     */
+    private static void appendAppearance(Player player, ProtocolBuffer out,
+        ProtocolBuffer block) {
         block.writeByte(player.getGender());
         block.writeByte(player.getHeadIcon());
         block.writeByte(player.getSkullIcon());
@@ -352,7 +403,9 @@ public final class PlayerUpdating {
     }
 
     /**
-     * Updates the state of a player.
+     * Updates the state of a player. The state is only encoded once per cycle
+     * for each type of block, every other player that needs the same block is
+     * sent a copy of the cached one.
      * 
      * @param player
      *            the player being constructed.
@@ -370,14 +423,62 @@ public final class PlayerUpdating {
             return;
         }
 
-        // Send the cached update block if we are able to.
-        if (player.getCachedUpdateBlock() != null && player != thisPlayer && !forceAppearance && !noChat) {
-            block.getBuffer().put(player.getCachedUpdateBlock().array());
-            return;
+        // Determine which kind of block we need.
+        BlockType type = noChat ? BlockType.SELF
+            : forceAppearance ? BlockType.ADDED : BlockType.OTHER;
+
+        // Encode the block if no other update thread has yet.
+        UpdateBlockCache cache = player.getUpdateBlockCache();
+        ByteBuffer cached = cache.get(type);
+
+        if (cached == null) {
+            synchronized (cache) {
+                if ((cached = cache.get(type)) == null) {
+                    cached = encodeState(player, forceAppearance, noChat);
+                    cache.set(type, cached);
+                }
+            }
+        }
+
+        // Add the cached block to the update block.
+        block.writeBytes(cached);
+    }
+
+    /**
+     * Encodes the state of a player into a new buffer that can be cached.
+     * 
+     * @param player
+     *            the player being constructed.
+     * @return the encoded state, with its position at the end of the state.
+     */
+    private static ByteBuffer encodeState(Player player,
+        boolean forceAppearance, boolean noChat) throws Exception {
+        ProtocolBuffer cachedBuffer = new ProtocolBuffer(512);
+
+        try {
+            writeState(player, cachedBuffer, forceAppearance, noChat);
+
+            // Copy the state out, the buffer itself goes back to the pool.
+            ByteBuffer data = cachedBuffer.getBuffer().duplicate();
+            data.flip();
+            ByteBuffer cached = ByteBuffer.allocate(data.remaining());
+            cached.put(data);
+            return cached;
+        } finally {
+            cachedBuffer.release();
         }
+    }
 
-        // Create the buffer we are going to cache.
-        ProtocolBuffer cachedBuffer = new ProtocolBuffer(300);
+    /**
+     * Writes the state of a player into the argued buffer.
+     * 
+     * @param player
+     *            the player being constructed.
+     * @param cachedBuffer
+     *            the buffer the state is written to.
+     */
+    private static void writeState(Player player, ProtocolBuffer cachedBuffer,
+        boolean forceAppearance, boolean noChat) throws Exception {
 
         // First we build the update mask.
         int mask = 0x0;
@@ -446,15 +547,6 @@ public final class PlayerUpdating {
         if (player.getFlags().get(Flag.HIT_2)) {
             appendSecondaryHit(player, cachedBuffer);
         }
-
-        // Cache the block if possible.
-        if (player != thisPlayer && !forceAppearance && !noChat) {
-            player.setCachedUpdateBlock(cachedBuffer.getBuffer());
-
-        }
-
-        // Add the cached block to the update block.
-        block.writeBytes(cachedBuffer.getBuffer());
     }
 
     /**
@@ -508,6 +600,29 @@ public final class PlayerUpdating {
         out.writeByte(player.getAnimation().getDelay(), ValueType.C);
     }
 
+    /**
+     * Starts the death of the argued player if they were hit this cycle and
+     * have no hitpoints left. This has to be called once per cycle on the
+     * game thread before any update blocks are written, so the hit blocks
+     * show the player's hitpoints after the check.
+     * 
+     * @param player
+     *            the player to check.
+     */
+    public static void checkDeath(Player player) {
+        if (!player.getFlags().get(Flag.HIT) && !player.getFlags().get(
+            Flag.HIT_2)) {
+            return;
+        }
+        if (!player.isDead()) {
+            if (player.getSkills()[Skills.HITPOINTS].getLevel() <= 0) {
+                player.getSkills()[Skills.HITPOINTS].setLevel(0, true);
+                player.setDead(true);
+                TaskManager.submit(new PlayerDeath(player));
+            }
+        }
+    }
+
     /**
      * Update the primary hitmark block.
      * 
@@ -521,14 +636,6 @@ public final class PlayerUpdating {
         out.writeByte(player.getPrimaryHit().getDamage());
         out.writeByte(player.getPrimaryHit().getType().getId(), ValueType.A);
 
-        if (!player.isDead()) {
-            if (player.getSkills()[Skills.HITPOINTS].getLevel() <= 0) {
-                player.getSkills()[Skills.HITPOINTS].setLevel(0, true);
-                player.setDead(true);
-                TaskManager.submit(new PlayerDeath(player));
-            }
-        }
-
         out.writeByte(player.getSkills()[Skills.HITPOINTS].getLevel(),
             ValueType.C);
         out.writeByte(player.getSkills()[Skills.HITPOINTS].getLevelForExperience());
@@ -547,14 +654,6 @@ public final class PlayerUpdating {
         out.writeByte(player.getSecondaryHit().getDamage());
         out.writeByte(player.getSecondaryHit().getType().getId(), ValueType.S);
 
-        if (!player.isDead()) {
-            if (player.getSkills()[Skills.HITPOINTS].getLevel() <= 0) {
-                player.getSkills()[Skills.HITPOINTS].setLevel(0, true);
-                player.setDead(true);
-                TaskManager.submit(new PlayerDeath(player));
-            }
-        }
-
         out.writeByte(player.getSkills()[Skills.HITPOINTS].getLevel());
         out.writeByte(
             player.getSkills()[Skills.HITPOINTS].getLevelForExperience(),
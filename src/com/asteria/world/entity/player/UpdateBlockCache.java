@@ -0,0 +1,72 @@
+package com.asteria.world.entity.player;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Holds the update blocks that have been encoded for a {@link Player} during
+ * the current cycle, so that each block only has to be encoded once no matter
+ * how many other players can see this player. Blocks are encoded on first
+ * demand by whichever update thread gets to them first, and the cache is
+ * cleared once updating has completed.
+ * 
+ * @author lare96
+ */
+public final class UpdateBlockCache {
+
+    /**
+     * The different kinds of update blocks that can be encoded for a player.
+     * 
+     * @author lare96
+     */
+    public enum BlockType {
+
+        /** The block sent to players that already have this player locally. */
+        OTHER,
+
+        /**
+         * The block sent to players that are adding this player to their local
+         * list, which always contains the appearance.
+         */
+        ADDED,
+
+        /** The block sent to this player, which never contains chat. */
+        SELF
+    }
+
+    /** The encoded blocks, indexed by the ordinal of their block type. */
+    private final AtomicReferenceArray<ByteBuffer> blocks = new AtomicReferenceArray<>(
+        BlockType.values().length);
+
+    /**
+     * Gets the encoded block for the argued block type. The returned buffer's
+     * position marks the end of the block, and it must not be modified.
+     * 
+     * @param type
+     *            the type of block to get.
+     * @return the encoded block, or <code>null</code> if it hasn't been encoded
+     *         yet this cycle.
+     */
+    public ByteBuffer get(BlockType type) {
+        return blocks.get(type.ordinal());
+    }
+
+    /**
+     * Sets the encoded block for the argued block type.
+     * 
+     * @param type
+     *            the type of block to set.
+     * @param block
+     *            the encoded block.
+     */
+    public void set(BlockType type, ByteBuffer block) {
+        blocks.set(type.ordinal(), block);
+    }
+
+    /** Clears all of the encoded blocks for the next cycle. */
+    public void clear() {
+        for (int i = 0; i < blocks.length(); i++) {
+            blocks.set(i, null);
+        }
+    }
+}
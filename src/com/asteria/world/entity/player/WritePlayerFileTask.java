@@ -1,124 +1,55 @@
 package com.asteria.world.entity.player;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import com.asteria.engine.GameEngine;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonObject;
-
 /**
- * A task executed by the {@link GameEngine}'s sequential thread pool that will
- * save the player's character file.
+ * A result-bearing task executed by the {@link PlayerPersistence} workers that
+ * will save a {@link PlayerSnapshot} to a {@link PlayerRepository}.
  * 
  * @author lare96
  * @author Ryley Kimmel <ryley.kimmel@live.com>
  */
-public class WritePlayerFileTask implements Runnable {
+public class WritePlayerFileTask implements Callable<Boolean> {
 
     /** A {@link Logger} for printing debugging info. */
     private static Logger logger = Logger.getLogger(WritePlayerFileTask.class.getSimpleName());
 
-    /** The player who's file will be saved. */
-    private final Player player;
+    /** The snapshot that will be saved. */
+    private final PlayerSnapshot snapshot;
+
+    /** The repository the snapshot will be saved to. */
+    private final PlayerRepository repository;
 
     /**
      * Create a new {@link WritePlayerFileTask}.
      * 
-     * @param player
-     *            the player who's file will be saved.
+     * @param snapshot
+     *            the snapshot that will be saved.
+     * @param repository
+     *            the repository the snapshot will be saved to.
      */
-    public WritePlayerFileTask(Player player) {
-        this.player = player;
+    public WritePlayerFileTask(PlayerSnapshot snapshot,
+        PlayerRepository repository) {
+        this.snapshot = snapshot;
+        this.repository = repository;
     }
 
     @Override
-    public void run() {
-
-        // Put a concurrent lock on the player just in case they are
-        // still being modified.
-        synchronized (player) {
-
-            // Create the path and file objects.
-            Path path = Paths.get("./data/players/",
-                player.getUsername() + ".json");
-            File file = path.toFile();
-            file.getParentFile().setWritable(true);
-
-            // Attempt to make the player save directory if it doesn't
-            // exist.
-            if (!file.getParentFile().exists()) {
-                try {
-                    file.getParentFile().mkdirs();
-                } catch (SecurityException e) {
-                    logger.log(Level.SEVERE,
-                        "Unable to create directory for player data!", e);
-                }
-            }
-
-            try (FileWriter writer = new FileWriter(file)) {
-
-                // Now add the properties to the json parser.
-                Gson builder = new GsonBuilder().setPrettyPrinting().create();
-                JsonObject object = new JsonObject();
-
-                object.addProperty("username", player.getUsername().trim());
-                object.addProperty("password", player.getPassword().trim());
-                object.add("position", builder.toJsonTree(player.getPosition()));
-                object.addProperty("staff-rights", player.getRights().name());
-                object.addProperty("gender", new Integer(player.getGender()));
-                object.add("appearance",
-                    builder.toJsonTree(player.getAppearance()));
-                object.add("colors", builder.toJsonTree(player.getColors()));
-                object.addProperty("run-toggled", new Boolean(
-                    player.getMovementQueue().isRunToggled()));
-                object.addProperty("new-player", new Boolean(
-                    player.isNewPlayer()));
-                object.add("inventory",
-                    builder.toJsonTree(player.getInventory().toArray()));
-                object.add("bank",
-                    builder.toJsonTree(player.getBank().toArray()));
-                object.add("equipment",
-                    builder.toJsonTree(player.getEquipment().toArray()));
-                object.add("skills", builder.toJsonTree(player.getSkills()));
-                object.add("friends",
-                    builder.toJsonTree(player.getFriends().toArray()));
-                object.add("ignores",
-                    builder.toJsonTree(player.getIgnores().toArray()));
-                object.addProperty("run-energy", new Integer(
-                    player.getRunEnergy()));
-                object.addProperty("spell-book", player.getSpellbook().name());
-                object.addProperty("is-banned", new Boolean(player.isBanned()));
-                object.addProperty("auto-retaliate", new Boolean(
-                    player.isAutoRetaliate()));
-                object.addProperty("fight-type", player.getFightType().name());
-                object.addProperty("skull-timer", new Integer(
-                    player.getSkullTimer()));
-                object.addProperty("accept-aid", new Boolean(
-                    player.isAcceptAid()));
-                object.addProperty("poison-damage", new Integer(
-                    player.getPoisonDamage()));
-                object.addProperty("teleblock-timer", new Integer(
-                    player.getTeleblockTimer()));
-                object.addProperty("special-amount", new Integer(
-                    player.getSpecialPercentage()));
-
-                // And write the data to the character file!
-                writer.write(builder.toJson(object));
-
-                // And print an indication that we've saved it.
-                logger.info(player + " game successfully saved!");
-            } catch (Exception e) {
-
-                // An error happened while saving.
-                logger.log(Level.WARNING,
-                    "An error has occured while saving a character file!", e);
-            }
+    public Boolean call() {
+        try {
+            repository.save(snapshot);
+
+            // And print an indication that we've saved it.
+            logger.info(snapshot + " game successfully saved!");
+            return true;
+        } catch (Exception e) {
+
+            // An error happened while saving.
+            logger.log(Level.WARNING,
+                "An error has occured while saving a character file!", e);
+            return false;
         }
     }
 }
@@ -1,5 +1,6 @@
 package com.asteria.world.entity.player.content;
 
+import java.nio.ByteBuffer;
 import java.util.Optional;
 
 import com.asteria.world.World;
@@ -170,17 +171,14 @@ public final class PrivateMessage {
      * @param sendingTo
      *            the player being sent the message.
      * @param message
-     *            the message packed in an array.
-     * @param messageSize
-     *            the total size of the message.
+     *            the packed message.
      */
     public void sendPrivateMessage(Player sendingFrom, long sendingTo,
-        byte[] message, int messageSize) {
+        ByteBuffer message) {
         World.getPlayerByHash(sendingTo).ifPresent(
             p -> p.getPacketBuilder().sendPrivateMessage(
                 sendingFrom.getUsernameHash(),
-                sendingFrom.getRights().getProtocolValue(), message,
-                messageSize));
+                sendingFrom.getRights().getProtocolValue(), message));
     }
 
     /**
@@ -27,6 +27,28 @@ public class Skill {
         this.experience = 0;
     }
 
+    /**
+     * Create a new {@link Skill} with the argued levels and experience.
+     * 
+     * @param level
+     *            the level of this skill.
+     * @param realLevel
+     *            the real level of this skill.
+     * @param experience
+     *            the experience for this skill.
+     */
+    public Skill(int level, int realLevel, int experience) {
+        this.level = level;
+        this.realLevel = realLevel;
+        this.experience = experience;
+    }
+
+    @Override
+    public Skill clone() {
+        return new Skill(level, realLevel, experience);
+    }
+
+
     /**
      * Gets a level based on how much experience you have.
      * 
@@ -1,5 +1,8 @@
 package com.asteria.world.item;
 
+import java.nio.ByteBuffer;
+
+import com.asteria.util.DefinitionCache;
 import com.asteria.util.JsonLoader;
 import com.asteria.util.Utility;
 import com.google.gson.Gson;
@@ -113,6 +116,89 @@ public class ItemDefinition {
         };
     }
 
+    /**
+     * Prepares the binary cache for loading item definitions, which parses
+     * them with {@link #parseItems()} whenever the cache is out of date.
+     * 
+     * @return the binary definition cache.
+     */
+    public static DefinitionCache<ItemDefinition> cacheItems() {
+        return new DefinitionCache<ItemDefinition>() {
+            @Override
+            protected void encode(ItemDefinition definition, ByteBuffer record) {
+                record.putShort((short) definition.itemId);
+                putString(record, definition.itemName);
+                putString(record, definition.itemDescription);
+                record.put((byte) definition.equipmentSlot);
+                record.put((byte) ((definition.isNoted ? 1 : 0) | (definition.isNoteable ? 2 : 0) | (definition.isStackable ? 4 : 0) | (definition.twoHanded ? 8 : 0) | (definition.platebody ? 16 : 0) | (definition.fullHelm ? 32 : 0)));
+                record.putShort((short) definition.unNotedId);
+                record.putInt(definition.specialStorePrice);
+                record.putInt(definition.generalStorePrice);
+                record.putInt(definition.highAlchValue);
+                record.putInt(definition.lowAlchValue);
+                record.putDouble(definition.weight);
+                record.put((byte) definition.bonus.length);
+
+                for (int bonus : definition.bonus) {
+                    record.putShort((short) bonus);
+                }
+            }
+
+            @Override
+            protected void decode(ByteBuffer record) {
+                int index = record.getShort();
+                definitions[index] = new ItemDefinition();
+                definitions[index].itemId = index;
+                definitions[index].itemName = getString(record);
+                definitions[index].itemDescription = getString(record);
+                definitions[index].equipmentSlot = record.get();
+                int flags = record.get();
+                definitions[index].isNoted = (flags & 1) != 0;
+                definitions[index].isNoteable = (flags & 2) != 0;
+                definitions[index].isStackable = (flags & 4) != 0;
+                definitions[index].twoHanded = (flags & 8) != 0;
+                definitions[index].platebody = (flags & 16) != 0;
+                definitions[index].fullHelm = (flags & 32) != 0;
+                definitions[index].unNotedId = record.getShort();
+                definitions[index].specialStorePrice = record.getInt();
+                definitions[index].generalStorePrice = record.getInt();
+                definitions[index].highAlchValue = record.getInt();
+                definitions[index].lowAlchValue = record.getInt();
+                definitions[index].weight = record.getDouble();
+                definitions[index].bonus = new int[record.get()];
+
+                for (int i = 0; i < definitions[index].bonus.length; i++) {
+                    definitions[index].bonus[i] = record.getShort();
+                }
+            }
+
+            @Override
+            protected ItemDefinition[] definitions() {
+                return definitions;
+            }
+
+            @Override
+            protected JsonLoader parser() throws Exception {
+                return parseItems();
+            }
+
+            @Override
+            protected String cachePath() {
+                return "./data/cache/item_definitions.dat";
+            }
+
+            @Override
+            protected int recordSize() {
+                return 39 + (2 * Utility.BONUS_NAMES.length);
+            }
+
+            @Override
+            protected int version() {
+                return 1;
+            }
+        };
+    }
+
     /**
      * Gets the item id
      * 
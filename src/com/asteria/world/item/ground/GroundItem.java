@@ -1,11 +1,10 @@
 package com.asteria.world.item.ground;
 
-import java.util.Iterator;
-
 import com.asteria.world.World;
 import com.asteria.world.entity.player.Player;
 import com.asteria.world.item.Item;
 import com.asteria.world.map.Position;
+import com.asteria.world.map.RegionManager;
 
 /**
  * An {@link Item} that can be placed anywhere in the {@link World}.
@@ -26,8 +25,11 @@ public class GroundItem {
     /** The current {@link ItemState} of this item. */
     private ItemState state;
 
-    /** The amount of ticks this item holds. */
-    protected int ticks;
+    /** The tick that the next processing event will be fired on. */
+    long deadline = -1;
+
+    /** If this item is registered to the {@link GroundItemManager}. */
+    boolean registered;
 
     /**
      * All of the possible states this item can be in.
@@ -69,14 +71,8 @@ public class GroundItem {
         // Removes the ground item image based on the state of the item.
         switch (state) {
         case SEEN_BY_EVERYONE:
-            for (Player player : World.getPlayers()) {
-                if (player == null) {
-                    continue;
-                }
-
-                if (player.getPosition().withinDistance(getPosition(), 60)) {
-                    player.getPacketBuilder().sendRemoveGroundItem(this);
-                }
+            for (Player player : RegionManager.getPlayers(getPosition(), 60)) {
+                player.getPacketBuilder().sendRemoveGroundItem(this);
             }
             break;
         case SEEN_BY_OWNER:
@@ -97,33 +93,30 @@ public class GroundItem {
     }
 
     /**
-     * An event fired by the {@link GroundItemManager} every minute.
-     * 
-     * @param it
-     *            the iterator being used to iterate through the ground items.
+     * An event fired by the {@link GroundItemManager} a minute after this item
+     * was registered, or a minute after the last time this event was fired if
+     * it was scheduled again.
      */
-    protected void fireOnProcess(Iterator<GroundItem> it) {
+    protected void fireOnProcess() {
 
         // After 1 minute show the item for everyone, and after two minutes
         // remove the item.
         switch (state) {
         case SEEN_BY_OWNER:
-            for (Player p : World.getPlayers()) {
-                if (p == null || p.equals(player)) {
+            for (Player p : RegionManager.getPlayers(getPosition(), 60)) {
+                if (p.equals(player)) {
                     continue;
                 }
 
-                if (p.getPosition().withinDistance(getPosition(), 60)) {
-                    p.getPacketBuilder().sendGroundItem(
-                        new GroundItem(item, position, null));
-                }
+                p.getPacketBuilder().sendGroundItem(
+                    new GroundItem(item, position, null));
             }
             player = null;
             state = ItemState.SEEN_BY_EVERYONE;
+            GroundItemManager.schedule(this);
             break;
         case SEEN_BY_EVERYONE:
-            fireOnUnregister();
-            it.remove();
+            GroundItemManager.unregister(this);
             break;
         default:
             throw new IllegalStateException(
@@ -146,7 +139,7 @@ public class GroundItem {
     public boolean equals(Object obj) {
         if (obj instanceof GroundItem) {
             GroundItem w = (GroundItem) obj;
-            if (w.item.equals(item) && w.position.equals(position) && w.state == state && w.ticks == ticks) {
+            if (w.item.equals(item) && w.position.equals(position) && w.state == state && w.deadline == deadline) {
                 return true;
             }
         }
@@ -155,7 +148,7 @@ public class GroundItem {
 
     @Override
     public String toString() {
-        return "GROUND ITEM[item= " + item + ", position= " + position + ", player= " + player + ", state= " + state + ", ticks= " + ticks + "]";
+        return "GROUND ITEM[item= " + item + ", position= " + position + ", player= " + player + ", state= " + state + ", deadline= " + deadline + "]";
     }
 
     /**
@@ -254,26 +247,19 @@ public class GroundItem {
         protected void fireOnRegister() {
 
             // Send the item image for everyone.
-            for (Player p : World.getPlayers()) {
-                if (p == null) {
-                    continue;
-                }
-
-                if (p.getPosition().withinDistance(getPosition(), 60)) {
-                    p.getPacketBuilder().sendGroundItem(this);
-                }
+            for (Player p : RegionManager.getPlayers(getPosition(), 60)) {
+                p.getPacketBuilder().sendGroundItem(this);
             }
         }
 
         @Override
-        protected void fireOnProcess(Iterator<GroundItem> it) {
+        protected void fireOnProcess() {
 
             // Process the item based on its policy: either remove this item
             // from or add it back to the ground item database.
             switch (policy) {
             case REMOVE:
-                fireOnUnregister();
-                it.remove();
+                GroundItemManager.unregister(this);
                 break;
             case RESPAWN:
                 if (needsRespawn) {
@@ -297,6 +283,7 @@ public class GroundItem {
                 fireOnUnregister();
                 needsRespawn = true;
                 super.state = ItemState.HIDDEN;
+                GroundItemManager.schedule(this);
                 break;
             }
 
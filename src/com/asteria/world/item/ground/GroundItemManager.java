@@ -1,9 +1,13 @@
 package com.asteria.world.item.ground;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import com.asteria.engine.metrics.Metrics;
 import com.asteria.engine.task.Task;
 import com.asteria.util.JsonLoader;
 import com.asteria.world.World;
@@ -12,59 +16,81 @@ import com.asteria.world.item.Item;
 import com.asteria.world.item.ground.GroundItem.ItemState;
 import com.asteria.world.item.ground.GroundItem.StaticGroundItem.ItemPolicy;
 import com.asteria.world.map.Position;
+import com.asteria.world.map.RegionManager;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
 /**
- * Manages every single {@link GroundItem} registered to the
- * <code>itemList</code> database.
+ * Manages every single {@link GroundItem} registered to the world. Items are
+ * indexed by the region and then the square they are on, so finding the items
+ * on a square or within distance of a position only looks at the squares
+ * around it rather than every single item. <br>
+ * <br>
+ * 
+ * Processing events are scheduled on a timer wheel with a slot for every tick
+ * of {@link #FIRE_PROCESSING_EVENTS}, and every tick only the items in the
+ * current slot are looked at. Items that are unregistered or rescheduled
+ * before their slot comes around are simply skipped over.
  * 
  * @author lare96
  */
 public final class GroundItemManager extends Task implements
     Iterable<GroundItem> {
 
-    /** How often processing events will be fired. */
+    /** How many ticks after being scheduled processing events are fired. */
     public static final int FIRE_PROCESSING_EVENTS = 100;
 
-    /** A database that holds every single registered {@link GroundItem}. */
-    private static final LinkedList<GroundItem> itemList = new LinkedList<>();
+    /** The items on every square with items, by region and then by square. */
+    private static final Map<Integer, Map<Integer, List<GroundItem>>> regions = new HashMap<>();
+
+    /** The items waiting for a processing event, by tick modulo the size. */
+    private static final List<List<GroundItem>> wheel = new ArrayList<>(
+        FIRE_PROCESSING_EVENTS);
+
+    /** The tick that the timer wheel is on. */
+    private static long tick;
+
+    /** The amount of registered items. */
+    private static int size;
+
+    static {
+        for (int i = 0; i < FIRE_PROCESSING_EVENTS; i++) {
+            wheel.add(new ArrayList<>());
+        }
+        Metrics.gauge("ground_items", () -> size);
+    }
 
     /** Create a new {@link GroundItemManager}. */
     public GroundItemManager() {
-
-        // Every 10 ticks so not as stressful on the server, items may be off by
-        // a few ticks but it won't be noticeable at all so its fine.
-        super(10, true);
+        super(1, true);
     }
 
     @Override
     public void execute() {
+        tick++;
 
-        // Iterate through all of the ground items.
-        for (Iterator<GroundItem> it = itemList.listIterator(); it.hasNext();) {
-            GroundItem item = it.next();
-
-            // Skip all of the null values.
-            if (item == null) {
-                continue;
-            }
+        // Only look at the items that were in the slot when we started, as
+        // items scheduled again will be added to the end of this slot.
+        List<GroundItem> slot = wheel.get((int) (tick % FIRE_PROCESSING_EVENTS));
+        int amount = slot.size();
 
-            // Increment the ticks and fire the processing event.
-            item.ticks += 10;
+        for (int i = 0; i < amount; i++) {
+            GroundItem item = slot.get(i);
 
-            // Fire the processing event for this item if enough time has
-            // passed.
-            if (item.ticks >= FIRE_PROCESSING_EVENTS) {
-                item.fireOnProcess(it);
-                item.ticks = 0;
+            // Skip items that were unregistered or scheduled again.
+            if (!item.registered || item.deadline != tick) {
+                continue;
             }
+            item.deadline = -1;
+            item.fireOnProcess();
         }
+        slot.subList(0, amount).clear();
     }
 
     @Override
     public Iterator<GroundItem> iterator() {
-        return itemList.iterator();
+        return regions.values().stream().flatMap(r -> r.values().stream()).flatMap(
+            List::stream).iterator();
     }
 
     /**
@@ -79,12 +105,12 @@ public final class GroundItemManager extends Task implements
         item.fireOnRegister();
 
         // Add the item to the database.
-        itemList.add(item);
+        add(item);
     }
 
     /**
      * Registers the argued {@link GroundItem} to the {@link World} and stacks
-     * it on top of any existing ones with the same ID.
+     * it on top of any existing ones with the same ID on the same square.
      * 
      * @param item
      *            the ground item to register and stack.
@@ -93,43 +119,61 @@ public final class GroundItemManager extends Task implements
 
         // The item count holder.
         int count = 0;
+        List<GroundItem> square = getSquare(item.getPosition());
 
-        // Iterate through the items to increment the count.
-        for (Iterator<GroundItem> iterator = itemList.iterator(); iterator.hasNext();) {
-            GroundItem next = iterator.next();
+        // Iterate through the items on the square to increment the count.
+        if (square != null) {
+            for (Iterator<GroundItem> iterator = square.iterator(); iterator.hasNext();) {
+                GroundItem next = iterator.next();
 
-            if (next == null || next.getPlayer() == null || next.getPosition() == null || next.getItem() == null) {
-                continue;
-            }
+                if (next.getPlayer() == null || next.getItem() == null) {
+                    continue;
+                }
 
-            if (next.getItem().getId() == item.getItem().getId() && next.getPosition().equals(
-                item.getPosition()) && next.getPlayer().equals(item.getPlayer())) {
-                count += next.getItem().getAmount();
-                next.fireOnUnregister();
-                iterator.remove();
+                if (next.getItem().getId() == item.getItem().getId() && next.getPlayer().equals(
+                    item.getPlayer())) {
+                    count += next.getItem().getAmount();
+                    next.fireOnUnregister();
+                    next.registered = false;
+                    iterator.remove();
+                    size--;
+                }
             }
         }
 
         // Then register the item.
         item.getItem().incrementAmountBy(count);
         item.fireOnRegister();
-        itemList.add(item);
+        add(item);
     }
 
     /**
-     * Unregisters the argued {@link GroundItem} to the {@link World}.
+     * Unregisters the argued {@link GroundItem} from the {@link World}.
      * 
      * @param item
      *            the ground item to unregister.
      */
     public static void unregister(GroundItem item) {
 
-        // Fire the item's unregistration event if this list has the item.
-        if (itemList.remove(item)) {
+        // Fire the item's unregistration event if it was registered.
+        if (remove(item)) {
             item.fireOnUnregister();
         }
     }
 
+    /**
+     * Schedules a processing event for the argued {@link GroundItem}
+     * {@link #FIRE_PROCESSING_EVENTS} ticks from now, replacing any processing
+     * event it already had scheduled.
+     * 
+     * @param item
+     *            the ground item to schedule the processing event for.
+     */
+    public static void schedule(GroundItem item) {
+        item.deadline = tick + FIRE_PROCESSING_EVENTS;
+        wheel.get((int) (item.deadline % FIRE_PROCESSING_EVENTS)).add(item);
+    }
+
     /**
      * Loads the images of {@link GroundItem}s for the argued player when they
      * enter a new region.
@@ -138,33 +182,20 @@ public final class GroundItemManager extends Task implements
      *            the player loading the new region.
      */
     public static void load(Player player) {
+        // Iterate through the ground items in the surrounding regions.
+        RegionManager.forEachRegion(player.getPosition(), 60, id -> {
+            Map<Integer, List<GroundItem>> region = regions.get(id);
 
-        // Iterate through the ground items.
-        for (GroundItem item : itemList) {
-            if (item == null || item.getState() == ItemState.HIDDEN) {
-                continue;
+            if (region == null) {
+                return;
             }
 
-            // Remove the image of the ground item.
-            player.getPacketBuilder().sendRemoveGroundItem(item);
-
-            // Check if we're even in the right distance.
-            if (item.getPosition().withinDistance(player.getPosition(), 60)) {
-
-                // Send the image to the player if the item is seen by everyone.
-                if (item.getPlayer() == null && item.getState() == ItemState.SEEN_BY_EVERYONE) {
-                    player.getPacketBuilder().sendGroundItem(item);
-                    continue;
-                }
-
-                // Send the image to player if the ground item belongs to the
-                // player.
-                if (item.getPlayer().equals(player) && item.getState() == ItemState.SEEN_BY_OWNER) {
-                    player.getPacketBuilder().sendGroundItem(item);
-                    continue;
+            for (List<GroundItem> square : region.values()) {
+                for (GroundItem item : square) {
+                    load(player, item);
                 }
             }
-        }
+        });
     }
 
     /**
@@ -178,19 +209,129 @@ public final class GroundItemManager extends Task implements
      *         not exist.
      */
     public static Optional<GroundItem> getItem(int id, Position position) {
-        for (GroundItem item : itemList) {
-            if (item == null || item.getState() == ItemState.HIDDEN) {
-                continue;
+        List<GroundItem> square = getSquare(position);
 
-            }
-            if (item.getItem().getId() == id && item.getPosition().equals(
-                position)) {
+        if (square == null) {
+            return Optional.empty();
+        }
+
+        for (GroundItem item : square) {
+            if (item.getState() != ItemState.HIDDEN && item.getItem().getId() == id) {
                 return Optional.of(item);
             }
         }
         return Optional.empty();
     }
 
+    /**
+     * Gets the amount of registered ground items.
+     * 
+     * @return the amount of ground items.
+     */
+    public static int getSize() {
+        return size;
+    }
+
+    /**
+     * Sends the image of the argued {@link GroundItem} to the argued player if
+     * they should be able to see it.
+     * 
+     * @param player
+     *            the player loading the new region.
+     * @param item
+     *            the ground item to send the image of.
+     */
+    private static void load(Player player, GroundItem item) {
+        if (item.getState() == ItemState.HIDDEN) {
+            return;
+        }
+
+        // Remove the image of the ground item.
+        player.getPacketBuilder().sendRemoveGroundItem(item);
+
+        // Check if we're even in the right distance.
+        if (item.getPosition().withinDistance(player.getPosition(), 60)) {
+
+            // Send the image to the player if the item is seen by everyone.
+            if (item.getPlayer() == null && item.getState() == ItemState.SEEN_BY_EVERYONE) {
+                player.getPacketBuilder().sendGroundItem(item);
+                return;
+            }
+
+            // Send the image to player if the ground item belongs to the
+            // player.
+            if (item.getPlayer().equals(player) && item.getState() == ItemState.SEEN_BY_OWNER) {
+                player.getPacketBuilder().sendGroundItem(item);
+            }
+        }
+    }
+
+    /**
+     * Adds the argued {@link GroundItem} to the square it is on, and schedules
+     * its first processing event.
+     * 
+     * @param item
+     *            the ground item to add.
+     */
+    private static void add(GroundItem item) {
+        Position position = item.getPosition();
+        regions.computeIfAbsent(position.getRegion(), r -> new HashMap<>()).computeIfAbsent(
+            position.getRegionSquare(), s -> new ArrayList<>(1)).add(item);
+        item.registered = true;
+        size++;
+        schedule(item);
+    }
+
+    /**
+     * Removes the argued {@link GroundItem} from the square it is on.
+     * 
+     * @param item
+     *            the ground item to remove.
+     * @return <code>true</code> if the item was registered,
+     *         <code>false</code> otherwise.
+     */
+    private static boolean remove(GroundItem item) {
+        if (!item.registered) {
+            return false;
+        }
+
+        Position position = item.getPosition();
+        Map<Integer, List<GroundItem>> region = regions.get(position.getRegion());
+        List<GroundItem> square = region.get(position.getRegionSquare());
+
+        // Remove by identity, as different items can be equal.
+        for (Iterator<GroundItem> it = square.iterator(); it.hasNext();) {
+            if (it.next() == item) {
+                it.remove();
+                break;
+            }
+        }
+
+        // Don't keep empty squares and regions around.
+        if (square.isEmpty()) {
+            region.remove(position.getRegionSquare());
+
+            if (region.isEmpty()) {
+                regions.remove(position.getRegion());
+            }
+        }
+        item.registered = false;
+        size--;
+        return true;
+    }
+
+    /**
+     * Gets the items on the square the argued position is on.
+     * 
+     * @param position
+     *            the position of the square.
+     * @return the items on the square, or <code>null</code> if there are none.
+     */
+    private static List<GroundItem> getSquare(Position position) {
+        Map<Integer, List<GroundItem>> region = regions.get(position.getRegion());
+        return region == null ? null : region.get(position.getRegionSquare());
+    }
+
     /**
      * Prepares the dynamic json loader for loading world items.
      * 
@@ -0,0 +1,420 @@
+package com.asteria.world.map;
+
+import com.asteria.util.Utility;
+import com.asteria.world.object.WorldObject;
+
+/**
+ * A map of which squares can't be walked onto or across, split into the same
+ * <tt>64x64</tt> regions as the {@link RegionManager}. Each region keeps a
+ * bitset for every {@link Flag} on every height level, with one
+ * <code>long</code> per row of squares, so a region only takes up a few
+ * kilobytes and regions without any collision take up nothing at all. <br>
+ * <br>
+ * 
+ * The map is built from {@link WorldObject}s as they are registered, and can
+ * also be flagged directly when map data is available. There are no object
+ * definitions to say how large or solid an object is, so objects are assumed
+ * to take up a single square and are flagged based on their type alone.
+ * 
+ * @author lare96
+ */
+public final class CollisionMap {
+
+    /**
+     * The different kinds of collision a single square can have.
+     * 
+     * @author lare96
+     */
+    public enum Flag {
+
+        /** The square can't be walked onto. */
+        BLOCKED,
+
+        /** There is a wall along the north side of the square. */
+        WALL_NORTH,
+
+        /** There is a wall along the east side of the square. */
+        WALL_EAST,
+
+        /** There is a wall along the south side of the square. */
+        WALL_SOUTH,
+
+        /** There is a wall along the west side of the square. */
+        WALL_WEST
+    }
+
+    /** The amount of height levels in the map. */
+    public static final int HEIGHT_LEVELS = 4;
+
+    /** The largest coordinate on either axis, exclusive. */
+    private static final int MAP_SIZE = RegionManager.REGION_SIZE << 8;
+
+    /** The walls along each side of a square, by object direction id. */
+    private static final Flag[] WALLS = { Flag.WALL_WEST, Flag.WALL_NORTH,
+            Flag.WALL_EAST, Flag.WALL_SOUTH };
+
+    /** The regions that have collision, by region identifier. */
+    private static final CollisionRegion[] regions = new CollisionRegion[1 << 16];
+
+    /**
+     * The default constructor, will throw an
+     * {@link UnsupportedOperationException} if instantiated.
+     */
+    private CollisionMap() {
+        throw new UnsupportedOperationException(
+            "This class cannot be instantiated!");
+    }
+
+    /**
+     * Adds the collision of the argued object to the map.
+     * 
+     * @param object
+     *            the object to add the collision of.
+     */
+    public static void add(WorldObject object) {
+        apply(object, true);
+    }
+
+    /**
+     * Removes the collision of the argued object from the map.
+     * 
+     * @param object
+     *            the object to remove the collision of.
+     */
+    public static void remove(WorldObject object) {
+        apply(object, false);
+    }
+
+    /**
+     * Sets the argued flag on a square.
+     * 
+     * @param x
+     *            the x coordinate of the square.
+     * @param y
+     *            the y coordinate of the square.
+     * @param z
+     *            the height level of the square.
+     * @param flag
+     *            the flag to set.
+     */
+    public static void flag(int x, int y, int z, Flag flag) {
+        if (!inBounds(x, y, z)) {
+            return;
+        }
+
+        int id = region(x, y);
+
+        if (regions[id] == null) {
+            regions[id] = new CollisionRegion();
+        }
+        regions[id].set(x & 63, y & 63, z, flag, true);
+    }
+
+    /**
+     * Clears the argued flag on a square.
+     * 
+     * @param x
+     *            the x coordinate of the square.
+     * @param y
+     *            the y coordinate of the square.
+     * @param z
+     *            the height level of the square.
+     * @param flag
+     *            the flag to clear.
+     */
+    public static void unflag(int x, int y, int z, Flag flag) {
+        if (!inBounds(x, y, z)) {
+            return;
+        }
+
+        CollisionRegion region = regions[region(x, y)];
+
+        if (region != null) {
+            region.set(x & 63, y & 63, z, flag, false);
+        }
+    }
+
+    /**
+     * Determines if the argued flag is set on a square. Squares outside of the
+     * map are always flagged.
+     * 
+     * @param x
+     *            the x coordinate of the square.
+     * @param y
+     *            the y coordinate of the square.
+     * @param z
+     *            the height level of the square.
+     * @param flag
+     *            the flag to check.
+     * @return <code>true</code> if the flag is set, <code>false</code>
+     *         otherwise.
+     */
+    public static boolean isFlagged(int x, int y, int z, Flag flag) {
+        if (!inBounds(x, y, z)) {
+            return true;
+        }
+
+        CollisionRegion region = regions[region(x, y)];
+        return region != null && region.get(x & 63, y & 63, z, flag);
+    }
+
+    /**
+     * Determines if an entity of the argued size can take a single step from a
+     * square in the argued direction.
+     * 
+     * @param x
+     *            the x coordinate of the south-west square of the entity.
+     * @param y
+     *            the y coordinate of the south-west square of the entity.
+     * @param z
+     *            the height level of the entity.
+     * @param direction
+     *            the direction to step in, as used by
+     *            {@link Utility#DIRECTION_DELTA_X}.
+     * @param size
+     *            the size of the entity.
+     * @return <code>true</code> if the step can be taken, <code>false</code>
+     *         otherwise.
+     */
+    public static boolean traversable(int x, int y, int z, int direction,
+        int size) {
+        int dx = Utility.DIRECTION_DELTA_X[direction];
+        int dy = Utility.DIRECTION_DELTA_Y[direction];
+        int localX = x & 63;
+        int localY = y & 63;
+
+        // Nothing can be in the way if the entity and every square around it
+        // are within a region that has no collision.
+        if (localX > 0 && localY > 0 && localX + size < 64 && localY + size < 64 && inBounds(x, y, z) && regions[region(x, y)] == null) {
+            return true;
+        }
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (!step(x + i, y + j, z, dx, dy)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines if an entity of the argued size can take a single step from a
+     * position in the argued direction.
+     * 
+     * @param position
+     *            the position of the south-west square of the entity.
+     * @param direction
+     *            the direction to step in, as used by
+     *            {@link Utility#DIRECTION_DELTA_X}.
+     * @param size
+     *            the size of the entity.
+     * @return <code>true</code> if the step can be taken, <code>false</code>
+     *         otherwise.
+     */
+    public static boolean traversable(Position position, int direction,
+        int size) {
+        return traversable(position.getX(), position.getY(), position.getZ(),
+            direction, size);
+    }
+
+    /**
+     * Determines if a single square can be stepped off of in the argued
+     * direction. Diagonal steps are only allowed if both of the straight steps
+     * that make them up are allowed, so walls can't be cut through at corners.
+     * 
+     * @param x
+     *            the x coordinate of the square.
+     * @param y
+     *            the y coordinate of the square.
+     * @param z
+     *            the height level of the square.
+     * @param dx
+     *            the change in the x coordinate.
+     * @param dy
+     *            the change in the y coordinate.
+     * @return <code>true</code> if the step can be taken, <code>false</code>
+     *         otherwise.
+     */
+    private static boolean step(int x, int y, int z, int dx, int dy) {
+        if (dx != 0 && dy != 0) {
+            return step(x, y, z, dx, 0) && step(x, y, z, 0, dy) && step(
+                x + dx, y, z, 0, dy) && step(x, y + dy, z, dx, 0);
+        } else if (isFlagged(x + dx, y + dy, z, Flag.BLOCKED)) {
+            return false;
+        } else if (dx > 0) {
+            return !isFlagged(x, y, z, Flag.WALL_EAST);
+        } else if (dx < 0) {
+            return !isFlagged(x, y, z, Flag.WALL_WEST);
+        } else if (dy > 0) {
+            return !isFlagged(x, y, z, Flag.WALL_NORTH);
+        }
+        return dy == 0 || !isFlagged(x, y, z, Flag.WALL_SOUTH);
+    }
+
+    /**
+     * Adds or removes the collision of the argued object. Straight walls block
+     * the side of the square they face, and the opposite side of the square
+     * next to it. Entire walls do the same for the side they face and the
+     * side clockwise from it, and solid objects block the entire square.
+     * Decorations and roofs have no collision.
+     * 
+     * @param object
+     *            the object to add or remove the collision of.
+     * @param add
+     *            <code>true</code> to add the collision, <code>false</code> to
+     *            remove it.
+     */
+    private static void apply(WorldObject object, boolean add) {
+        Position position = object.getPosition();
+        int side = object.getDirection().getId();
+
+        switch (object.getType()) {
+        case STRAIGHT_WALL:
+            wall(position, side, add);
+            break;
+        case ENTIRE_WALL:
+            wall(position, side, add);
+            wall(position, (side + 1) & 3, add);
+            break;
+        case DIAGONAL_WALL:
+        case DEFAULT:
+        case WALKABLE_DEFAULT:
+            set(position.getX(), position.getY(), position.getZ(),
+                Flag.BLOCKED, add);
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Adds or removes a wall along one side of a square, and along the
+     * opposite side of the square next to it.
+     * 
+     * @param position
+     *            the position of the square.
+     * @param side
+     *            the side of the square, as an object direction id.
+     * @param add
+     *            <code>true</code> to add the wall, <code>false</code> to
+     *            remove it.
+     */
+    private static void wall(Position position, int side, boolean add) {
+        int x = position.getX();
+        int y = position.getY();
+        int z = position.getZ();
+        int dx = side == 0 ? -1 : side == 2 ? 1 : 0;
+        int dy = side == 1 ? 1 : side == 3 ? -1 : 0;
+
+        set(x, y, z, WALLS[side], add);
+        set(x + dx, y + dy, z, WALLS[(side + 2) & 3], add);
+    }
+
+    /**
+     * Sets or clears the argued flag on a square.
+     * 
+     * @param x
+     *            the x coordinate of the square.
+     * @param y
+     *            the y coordinate of the square.
+     * @param z
+     *            the height level of the square.
+     * @param flag
+     *            the flag to set or clear.
+     * @param add
+     *            <code>true</code> to set the flag, <code>false</code> to
+     *            clear it.
+     */
+    private static void set(int x, int y, int z, Flag flag, boolean add) {
+        if (add) {
+            flag(x, y, z, flag);
+        } else {
+            unflag(x, y, z, flag);
+        }
+    }
+
+    /**
+     * Determines if a square is within the bounds of the map.
+     * 
+     * @param x
+     *            the x coordinate of the square.
+     * @param y
+     *            the y coordinate of the square.
+     * @param z
+     *            the height level of the square.
+     * @return <code>true</code> if the square is within the map,
+     *         <code>false</code> otherwise.
+     */
+    private static boolean inBounds(int x, int y, int z) {
+        return x >= 0 && y >= 0 && x < MAP_SIZE && y < MAP_SIZE && z >= 0 && z < HEIGHT_LEVELS;
+    }
+
+    /**
+     * Gets the identifier of the region a square is in, the same as
+     * {@link Position#getRegion()}.
+     * 
+     * @param x
+     *            the x coordinate of the square.
+     * @param y
+     *            the y coordinate of the square.
+     * @return the identifier of the region.
+     */
+    private static int region(int x, int y) {
+        return ((x >> 6) << 8) + (y >> 6);
+    }
+
+    /**
+     * The collision of a single region, as a bitset for every flag on every
+     * height level with one <code>long</code> per row of squares.
+     * 
+     * @author lare96
+     */
+    private static final class CollisionRegion {
+
+        /** The bitsets, indexed by flag and then by height level and row. */
+        private final long[][] rows = new long[Flag.values().length][HEIGHT_LEVELS * RegionManager.REGION_SIZE];
+
+        /**
+         * Determines if the argued flag is set on a square in this region.
+         * 
+         * @param x
+         *            the x coordinate of the square within this region.
+         * @param y
+         *            the y coordinate of the square within this region.
+         * @param z
+         *            the height level of the square.
+         * @param flag
+         *            the flag to check.
+         * @return <code>true</code> if the flag is set, <code>false</code>
+         *         otherwise.
+         */
+        public boolean get(int x, int y, int z, Flag flag) {
+            return (rows[flag.ordinal()][(z << 6) + y] & (1L << x)) != 0;
+        }
+
+        /**
+         * Sets or clears the argued flag on a square in this region.
+         * 
+         * @param x
+         *            the x coordinate of the square within this region.
+         * @param y
+         *            the y coordinate of the square within this region.
+         * @param z
+         *            the height level of the square.
+         * @param flag
+         *            the flag to set or clear.
+         * @param value
+         *            <code>true</code> to set the flag, <code>false</code> to
+         *            clear it.
+         */
+        public void set(int x, int y, int z, Flag flag, boolean value) {
+            if (value) {
+                rows[flag.ordinal()][(z << 6) + y] |= 1L << x;
+            } else {
+                rows[flag.ordinal()][(z << 6) + y] &= ~(1L << x);
+            }
+        }
+    }
+}
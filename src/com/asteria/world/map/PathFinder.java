@@ -0,0 +1,359 @@
+package com.asteria.world.map;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.asteria.util.Utility;
+
+/**
+ * A breadth first search over the {@link CollisionMap} that finds the shortest
+ * path between two positions. The search is confined to a
+ * {@link #SEARCH_SIZE} square centered on the start position, so every search
+ * takes a bounded amount of time. If the destination can't be reached, the
+ * path leads to the closest square to it that can be. <br>
+ * <br>
+ * 
+ * Paths from many start positions to the same destination can be found with
+ * a single search by flooding outward from the destination with
+ * {@link #flood(Position, int, List)}, and then tracing the path from each
+ * start position with {@link #trace(Position)}. <br>
+ * <br>
+ * 
+ * Every thread has its own path finder whose arrays are reused between
+ * searches, so searching doesn't allocate anything. A path stays valid until
+ * the next search on the same thread.
+ * 
+ * @author lare96
+ */
+public final class PathFinder {
+
+    /** The amount of bits used for each local coordinate. */
+    private static final int SEARCH_BITS = 7;
+
+    /** The length of each side of the square that is searched. */
+    public static final int SEARCH_SIZE = 1 << SEARCH_BITS;
+
+    /** The offset of the start position within the searched square. */
+    private static final int RADIUS = SEARCH_SIZE / 2;
+
+    /** The directions searched, straight steps first so they are preferred. */
+    private static final int[] DIRECTIONS = { 3, 4, 6, 1, 5, 7, 0, 2 };
+
+    /** The path finder for every thread. */
+    private static final ThreadLocal<PathFinder> FINDERS = ThreadLocal.withInitial(PathFinder::new);
+
+    /** The generation each square was last visited in. */
+    private final int[] visited = new int[SEARCH_SIZE * SEARCH_SIZE];
+
+    /** The direction each square was reached from. */
+    private final byte[] via = new byte[SEARCH_SIZE * SEARCH_SIZE];
+
+    /** The generation each square was last marked as a start position in. */
+    private final int[] targets = new int[SEARCH_SIZE * SEARCH_SIZE];
+
+    /** The queue of squares waiting to be searched. */
+    private final int[] queue = new int[SEARCH_SIZE * SEARCH_SIZE];
+
+    /** The x coordinates of every step in the last path. */
+    private final int[] pathX = new int[SEARCH_SIZE * SEARCH_SIZE];
+
+    /** The y coordinates of every step in the last path. */
+    private final int[] pathY = new int[SEARCH_SIZE * SEARCH_SIZE];
+
+    /** The generation of the current search. */
+    private int generation;
+
+    /** The amount of steps in the last path. */
+    private int length;
+
+    /** The x coordinate of the south-west corner of the last flood. */
+    private int floodX;
+
+    /** The y coordinate of the south-west corner of the last flood. */
+    private int floodY;
+
+    /** The height level of the last flood. */
+    private int floodZ;
+
+    /**
+     * Create a new {@link PathFinder}. Use {@link #getInstance()} instead.
+     */
+    private PathFinder() {}
+
+    /**
+     * Gets the path finder for the calling thread.
+     * 
+     * @return the path finder.
+     */
+    public static PathFinder getInstance() {
+        return FINDERS.get();
+    }
+
+    /**
+     * Finds the shortest path for an entity of the argued size from the start
+     * position to the destination. The steps of the path can be retrieved
+     * with {@link #getX(int)} and {@link #getY(int)}.
+     * 
+     * @param start
+     *            the position to start from.
+     * @param destination
+     *            the position to find a path to.
+     * @param size
+     *            the size of the entity.
+     * @return the amount of steps in the path, which does not include the
+     *         start position.
+     */
+    public int find(Position start, Position destination, int size) {
+        length = 0;
+
+        if (start.getZ() != destination.getZ()) {
+            return 0;
+        }
+
+        nextGeneration();
+        int baseX = start.getX() - RADIUS;
+        int baseY = start.getY() - RADIUS;
+        int destX = destination.getX() - baseX;
+        int destY = destination.getY() - baseY;
+        int origin = (RADIUS << SEARCH_BITS) | RADIUS;
+        int head = 0;
+        int tail = 0;
+        int best = origin;
+        int bestDistance = Integer.MAX_VALUE;
+
+        visited[origin] = generation;
+        queue[tail++] = origin;
+
+        while (head < tail) {
+            int index = queue[head++];
+            int x = index >>> SEARCH_BITS;
+            int y = index & (SEARCH_SIZE - 1);
+            int distance = Math.max(Math.abs(destX - x), Math.abs(destY - y));
+
+            // Keep track of the closest square, in case we can't get there.
+            if (distance < bestDistance) {
+                best = index;
+                bestDistance = distance;
+
+                if (distance == 0) {
+                    break;
+                }
+            }
+
+            for (int direction : DIRECTIONS) {
+                int nextX = x + Utility.DIRECTION_DELTA_X[direction];
+                int nextY = y + Utility.DIRECTION_DELTA_Y[direction];
+
+                if (nextX < 0 || nextY < 0 || nextX >= SEARCH_SIZE || nextY >= SEARCH_SIZE) {
+                    continue;
+                }
+
+                int next = (nextX << SEARCH_BITS) | nextY;
+
+                if (visited[next] == generation || !CollisionMap.traversable(
+                    baseX + x, baseY + y, start.getZ(), direction, size)) {
+                    continue;
+                }
+                visited[next] = generation;
+                via[next] = (byte) direction;
+                queue[tail++] = next;
+            }
+        }
+
+        // Count the steps back to the start, then walk back again to fill in
+        // the path from the start.
+        for (int index = best; index != origin; index = previous(index)) {
+            length++;
+        }
+
+        int step = length;
+
+        for (int index = best; index != origin; index = previous(index)) {
+            step--;
+            pathX[step] = baseX + (index >>> SEARCH_BITS);
+            pathY[step] = baseY + (index & (SEARCH_SIZE - 1));
+        }
+        return length;
+    }
+
+    /**
+     * Searches outward from the destination until every one of the argued
+     * start positions has been reached, or there is nowhere left to search.
+     * The path from each start position can then be retrieved with
+     * {@link #trace(Position)}, until the next search on this thread.
+     * 
+     * @param destination
+     *            the position to find paths to.
+     * @param size
+     *            the size of the entities.
+     * @param starts
+     *            the positions to find paths from.
+     */
+    public void flood(Position destination, int size, List<Position> starts) {
+        length = 0;
+        nextGeneration();
+        floodX = destination.getX() - RADIUS;
+        floodY = destination.getY() - RADIUS;
+        floodZ = destination.getZ();
+        int origin = (RADIUS << SEARCH_BITS) | RADIUS;
+        int remaining = 0;
+        int head = 0;
+        int tail = 0;
+
+        for (Position start : starts) {
+            int index = index(start);
+
+            if (index != -1 && targets[index] != generation) {
+                targets[index] = generation;
+                remaining++;
+            }
+        }
+
+        visited[origin] = generation;
+        queue[tail++] = origin;
+
+        if (targets[origin] == generation) {
+            remaining--;
+        }
+
+        while (head < tail && remaining > 0) {
+            int index = queue[head++];
+            int x = index >>> SEARCH_BITS;
+            int y = index & (SEARCH_SIZE - 1);
+
+            for (int direction : DIRECTIONS) {
+
+                // The square that would step in this direction to get here.
+                int nextX = x - Utility.DIRECTION_DELTA_X[direction];
+                int nextY = y - Utility.DIRECTION_DELTA_Y[direction];
+
+                if (nextX < 0 || nextY < 0 || nextX >= SEARCH_SIZE || nextY >= SEARCH_SIZE) {
+                    continue;
+                }
+
+                int next = (nextX << SEARCH_BITS) | nextY;
+
+                if (visited[next] == generation || !CollisionMap.traversable(
+                    floodX + nextX, floodY + nextY, floodZ, direction, size)) {
+                    continue;
+                }
+                visited[next] = generation;
+                via[next] = (byte) direction;
+                queue[tail++] = next;
+
+                if (targets[next] == generation) {
+                    remaining--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the path from the argued start position to the destination of
+     * the last flood. The steps of the path can be retrieved with
+     * {@link #getX(int)} and {@link #getY(int)}.
+     * 
+     * @param start
+     *            the position to start from.
+     * @return the amount of steps in the path, or <code>-1</code> if the last
+     *         flood didn't reach the start position.
+     */
+    public int trace(Position start) {
+        length = 0;
+        int index = index(start);
+
+        if (index == -1 || visited[index] != generation) {
+            return -1;
+        }
+
+        int origin = (RADIUS << SEARCH_BITS) | RADIUS;
+        int x = index >>> SEARCH_BITS;
+        int y = index & (SEARCH_SIZE - 1);
+
+        while (index != origin) {
+            x += Utility.DIRECTION_DELTA_X[via[index]];
+            y += Utility.DIRECTION_DELTA_Y[via[index]];
+            pathX[length] = floodX + x;
+            pathY[length] = floodY + y;
+            length++;
+            index = (x << SEARCH_BITS) | y;
+        }
+        return length;
+    }
+
+    /**
+     * Gets the x coordinate of a step in the last path.
+     * 
+     * @param step
+     *            the index of the step.
+     * @return the x coordinate of the step.
+     */
+    public int getX(int step) {
+        return pathX[step];
+    }
+
+    /**
+     * Gets the y coordinate of a step in the last path.
+     * 
+     * @param step
+     *            the index of the step.
+     * @return the y coordinate of the step.
+     */
+    public int getY(int step) {
+        return pathY[step];
+    }
+
+    /**
+     * Gets the amount of steps in the last path.
+     * 
+     * @return the amount of steps.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Moves onto the next search generation, which marks every square as not
+     * visited without having to clear the arrays.
+     */
+    private void nextGeneration() {
+        if (++generation == 0) {
+            Arrays.fill(visited, 0);
+            Arrays.fill(targets, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Gets the index of the square the argued position is on within the last
+     * flood.
+     * 
+     * @param position
+     *            the position to get the index of.
+     * @return the index, or <code>-1</code> if the position is outside of the
+     *         last flood.
+     */
+    private int index(Position position) {
+        int x = position.getX() - floodX;
+        int y = position.getY() - floodY;
+
+        if (position.getZ() != floodZ || x < 0 || y < 0 || x >= SEARCH_SIZE || y >= SEARCH_SIZE) {
+            return -1;
+        }
+        return (x << SEARCH_BITS) | y;
+    }
+
+    /**
+     * Gets the square that the argued square was reached from.
+     * 
+     * @param index
+     *            the index of the square.
+     * @return the index of the square it was reached from.
+     */
+    private int previous(int index) {
+        int direction = via[index];
+        int x = (index >>> SEARCH_BITS) - Utility.DIRECTION_DELTA_X[direction];
+        int y = (index & (SEARCH_SIZE - 1)) - Utility.DIRECTION_DELTA_Y[direction];
+        return (x << SEARCH_BITS) | y;
+    }
+}
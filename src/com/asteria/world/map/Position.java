@@ -335,6 +335,16 @@ public class Position {
         return ((getChunkX() << 8) + getChunkY());
     }
 
+    /**
+     * Gets the key of the square this position is on within its region, which
+     * includes the height level.
+     * 
+     * @return the key of the square within its region.
+     */
+    public int getRegionSquare() {
+        return (z << 12) | ((x & 63) << 6) | (y & 63);
+    }
+
     /**
      * Checks if this position is viewable from the other position.
      * 
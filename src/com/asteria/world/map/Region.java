@@ -0,0 +1,85 @@
+package com.asteria.world.map;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.asteria.world.entity.npc.Npc;
+import com.asteria.world.entity.player.Player;
+
+/**
+ * A <tt>64x64</tt> square of the map that keeps track of the entities within
+ * it. Regions are identified by the value returned from
+ * {@link Position#getRegion()}, and are managed by the {@link RegionManager}.
+ * 
+ * @author lare96
+ */
+public final class Region {
+
+    /** The identifier of this region. */
+    private final int id;
+
+    /** The players currently within this region. */
+    private final Set<Player> players = ConcurrentHashMap.newKeySet();
+
+    /** The npcs currently within this region. */
+    private final Set<Npc> npcs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The aggressive npcs whose original positions are within this region,
+     * and those original positions.
+     */
+    private final Map<Npc, Position> aggressiveNpcs = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new {@link Region}.
+     * 
+     * @param id
+     *            the identifier of this region.
+     */
+    public Region(int id) {
+        this.id = id;
+    }
+
+    @Override
+    public String toString() {
+        return "REGION[id= " + id + ", players= " + players.size() + ", npcs= " + npcs.size() + "]";
+    }
+
+    /**
+     * Gets the identifier of this region.
+     * 
+     * @return the identifier.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the players currently within this region.
+     * 
+     * @return the players within this region.
+     */
+    public Set<Player> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Gets the npcs currently within this region.
+     * 
+     * @return the npcs within this region.
+     */
+    public Set<Npc> getNpcs() {
+        return npcs;
+    }
+
+    /**
+     * Gets the aggressive npcs whose original positions are within this
+     * region.
+     * 
+     * @return the aggressive npcs and their original positions.
+     */
+    public Map<Npc, Position> getAggressiveNpcs() {
+        return aggressiveNpcs;
+    }
+}
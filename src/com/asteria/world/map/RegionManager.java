@@ -0,0 +1,243 @@
+package com.asteria.world.map;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+import com.asteria.world.entity.Entity;
+import com.asteria.world.entity.Entity.EntityType;
+import com.asteria.world.entity.npc.Npc;
+import com.asteria.world.entity.player.Player;
+
+/**
+ * A spatial index that divides the map into {@link Region}s and keeps track of
+ * which players and npcs are within each one. Entities are added when they are
+ * registered to the world, moved between regions as they walk, and removed
+ * when they are unregistered. This allows "entities within distance of a
+ * position" to be found by only looking at the surrounding regions, rather
+ * than every single entity in the world.
+ * 
+ * @author lare96
+ */
+public final class RegionManager {
+
+    /** The size of a single region, in squares. */
+    public static final int REGION_SIZE = 64;
+
+    /** All of the regions that have been created, by their identifiers. */
+    private static final Map<Integer, Region> regions = new ConcurrentHashMap<>();
+
+    /**
+     * The default constructor, will throw an
+     * {@link UnsupportedOperationException} if instantiated.
+     */
+    private RegionManager() {
+        throw new UnsupportedOperationException(
+            "This class cannot be instantiated!");
+    }
+
+    /**
+     * Gets the region with the argued identifier, creating it if it doesn't
+     * exist yet.
+     * 
+     * @param id
+     *            the identifier of the region.
+     * @return the region with the identifier.
+     */
+    public static Region getRegion(int id) {
+        return regions.computeIfAbsent(id, Region::new);
+    }
+
+    /**
+     * Gets the region that contains the argued position, creating it if it
+     * doesn't exist yet.
+     * 
+     * @param position
+     *            the position to get the region of.
+     * @return the region containing the position.
+     */
+    public static Region getRegion(Position position) {
+        return getRegion(position.getRegion());
+    }
+
+    /**
+     * Adds the argued entity to the region that it is currently in. This
+     * should be called when the entity is registered to the world.
+     * 
+     * @param entity
+     *            the entity to add.
+     */
+    public static void register(Entity entity) {
+        Region region = getRegion(entity.getPosition());
+        add(region, entity);
+        entity.setRegionId(region.getId());
+    }
+
+    /**
+     * Removes the argued entity from the region that it was last in. This
+     * should be called when the entity is unregistered from the world.
+     * 
+     * @param entity
+     *            the entity to remove.
+     */
+    public static void unregister(Entity entity) {
+        if (entity.getRegionId() == -1) {
+            return;
+        }
+
+        Region region = regions.get(entity.getRegionId());
+
+        if (region != null) {
+            remove(region, entity);
+        }
+        entity.setRegionId(-1);
+    }
+
+    /**
+     * Moves the argued entity into a new region if it has left the region that
+     * it was last in. Entities that are not registered are ignored.
+     * 
+     * @param entity
+     *            the entity to update the region of.
+     */
+    public static void update(Entity entity) {
+        int id = entity.getPosition().getRegion();
+
+        if (entity.getRegionId() == -1 || entity.getRegionId() == id) {
+            return;
+        }
+
+        unregister(entity);
+        register(entity);
+    }
+
+    /**
+     * Gets all of the existing regions that are within the argued distance of
+     * a position.
+     * 
+     * @param position
+     *            the position to get the surrounding regions of.
+     * @param distance
+     *            the distance from the position, in squares.
+     * @return the regions within distance of the position.
+     */
+    public static List<Region> getRegions(Position position, int distance) {
+        List<Region> surrounding = new ArrayList<>(4);
+
+        forEachRegion(position, distance, id -> {
+            Region region = regions.get(id);
+
+            if (region != null) {
+                surrounding.add(region);
+            }
+        });
+        return surrounding;
+    }
+
+    /**
+     * Executes an action for the identifier of every region, existing or not,
+     * that is within the argued distance of a position. The identifiers are
+     * the same as {@link Position#getRegion()}, so they can be used to look
+     * up anything else that is indexed by region.
+     * 
+     * @param position
+     *            the position to get the surrounding regions of.
+     * @param distance
+     *            the distance from the position, in squares.
+     * @param action
+     *            the action to execute for every region identifier.
+     */
+    public static void forEachRegion(Position position, int distance,
+        IntConsumer action) {
+        int minX = Math.max(0, position.getX() - distance) / REGION_SIZE;
+        int maxX = (position.getX() + distance) / REGION_SIZE;
+        int minY = Math.max(0, position.getY() - distance) / REGION_SIZE;
+        int maxY = (position.getY() + distance) / REGION_SIZE;
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                action.accept((x << 8) + y);
+            }
+        }
+    }
+
+    /**
+     * Gets all of the players that are within the argued distance of a
+     * position, on the same height level.
+     * 
+     * @param position
+     *            the position to get the surrounding players of.
+     * @param distance
+     *            the distance from the position, in squares.
+     * @return the players within distance of the position.
+     */
+    public static List<Player> getPlayers(Position position, int distance) {
+        List<Player> players = new ArrayList<>();
+
+        for (Region region : getRegions(position, distance)) {
+            for (Player player : region.getPlayers()) {
+                if (player.getPosition().withinDistance(position, distance)) {
+                    players.add(player);
+                }
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Gets all of the npcs that are within the argued distance of a position,
+     * on the same height level.
+     * 
+     * @param position
+     *            the position to get the surrounding npcs of.
+     * @param distance
+     *            the distance from the position, in squares.
+     * @return the npcs within distance of the position.
+     */
+    public static List<Npc> getNpcs(Position position, int distance) {
+        List<Npc> npcs = new ArrayList<>();
+
+        for (Region region : getRegions(position, distance)) {
+            for (Npc npc : region.getNpcs()) {
+                if (npc.getPosition().withinDistance(position, distance)) {
+                    npcs.add(npc);
+                }
+            }
+        }
+        return npcs;
+    }
+
+    /**
+     * Adds the argued entity to a region.
+     * 
+     * @param region
+     *            the region to add the entity to.
+     * @param entity
+     *            the entity to add.
+     */
+    private static void add(Region region, Entity entity) {
+        if (entity.type() == EntityType.PLAYER) {
+            region.getPlayers().add((Player) entity);
+        } else if (entity.type() == EntityType.NPC) {
+            region.getNpcs().add((Npc) entity);
+        }
+    }
+
+    /**
+     * Removes the argued entity from a region.
+     * 
+     * @param region
+     *            the region to remove the entity from.
+     * @param entity
+     *            the entity to remove.
+     */
+    private static void remove(Region region, Entity entity) {
+        if (entity.type() == EntityType.PLAYER) {
+            region.getPlayers().remove(entity);
+        } else if (entity.type() == EntityType.NPC) {
+            region.getNpcs().remove(entity);
+        }
+    }
+}
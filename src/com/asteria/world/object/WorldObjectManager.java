@@ -1,27 +1,39 @@
 package com.asteria.world.object;
 
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 
+import com.asteria.engine.metrics.Metrics;
 import com.asteria.util.JsonLoader;
-import com.asteria.world.World;
 import com.asteria.world.entity.player.Player;
+import com.asteria.world.map.CollisionMap;
 import com.asteria.world.map.Position;
+import com.asteria.world.map.RegionManager;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
 /**
- * Manages every single {@link WorldObject} registered to the
- * <code>objectSet</code> database.
+ * Manages every single {@link WorldObject} registered to the world. Objects
+ * are indexed by the region and then the square they are on, so finding the
+ * object on a square is a couple of lookups and loading a region for a player
+ * only looks at the objects in the regions around them rather than every
+ * single object in the world.
  * 
  * @author lare96
  */
 public class WorldObjectManager implements Iterable<WorldObject> {
 
-    /** A set to keep track of all of the objects in the game. */
-    private static final Set<WorldObject> objectSet = new HashSet<>();
+    /** The object on every square with an object, by region and then square. */
+    private static final Map<Integer, Map<Integer, WorldObject>> regions = new HashMap<>();
+
+    /** The amount of registered objects. */
+    private static int size;
+
+    static {
+        Metrics.gauge("world_objects", () -> size);
+    }
 
     /**
      * Registers a new {@link WorldObject} to the database.
@@ -31,28 +43,18 @@ public class WorldObjectManager implements Iterable<WorldObject> {
      */
     public static void register(WorldObject object) {
 
-        // Check if an object is already on this position and if so it removes
-        // the object from the database before spawning the new one over it.
-        for (Iterator<WorldObject> iter = objectSet.iterator(); iter.hasNext();) {
-            WorldObject next = iter.next();
+        // If an object is already on this position it's removed from the
+        // database before the new one is spawned over it.
+        WorldObject existing = add(object);
 
-            if (next.getPosition().equals(object.getPosition())) {
-                iter.remove();
-            }
+        if (existing != null) {
+            CollisionMap.remove(existing);
         }
-
-        // Register object for future players.
-        objectSet.add(object);
+        CollisionMap.add(object);
 
         // Add object for existing players in the region.
-        for (Player player : World.getPlayers()) {
-            if (player == null) {
-                continue;
-            }
-
-            if (player.getPosition().withinDistance(object.getPosition(), 60)) {
-                player.getPacketBuilder().sendObject(object);
-            }
+        for (Player player : RegionManager.getPlayers(object.getPosition(), 60)) {
+            player.getPacketBuilder().sendObject(object);
         }
     }
 
@@ -63,25 +65,35 @@ public class WorldObjectManager implements Iterable<WorldObject> {
      *            the existing object to unregister.
      */
     public static void unregister(WorldObject registerable) {
+        Position position = registerable.getPosition();
+        Map<Integer, WorldObject> region = regions.get(position.getRegion());
 
         // Remove the object from the database.
-        if (objectSet.remove(registerable)) {
+        if (region != null && region.remove(position.getRegionSquare(), registerable)) {
+            size--;
+
+            // Don't keep empty regions around.
+            if (region.isEmpty()) {
+                regions.remove(position.getRegion());
+            }
+            CollisionMap.remove(registerable);
 
             // Remove object for all existing players.
-            World.getPlayers().forEach(
+            RegionManager.getPlayers(position, 60).forEach(
                 p -> p.getPacketBuilder().sendRemoveObject(registerable));
         }
     }
 
     /**
-     * Gets the first occurrence of the object on the argued {@link Position}.
+     * Gets the object on the argued {@link Position}.
      * 
      * @param position
      *            the position to get the object on.
      * @return the object on the position.
      */
     public static Optional<WorldObject> getObjectOnPosition(Position position) {
-        return objectSet.stream().filter(o -> position.equals(o.getPosition())).findFirst();
+        Map<Integer, WorldObject> region = regions.get(position.getRegion());
+        return Optional.ofNullable(region == null ? null : region.get(position.getRegionSquare()));
     }
 
     /**
@@ -96,36 +108,68 @@ public class WorldObjectManager implements Iterable<WorldObject> {
      *         this position, <code>false</code> otherwise.
      */
     public static boolean valid(int objectId, Position position) {
-        return objectSet.stream().filter(
-            o -> position.equals(o.getPosition()) && o.getId() == objectId).findFirst().isPresent();
+        return getObjectOnPosition(position).filter(o -> o.getId() == objectId).isPresent();
     }
 
     /**
      * Loads the images of {@link WorldObject}s for the argued player when they
-     * enter a new region.
+     * enter a new region. The client clears spawned objects whenever it loads
+     * a new region, so only the objects within distance need to be sent.
      * 
      * @param player
      *            the player loading the new region.
      */
     public static void load(Player player) {
+        Position position = player.getPosition();
 
-        // Update existing objects for player in region.
-        for (WorldObject object : objectSet) {
-            if (object == null) {
-                continue;
-            }
+        // Update existing objects for player in the surrounding regions.
+        RegionManager.forEachRegion(position, 60, id -> {
+            Map<Integer, WorldObject> region = regions.get(id);
 
-            player.getPacketBuilder().sendRemoveObject(object);
+            if (region == null) {
+                return;
+            }
 
-            if (object.getPosition().withinDistance(player.getPosition(), 60)) {
-                player.getPacketBuilder().sendObject(object);
+            for (WorldObject object : region.values()) {
+                if (object.getPosition().withinDistance(position, 60)) {
+                    player.getPacketBuilder().sendObject(object);
+                }
             }
-        }
+        });
+    }
+
+    /**
+     * Gets the amount of registered objects.
+     * 
+     * @return the amount of objects.
+     */
+    public static int getSize() {
+        return size;
     }
 
     @Override
     public Iterator<WorldObject> iterator() {
-        return objectSet.iterator();
+        return regions.values().stream().flatMap(r -> r.values().stream()).iterator();
+    }
+
+    /**
+     * Adds the argued {@link WorldObject} to the square it is on, replacing
+     * any object that was already there.
+     * 
+     * @param object
+     *            the object to add.
+     * @return the object that was replaced, or <code>null</code> if there was
+     *         no object on the square.
+     */
+    private static WorldObject add(WorldObject object) {
+        Position position = object.getPosition();
+        WorldObject existing = regions.computeIfAbsent(position.getRegion(),
+            r -> new HashMap<>()).put(position.getRegionSquare(), object);
+
+        if (existing == null) {
+            size++;
+        }
+        return existing;
     }
 
     /**
@@ -155,7 +199,13 @@ public class WorldObjectManager implements Iterable<WorldObject> {
                         "Invalid object type! for [id: " + id + " - " + position + "");
                 }
 
-                objectSet.add(new WorldObject(id, position, face, type));
+                WorldObject object = new WorldObject(id, position, face, type);
+                WorldObject existing = add(object);
+
+                if (existing != null) {
+                    CollisionMap.remove(existing);
+                }
+                CollisionMap.add(object);
             }
 
             @Override
@@ -8,6 +8,7 @@ import java.util.Objects;
 import com.asteria.engine.task.Task;
 import com.asteria.engine.task.TaskManager;
 import com.asteria.util.JsonLoader;
+import com.asteria.util.ReloadableData;
 import com.asteria.world.World;
 import com.asteria.world.entity.player.Player;
 import com.asteria.world.item.Item;
@@ -32,7 +33,7 @@ public class Shop {
 
     /** A primitive array of registered shops. */
     // Increase this array size if you need more than 25 shops.
-    private static Shop[] shops = new Shop[25];
+    private static volatile Shop[] shops = new Shop[25];
 
     /** An {@link ItemContainer} that holds the items within this shop. */
     private ItemContainer container = new ItemContainer(Policy.STACK_ALWAYS, 48);
@@ -463,6 +464,20 @@ public class Shop {
      *             if any errors occur while preparing for load.
      */
     public static JsonLoader parseShops() throws Exception {
+        return parseShops(shops);
+    }
+
+    /**
+     * Prepares the dynamic json loader for loading shops into the argued
+     * table.
+     * 
+     * @param table
+     *            the table to load the shops into.
+     * @return the dynamic json loader.
+     * @throws Exception
+     *             if any errors occur while preparing for load.
+     */
+    public static JsonLoader parseShops(Shop[] table) throws Exception {
         return new JsonLoader() {
             @Override
             public void load(JsonObject reader, Gson builder) {
@@ -480,13 +495,67 @@ public class Shop {
                     }
                 }
 
-                Shop.getShops()[shop.getIndex()] = shop;
+                table[shop.getIndex()] = shop;
+            }
+
+            @Override
+            public String filePath() {
+                return "./data/json/shops/world_shops.json";
             }
+        };
+    }
 
+    /**
+     * Prepares the shops to be reloaded whenever their file changes. Shops can
+     * be added or changed but not removed, since players could have them
+     * open. Reloaded shops start out fully stocked, and anyone viewing one is
+     * shown the new stock straight away.
+     * 
+     * @return the reloadable shops.
+     */
+    public static ReloadableData<Shop[]> reloadShops() {
+        return new ReloadableData<Shop[]>() {
             @Override
             public String filePath() {
                 return "./data/json/shops/world_shops.json";
             }
+
+            @Override
+            public Shop[] parse() throws Exception {
+                Shop[] table = new Shop[shops.length];
+                parseShops(table).load();
+                return table;
+            }
+
+            @Override
+            public void validate(Shop[] table) {
+                for (int i = 0; i < table.length; i++) {
+                    if (shops[i] != null && table[i] == null) {
+                        throw new IllegalStateException(
+                            "Shop " + i + " can't be removed while the server is running!");
+                    }
+                }
+            }
+
+            @Override
+            public void swap(Shop[] table) {
+                for (Shop shop : shops) {
+                    if (shop != null && shop.processor != null) {
+                        shop.processor.cancel();
+                    }
+                }
+                shops = table;
+
+                for (Player player : World.getPlayers()) {
+                    Shop shop = player.getOpenShopId() < 0 ? null : shops[player.getOpenShopId()];
+
+                    if (shop != null) {
+                        player.getPacketBuilder().sendUpdateItems(3900,
+                            shop.container.toArray(), shop.container.size());
+                        player.getPacketBuilder().sendString(shop.name, 3901);
+                    }
+                }
+            }
         };
     }
 